@@ -0,0 +1,37 @@
+package com.interview.benchmark;
+
+import com.interview.exceptions.IncorrectEmailFormatException;
+import com.interview.exceptions.IncorrectPhoneNumberFormatException;
+import com.interview.persistance.entities.Address;
+import com.interview.persistance.entities.Contact;
+import com.interview.persistance.entities.Name;
+import com.interview.persistance.entities.Phone;
+
+/**
+ * Synthetic contacts shared by the benchmarks
+ *
+ * @author Mike Buschmeier
+ * @creation 17 October 2026
+ */
+final class BenchmarkData
+{
+
+    private BenchmarkData()
+    {
+    }
+
+    static Contact contact(long i)
+    {
+        try {
+            Contact contact = new Contact();
+            contact.setName(new Name("First" + i, "Middle", "Last" + i));
+            contact.setAddress(new Address(i + " High Autumn Row", "Cannon", "Delaware", "19797"));
+            contact.addPhone(new Phone("302-611-" + String.format("%04d", i % 10000), Phone.Type.home));
+            contact.addPhone(new Phone("302-535-9427", Phone.Type.mobile));
+            contact.setEmail("contact" + i + "@yahoo.com");
+            return contact;
+        } catch (IncorrectPhoneNumberFormatException | IncorrectEmailFormatException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
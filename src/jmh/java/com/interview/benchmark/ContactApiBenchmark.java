@@ -0,0 +1,131 @@
+package com.interview.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.interview.Application;
+import com.interview.persistance.entities.Contact;
+import com.interview.repositories.ContactRepository;
+import com.interview.service.ContactController;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * End to end hot paths of ContactController and ContactRepository against an
+ * in-memory H2 database seeded with the given number of contacts.
+ * Controller benchmarks include Jackson serialization of the response body.
+ *
+ * @author Mike Buschmeier
+ * @creation 17 October 2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ContactApiBenchmark
+{
+
+    private static final int SEED_CHUNK_SIZE = 1000;
+
+    @Param({"1000", "100000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private ContactController controller;
+    private ContactRepository contactRepository;
+    private ObjectMapper objectMapper;
+    private long[] ids;
+
+    //Writes use contacts nobody has yet: an exact duplicate of a stored one is refused
+    private final AtomicLong nextContact = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp()
+    {
+        context = new SpringApplicationBuilder(Application.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.datasource.url=jdbc:h2:mem:benchmark",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN")
+                .run();
+        controller = context.getBean(ContactController.class);
+        contactRepository = context.getBean(ContactRepository.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+
+        TransactionTemplate transactionTemplate = context.getBean(TransactionTemplate.class);
+        ids = new long[rows];
+        for (int start = 0; start < rows; start += SEED_CHUNK_SIZE) {
+            List<Contact> chunk = new ArrayList<>();
+            for (int i = start; i < Math.min(start + SEED_CHUNK_SIZE, rows); i++) {
+                chunk.add(BenchmarkData.contact(i));
+            }
+            List<Contact> saved = transactionTemplate.execute(status -> contactRepository.saveAll(chunk));
+            for (int i = 0; i < saved.size(); i++) {
+                ids[start + i] = saved.get(i).getId();
+            }
+        }
+        nextContact.set(rows);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown()
+    {
+        context.close();
+    }
+
+    //GET /contacts/{id}, served from the contact cache once warm
+    @Benchmark
+    public byte[] getContact() throws JsonProcessingException
+    {
+        return objectMapper.writeValueAsBytes(controller.getContact(randomId()).join().getBody());
+    }
+
+    //Single aggregate load straight from the database
+    @Benchmark
+    public Contact findContactById()
+    {
+        return contactRepository.findWithDetailsById(randomId()).orElse(null);
+    }
+
+    //GET /contacts
+    @Benchmark
+    public byte[] getAllContacts() throws JsonProcessingException
+    {
+        return objectMapper.writeValueAsBytes(controller.getAllContacts(null).join().getBody());
+    }
+
+    //POST /contacts
+    @Benchmark
+    public void newContact()
+    {
+        controller.newContact(BenchmarkData.contact(nextContact.getAndIncrement()), false).join();
+    }
+
+    //PUT /contacts/{id}
+    @Benchmark
+    public void updateContact()
+    {
+        controller.updateContact(randomId(), BenchmarkData.contact(nextContact.getAndIncrement()), null).join();
+    }
+
+    private long randomId()
+    {
+        return ids[ThreadLocalRandom.current().nextInt(ids.length)];
+    }
+}
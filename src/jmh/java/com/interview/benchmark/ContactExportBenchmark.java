@@ -0,0 +1,138 @@
+package com.interview.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.interview.Application;
+import com.interview.bulk.BulkFormat;
+import com.interview.bulk.ContactExporter;
+import com.interview.persistance.entities.Contact;
+import com.interview.repositories.ContactRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Full table export through ContactExporter against the old way of exporting,
+ * GET /contacts serialized in one piece. Output goes to a stream that only counts bytes,
+ * so the numbers are the cost of producing the data rather than of the disk.
+ *
+ * @author Mike Buschmeier
+ * @creation 17 October 2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ContactExportBenchmark
+{
+
+    private static final int SEED_CHUNK_SIZE = 1000;
+
+    @Param({"100000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private ContactExporter exporter;
+    private ContactRepository contactRepository;
+    private ObjectMapper objectMapper;
+
+    @Setup(Level.Trial)
+    public void setUp()
+    {
+        context = new SpringApplicationBuilder(Application.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.datasource.url=jdbc:h2:mem:benchmark",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN")
+                .run();
+        exporter = context.getBean(ContactExporter.class);
+        contactRepository = context.getBean(ContactRepository.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+
+        TransactionTemplate transactionTemplate = context.getBean(TransactionTemplate.class);
+        for (int start = 0; start < rows; start += SEED_CHUNK_SIZE) {
+            List<Contact> chunk = new ArrayList<>();
+            for (int i = start; i < Math.min(start + SEED_CHUNK_SIZE, rows); i++) {
+                chunk.add(BenchmarkData.contact(i));
+            }
+            transactionTemplate.execute(status -> contactRepository.saveAll(chunk));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown()
+    {
+        context.close();
+    }
+
+    @Benchmark
+    public long exportCsv() throws IOException
+    {
+        CountingOutputStream out = new CountingOutputStream();
+        exporter.export(BulkFormat.csv, out);
+        return out.bytes;
+    }
+
+    @Benchmark
+    public long exportCsvGzip() throws IOException
+    {
+        CountingOutputStream out = new CountingOutputStream();
+        try (GZIPOutputStream gzip = ContactExporter.gzip(out)) {
+            exporter.export(BulkFormat.csv, gzip);
+        }
+        return out.bytes;
+    }
+
+    @Benchmark
+    public long exportNdjson() throws IOException
+    {
+        CountingOutputStream out = new CountingOutputStream();
+        exporter.export(BulkFormat.ndjson, out);
+        return out.bytes;
+    }
+
+    //The previous nightly export: every contact loaded as entities, then serialized as one array
+    @Benchmark
+    public long findAllAsJson() throws IOException
+    {
+        CountingOutputStream out = new CountingOutputStream();
+        objectMapper.writeValue(out, contactRepository.findAllWithDetails());
+        return out.bytes;
+    }
+
+    private static final class CountingOutputStream extends OutputStream
+    {
+
+        private long bytes;
+
+        @Override
+        public void write(int b)
+        {
+            bytes++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len)
+        {
+            bytes += len;
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package com.interview.benchmark;
+
+import com.interview.Application;
+import com.interview.persistance.entities.Contact;
+import com.interview.repositories.ContactRepository;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop HTTP load test comparing the blocking and async execution modes.
+ *
+ * For each mode the application is started on a random port with a deliberately small
+ * Tomcat pool, seeded, then driven by more concurrent clients than Tomcat has threads,
+ * with a mix of single reads, keyset pages and creates (-DloadTest.createPercent, 10 by
+ * default; 100 measures the write path alone). Reports sustained requests per
+ * second and latency percentiles. Run with: gradlew loadTest [-DloadTest.clients=200 ...]
+ * Rate limiting is off: every client comes from the same address.
+ *
+ * Logging is at WARN unless -DloadTest.profiles=dev (or prod, ...) is given, in which case
+ * those profiles are active and their logging setup is part of what is measured.
+ *
+ * @author Mike Buschmeier
+ * @creation 17 October 2026
+ */
+public final class ContactLoadTest
+{
+
+    private static final int CLIENTS = Integer.getInteger("loadTest.clients", 200);
+    private static final int TOMCAT_THREADS = Integer.getInteger("loadTest.tomcatThreads", 50);
+    private static final int ROWS = Integer.getInteger("loadTest.rows", 10000);
+    private static final int WARMUP_SECONDS = Integer.getInteger("loadTest.warmupSeconds", 10);
+    private static final int SECONDS = Integer.getInteger("loadTest.seconds", 30);
+    private static final int CREATE_PERCENT = Integer.getInteger("loadTest.createPercent", 10);
+    private static final String PROFILES = System.getProperty("loadTest.profiles");
+    private static final int SEED_CHUNK_SIZE = 1000;
+    private static final AtomicLong CREATED = new AtomicLong();
+
+    private ContactLoadTest()
+    {
+    }
+
+    public static void main(String[] args) throws Exception
+    {
+        String[] modes = args.length > 0 ? args : new String[]{"blocking", "async"};
+        List<String> report = new ArrayList<>();
+        report.add(String.format("%-10s %10s %10s %10s %10s %8s", "mode", "rps", "p50 ms", "p99 ms", "max ms", "errors"));
+        for (String mode : modes) {
+            report.add(run(mode));
+        }
+        System.out.println();
+        System.out.printf("%d clients, %d Tomcat threads, %d contacts, %d s, profiles: %s%n", CLIENTS, TOMCAT_THREADS, ROWS, SECONDS,
+                PROFILES == null ? "none" : PROFILES);
+        report.forEach(System.out::println);
+    }
+
+    private static String run(String mode) throws Exception
+    {
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(Application.class)
+                .properties("server.port=0",
+                        "server.tomcat.threads.max=" + TOMCAT_THREADS,
+                        "contacts.execution-mode=" + mode,
+                        "spring.datasource.url=jdbc:h2:mem:loadtest-" + mode,
+                        "contacts.rate-limit.enabled=false",
+                        "spring.main.banner-mode=off");
+        if (PROFILES == null) {
+            builder.properties("logging.level.root=WARN");
+        } else {
+            builder.profiles(PROFILES.split(","));
+        }
+        ConfigurableApplicationContext context = builder.run();
+        try {
+            seed(context);
+            String base = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+
+            drive(base, WARMUP_SECONDS);
+            Result result = drive(base, SECONDS);
+
+            long[] latencies = result.latencies();
+            return String.format("%-10s %10.0f %10.2f %10.2f %10.2f %8d", mode,
+                    latencies.length / (double) SECONDS,
+                    percentile(latencies, 0.50) / 1e6,
+                    percentile(latencies, 0.99) / 1e6,
+                    percentile(latencies, 1.00) / 1e6,
+                    result.errors);
+        } finally {
+            context.close();
+        }
+    }
+
+    private static void seed(ConfigurableApplicationContext context)
+    {
+        ContactRepository contactRepository = context.getBean(ContactRepository.class);
+        TransactionTemplate transactionTemplate = context.getBean(TransactionTemplate.class);
+        for (int start = 0; start < ROWS; start += SEED_CHUNK_SIZE) {
+            List<Contact> chunk = new ArrayList<>();
+            for (int i = start; i < Math.min(start + SEED_CHUNK_SIZE, ROWS); i++) {
+                chunk.add(BenchmarkData.contact(i));
+            }
+            transactionTemplate.execute(status -> contactRepository.saveAll(chunk));
+        }
+    }
+
+    //Every client sends its next request as soon as the previous one completes
+    private static Result drive(String base, int seconds) throws InterruptedException
+    {
+        AtomicBoolean running = new AtomicBoolean(true);
+        CountDownLatch done = new CountDownLatch(CLIENTS);
+        Client[] clients = new Client[CLIENTS];
+        for (int i = 0; i < CLIENTS; i++) {
+            clients[i] = new Client(base, running, done);
+            Thread thread = new Thread(clients[i], "load-client-" + i);
+            thread.setDaemon(true);
+            thread.start();
+        }
+        TimeUnit.SECONDS.sleep(seconds);
+        running.set(false);
+        done.await();
+
+        Result result = new Result();
+        for (Client client : clients) {
+            result.add(client);
+        }
+        return result;
+    }
+
+    private static long percentile(long[] sorted, double percentile)
+    {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(percentile * sorted.length) - 1)];
+    }
+
+    private static final class Client implements Runnable
+    {
+
+        private final String base;
+        private final AtomicBoolean running;
+        private final CountDownLatch done;
+        private long[] latencies = new long[1024];
+        private int count;
+        private int errors;
+
+        Client(String base, AtomicBoolean running, CountDownLatch done)
+        {
+            this.base = base;
+            this.running = running;
+            this.done = done;
+        }
+
+        @Override
+        public void run()
+        {
+            try {
+                while (running.get()) {
+                    long started = System.nanoTime();
+                    boolean ok;
+                    try {
+                        ok = request();
+                    } catch (IOException e) {
+                        ok = false;
+                    }
+                    if (!ok) {
+                        errors++;
+                        continue;
+                    }
+                    if (count == latencies.length) {
+                        latencies = Arrays.copyOf(latencies, count * 2);
+                    }
+                    latencies[count++] = System.nanoTime() - started;
+                }
+            } finally {
+                done.countDown();
+            }
+        }
+
+        //loadTest.createPercent creates (10% by default), the rest single reads and keyset pages 7 to 2
+        private boolean request() throws IOException
+        {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            if (random.nextInt(100) < CREATE_PERCENT) {
+                //A new e-mail each time: posting the same contact again is refused as a duplicate
+                return send("POST", "/contacts", "{\"name\":{\"first\":\"Load\",\"last\":\"Test\"},\"email\":\"load.test"
+                        + CREATED.incrementAndGet() + "@yahoo.com\"}");
+            }
+            if (random.nextInt(9) < 7) {
+                return send("GET", "/contacts/" + (1 + random.nextInt(ROWS)), null);
+            }
+            return send("GET", "/contacts/page?limit=20", null);
+        }
+
+        private boolean send(String method, String path, String body) throws IOException
+        {
+            HttpURLConnection connection = (HttpURLConnection) new URL(base + path).openConnection();
+            connection.setRequestMethod(method);
+            if (body != null) {
+                connection.setDoOutput(true);
+                connection.setRequestProperty("Content-Type", "application/json");
+                try (OutputStream out = connection.getOutputStream()) {
+                    out.write(body.getBytes(StandardCharsets.UTF_8));
+                }
+            }
+            int status = connection.getResponseCode();
+            //Drain the body so the connection is reused
+            try (InputStream in = status < 400 ? connection.getInputStream() : connection.getErrorStream()) {
+                if (in != null) {
+                    byte[] buffer = new byte[8192];
+                    while (in.read(buffer) > 0) {
+                        //discard
+                    }
+                }
+            }
+            return status < 400;
+        }
+    }
+
+    private static final class Result
+    {
+
+        private final List<long[]> latencies = new ArrayList<>();
+        private int size;
+        private long errors;
+
+        void add(Client client)
+        {
+            latencies.add(Arrays.copyOf(client.latencies, client.count));
+            size += client.count;
+            errors += client.errors;
+        }
+
+        long[] latencies()
+        {
+            long[] all = new long[size];
+            int position = 0;
+            for (long[] part : latencies) {
+                System.arraycopy(part, 0, all, position, part.length);
+                position += part.length;
+            }
+            Arrays.sort(all);
+            return all;
+        }
+    }
+}
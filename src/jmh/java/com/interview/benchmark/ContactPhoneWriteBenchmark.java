@@ -0,0 +1,128 @@
+package com.interview.benchmark;
+
+import com.interview.Application;
+import com.interview.exceptions.IncorrectPhoneNumberFormatException;
+import com.interview.persistance.entities.Contact;
+import com.interview.persistance.entities.Phone;
+import com.interview.service.ContactService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes of contacts with several phones, reporting the JDBC statements each one prepares
+ * next to its time. Statements are counted from Hibernate's statistics, so a JDBC batch
+ * of inserts into one table counts once.
+ *
+ * @author Mike Buschmeier
+ * @creation 17 October 2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ContactPhoneWriteBenchmark
+{
+
+    private ConfigurableApplicationContext context;
+    private ContactService contactService;
+    private Statistics statistics;
+    private long id;
+    private boolean toggle;
+
+    //Each created contact is a new one: an exact duplicate of a stored one is refused
+    private long created;
+
+    //Totals per iteration; statements / operations is the average per write
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Statements
+    {
+
+        public long statements;
+        public long operations;
+
+        @Setup(Level.Iteration)
+        public void reset()
+        {
+            statements = 0;
+            operations = 0;
+        }
+
+        void add(long count)
+        {
+            statements += count;
+            operations++;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp()
+    {
+        context = new SpringApplicationBuilder(Application.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.datasource.url=jdbc:h2:mem:benchmark",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN")
+                .run();
+        contactService = context.getBean(ContactService.class);
+        statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        id = contactService.createContact(contact(0, "302-535-9427"), false).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown()
+    {
+        context.close();
+    }
+
+    //POST /contacts with three phones
+    @Benchmark
+    public Contact createContact(Statements statements)
+    {
+        long before = statistics.getPrepareStatementCount();
+        Contact contact = contactService.createContact(contact(++created, "302-535-9427"), false);
+        statements.add(statistics.getPrepareStatementCount() - before);
+        return contact;
+    }
+
+    //PUT /contacts/{id} changing the middle one of three phones
+    @Benchmark
+    public Contact replaceOnePhone(Statements statements)
+    {
+        toggle = !toggle;
+        long before = statistics.getPrepareStatementCount();
+        Contact contact = contactService.updateContact(id, contact(0, toggle ? "302-535-0000" : "302-535-9427"), null);
+        statements.add(statistics.getPrepareStatementCount() - before);
+        return contact;
+    }
+
+    private static Contact contact(long i, String mobile)
+    {
+        try {
+            Contact contact = BenchmarkData.contact(i);
+            contact.getPhone().clear();
+            contact.addPhone(new Phone("302-611-9148", Phone.Type.home));
+            contact.addPhone(new Phone(mobile, Phone.Type.mobile));
+            contact.addPhone(new Phone("302-555-0100", Phone.Type.work));
+            return contact;
+        } catch (IncorrectPhoneNumberFormatException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
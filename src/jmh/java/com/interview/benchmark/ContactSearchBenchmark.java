@@ -0,0 +1,134 @@
+package com.interview.benchmark;
+
+import com.interview.exceptions.IncorrectEmailFormatException;
+import com.interview.exceptions.IncorrectPhoneNumberFormatException;
+import com.interview.persistance.entities.Address;
+import com.interview.persistance.entities.Contact;
+import com.interview.persistance.entities.Name;
+import com.interview.persistance.entities.Phone;
+import com.interview.search.ContactSearchIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Search latency over an index of synthetic contacts with realistic name, city and
+ * phone number spread. Each invocation fetches one page of results, as the endpoint does.
+ *
+ * @author Mike Buschmeier
+ * @creation 17 October 2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ContactSearchBenchmark
+{
+
+    private static final String[] SYLLABLES = {"ha", "ro", "ld", "ma", "ri", "an", "be", "tor", "li", "sa",
+            "mon", "ke", "el", "vin", "da", "ne", "jo", "ry", "gil", "key", "bar", "son", "ton", "ley"};
+    private static final String[] STATES = {"Delaware", "Virginia", "Maryland", "Ohio", "Texas", "Oregon"};
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"1000000"})
+    public int contacts;
+
+    private ContactSearchIndex index;
+
+    @Setup(Level.Trial)
+    public void setUp()
+    {
+        index = new ContactSearchIndex();
+        Random random = new Random(42);
+        for (long id = 1; id <= contacts; id++) {
+            index.index(id, contact(random));
+        }
+    }
+
+    @Benchmark
+    public List<Long> namePrefix()
+    {
+        return index.search("haro", null, false, 0, PAGE_SIZE + 1);
+    }
+
+    @Benchmark
+    public List<Long> firstAndLastName()
+    {
+        return index.search("haro gilkey", ContactSearchIndex.Field.name, false, 0, PAGE_SIZE + 1);
+    }
+
+    @Benchmark
+    public List<Long> fuzzyName()
+    {
+        return index.search("gilkee", ContactSearchIndex.Field.name, true, 0, PAGE_SIZE + 1);
+    }
+
+    @Benchmark
+    public List<Long> emailPrefix()
+    {
+        return index.search("haro.gil", ContactSearchIndex.Field.email, false, 0, PAGE_SIZE + 1);
+    }
+
+    @Benchmark
+    public List<Long> cityAndState()
+    {
+        return index.search("bero delaware", ContactSearchIndex.Field.address, false, 0, PAGE_SIZE + 1);
+    }
+
+    @Benchmark
+    public List<Long> phonePrefix()
+    {
+        return index.search("302-611", ContactSearchIndex.Field.phone, false, 0, PAGE_SIZE + 1);
+    }
+
+    //Deep page: resume far into a common term's results
+    @Benchmark
+    public List<Long> deepPage()
+    {
+        return index.search("delaware", null, false, contacts / 2, PAGE_SIZE + 1);
+    }
+
+    private static Contact contact(Random random)
+    {
+        try {
+            String first = word(random, 2);
+            String last = word(random, 3);
+            Contact contact = new Contact();
+            contact.setName(new Name(first, word(random, 2), last));
+            contact.setAddress(new Address(random.nextInt(10000) + " High Autumn Row", word(random, 2),
+                    STATES[random.nextInt(STATES.length)], String.format("%05d", random.nextInt(100000))));
+            contact.addPhone(new Phone(phone(random), Phone.Type.home));
+            contact.addPhone(new Phone(phone(random), Phone.Type.mobile));
+            contact.setEmail(first.toLowerCase() + "." + last.toLowerCase() + random.nextInt(1000) + "@yahoo.com");
+            return contact;
+        } catch (IncorrectPhoneNumberFormatException | IncorrectEmailFormatException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String word(Random random, int syllables)
+    {
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i < syllables; i++) {
+            word.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+        }
+        word.setCharAt(0, Character.toUpperCase(word.charAt(0)));
+        return word.toString();
+    }
+
+    private static String phone(Random random)
+    {
+        return String.format("%03d-%03d-%04d", 200 + random.nextInt(800), random.nextInt(1000), random.nextInt(10000));
+    }
+}
@@ -0,0 +1,91 @@
+package com.interview.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.interview.dto.ContactDto;
+import com.interview.persistance.entities.Contact;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of the Contact aggregate, single and as a list, both the entity and the
+ * ContactDto copy the API sends, plus the cost of making those copies
+ *
+ * @author Mike Buschmeier
+ * @creation 17 October 2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ContactSerializationBenchmark
+{
+
+    @Param({"1000", "10000"})
+    public int listSize;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private Contact contact;
+    private byte[] contactJson;
+    private List<Contact> contacts;
+    private ContactDto contactDto;
+    private List<ContactDto> contactDtos;
+
+    @Setup
+    public void setUp() throws JsonProcessingException
+    {
+        contact = BenchmarkData.contact(1);
+        contactJson = objectMapper.writeValueAsBytes(contact);
+        contacts = new ArrayList<>();
+        for (int i = 0; i < listSize; i++) {
+            contacts.add(BenchmarkData.contact(i));
+        }
+        contactDto = ContactDto.of(contact);
+        contactDtos = ContactDto.of(contacts);
+    }
+
+    @Benchmark
+    public byte[] serializeContact() throws JsonProcessingException
+    {
+        return objectMapper.writeValueAsBytes(contact);
+    }
+
+    @Benchmark
+    public Contact deserializeContact() throws Exception
+    {
+        return objectMapper.readValue(contactJson, Contact.class);
+    }
+
+    @Benchmark
+    public byte[] serializeContactList() throws JsonProcessingException
+    {
+        return objectMapper.writeValueAsBytes(contacts);
+    }
+
+    @Benchmark
+    public byte[] serializeContactDto() throws JsonProcessingException
+    {
+        return objectMapper.writeValueAsBytes(contactDto);
+    }
+
+    @Benchmark
+    public byte[] serializeContactDtoList() throws JsonProcessingException
+    {
+        return objectMapper.writeValueAsBytes(contactDtos);
+    }
+
+    @Benchmark
+    public List<ContactDto> mapContactList()
+    {
+        return ContactDto.of(contacts);
+    }
+}
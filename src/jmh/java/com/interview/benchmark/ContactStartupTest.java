@@ -0,0 +1,135 @@
+package com.interview.benchmark;
+
+import com.interview.Application;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.ServerSocket;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cold start benchmark: time from launching the application's JVM to the first successful
+ * GET /contacts, the moment an autoscaled instance can take traffic.
+ *
+ * Each run starts a new JVM on the classpath given in startupTest.classpath, so nothing is
+ * warm. Compares the default settings, the fast-start profile and, once gradlew cdsArchive
+ * has built it, the fast-start profile with the class data sharing archive.
+ * Run with: gradlew startupTest [-DstartupTest.runs=5]
+ *
+ * With startupTest.dumpClassList set it instead makes one fast-start run that records the
+ * classes it loads, which cdsArchive turns into the archive.
+ *
+ * @author Mike Buschmeier
+ * @creation 18 October 2026
+ */
+public final class ContactStartupTest
+{
+
+    private static final int RUNS = Integer.getInteger("startupTest.runs", 5);
+    private static final int TIMEOUT_SECONDS = Integer.getInteger("startupTest.timeoutSeconds", 120);
+    private static final String CLASSPATH = System.getProperty("startupTest.classpath", System.getProperty("java.class.path"));
+    private static final String CDS_ARCHIVE = System.getProperty("startupTest.cdsArchive");
+    private static final String DUMP_CLASS_LIST = System.getProperty("startupTest.dumpClassList");
+    private static final String FAST_START = "--spring.profiles.active=fast-start";
+
+    private ContactStartupTest()
+    {
+    }
+
+    public static void main(String[] args) throws Exception
+    {
+        if (DUMP_CLASS_LIST != null) {
+            long millis = start(Arrays.asList("-Xshare:off", "-XX:DumpLoadedClassList=" + DUMP_CLASS_LIST), FAST_START);
+            System.out.printf("Recorded the classes loaded by a %d ms startup in %s%n", millis, DUMP_CLASS_LIST);
+            return;
+        }
+
+        List<String> report = new ArrayList<>();
+        report.add(String.format("%-16s %10s %10s %10s", "settings", "min ms", "median ms", "max ms"));
+        report.add(run("default", new ArrayList<>()));
+        report.add(run("fast-start", new ArrayList<>(), FAST_START));
+        if (CDS_ARCHIVE != null && new File(CDS_ARCHIVE).isFile()) {
+            report.add(run("fast-start + CDS", Arrays.asList("-Xshare:auto", "-XX:SharedArchiveFile=" + CDS_ARCHIVE), FAST_START));
+        } else {
+            report.add("fast-start + CDS: no archive, run gradlew cdsArchive first");
+        }
+        System.out.println();
+        System.out.printf("Time to first successful GET /contacts, %d runs each%n", RUNS);
+        report.forEach(System.out::println);
+    }
+
+    private static String run(String settings, List<String> jvmArgs, String... appArgs) throws Exception
+    {
+        long[] millis = new long[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            millis[i] = start(jvmArgs, appArgs);
+        }
+        Arrays.sort(millis);
+        return String.format("%-16s %10d %10d %10d", settings, millis[0], millis[RUNS / 2], millis[RUNS - 1]);
+    }
+
+    //Starts the application, polls GET /contacts until it answers 200, then stops it
+    private static long start(List<String> jvmArgs, String... appArgs) throws Exception
+    {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+        command.addAll(jvmArgs);
+        command.addAll(Arrays.asList("-cp", CLASSPATH, Application.class.getName(),
+                "--server.port=" + port, "--spring.datasource.url=jdbc:h2:mem:startup"));
+        command.addAll(Arrays.asList(appArgs));
+
+        File log = File.createTempFile("startup-test", ".log");
+        long started = System.nanoTime();
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log).start();
+        try {
+            long deadline = started + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+            while (!isUp(port)) {
+                if (!process.isAlive() || System.nanoTime() > deadline) {
+                    throw new IllegalStateException("Application did not answer GET /contacts, see " + log);
+                }
+                TimeUnit.MILLISECONDS.sleep(10);
+            }
+            long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+            log.delete();
+            return millis;
+        } finally {
+            process.destroy();
+            process.waitFor();
+        }
+    }
+
+    private static boolean isUp(int port)
+    {
+        try {
+            HttpURLConnection connection = (HttpURLConnection) new URL("http://localhost:" + port + "/contacts").openConnection();
+            connection.setConnectTimeout(1000);
+            connection.setReadTimeout(10000);
+            if (connection.getResponseCode() != 200) {
+                return false;
+            }
+            try (InputStream in = connection.getInputStream()) {
+                byte[] buffer = new byte[8192];
+                while (in.read(buffer) > 0) {
+                    //discard
+                }
+            }
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static int freePort() throws IOException
+    {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
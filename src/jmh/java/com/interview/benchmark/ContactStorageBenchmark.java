@@ -0,0 +1,134 @@
+package com.interview.benchmark;
+
+import com.interview.Application;
+import com.interview.persistance.entities.Contact;
+import com.interview.repositories.ContactRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Repository reads and writes against the in-memory database (mem) and the file
+ * profile (file), each seeded with the given number of contacts. Reads bypass the
+ * contact cache so they measure the storage.
+ *
+ * @author Mike Buschmeier
+ * @creation 17 October 2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class ContactStorageBenchmark
+{
+
+    private static final int SEED_CHUNK_SIZE = 1000;
+    private static final int PAGE_SIZE = 100;
+    private static final int INSERT_SIZE = 100;
+
+    @Param({"mem", "file"})
+    public String storage;
+
+    @Param({"1000000"})
+    public int rows;
+
+    private Path directory;
+    private ConfigurableApplicationContext context;
+    private ContactRepository contactRepository;
+    private TransactionTemplate transactionTemplate;
+    private long firstId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException
+    {
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(Application.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.main.banner-mode=off",
+                        "logging.level.root=WARN");
+        //Given as arguments, since plain builder properties rank below the profile's own file
+        String database;
+        if (storage.equals("file")) {
+            directory = Files.createTempDirectory("contacts-benchmark");
+            builder.profiles("file");
+            database = "--contacts.h2.file=" + directory.resolve("contacts");
+        } else {
+            database = "--spring.datasource.url=jdbc:h2:mem:benchmark";
+        }
+        context = builder.run(database);
+        contactRepository = context.getBean(ContactRepository.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+
+        for (int start = 0; start < rows; start += SEED_CHUNK_SIZE) {
+            List<Contact> chunk = new ArrayList<>();
+            for (int i = start; i < Math.min(start + SEED_CHUNK_SIZE, rows); i++) {
+                chunk.add(BenchmarkData.contact(i));
+            }
+            List<Contact> saved = transactionTemplate.execute(status -> contactRepository.saveAll(chunk));
+            if (start == 0) {
+                firstId = saved.get(0).getId();
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException
+    {
+        context.close();
+        if (directory != null) {
+            FileSystemUtils.deleteRecursively(directory);
+        }
+    }
+
+    //One aggregate by primary key, spread over the whole table
+    @Benchmark
+    public Contact findContactById()
+    {
+        return contactRepository.findWithDetailsById(randomId()).orElse(null);
+    }
+
+    //One keyset page, phones batch fetched
+    @Benchmark
+    public List<Contact> findPage()
+    {
+        return transactionTemplate.execute(status ->
+                contactRepository.findByIdGreaterThanOrderByIdAsc(randomId(), PageRequest.of(0, PAGE_SIZE)));
+    }
+
+    //One committed transaction of new contacts, JDBC batched
+    @Benchmark
+    public List<Contact> insertContacts()
+    {
+        List<Contact> contacts = new ArrayList<>();
+        for (int i = 0; i < INSERT_SIZE; i++) {
+            contacts.add(BenchmarkData.contact(ThreadLocalRandom.current().nextLong(rows)));
+        }
+        return transactionTemplate.execute(status -> contactRepository.saveAll(contacts));
+    }
+
+    private long randomId()
+    {
+        return firstId + ThreadLocalRandom.current().nextLong(rows);
+    }
+}
@@ -0,0 +1,66 @@
+package com.interview.benchmark;
+
+import com.interview.exceptions.IncorrectEmailFormatException;
+import com.interview.exceptions.IncorrectPhoneNumberFormatException;
+import com.interview.persistance.entities.Contact;
+import com.interview.persistance.entities.Phone;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the entity setters that validate e-mail and phone formats
+ *
+ * @author Mike Buschmeier
+ * @creation 17 October 2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ContactValidationBenchmark
+{
+
+    private final Contact contact = new Contact();
+    private final Phone phone = new Phone();
+
+    @Benchmark
+    public Contact setValidEmail() throws IncorrectEmailFormatException
+    {
+        contact.setEmail("harold.gilkey@yahoo.com");
+        return contact;
+    }
+
+    @Benchmark
+    public boolean setInvalidEmail()
+    {
+        try {
+            contact.setEmail("NotAProperEmailFormat");
+            return true;
+        } catch (IncorrectEmailFormatException e) {
+            return false;
+        }
+    }
+
+    @Benchmark
+    public Phone setValidPhoneNumber() throws IncorrectPhoneNumberFormatException
+    {
+        phone.setNumber("302-611-9148");
+        return phone;
+    }
+
+    @Benchmark
+    public boolean setInvalidPhoneNumber()
+    {
+        try {
+            phone.setNumber("30253523429427");
+            return true;
+        } catch (IncorrectPhoneNumberFormatException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.interview.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.interview.persistance.entities.Contact;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The full contact list in each wire format GET /contacts offers, with and without gzip:
+ * the CPU to write and to read it back. Payload sizes are printed by the setup, as
+ * "payload: {format} gzip={gzip} {bytes} bytes", since JMH only reports times.
+ *
+ * The Smile mapper is configured like WireFormatConfig's.
+ *
+ * @author Mike Buschmeier
+ * @creation 18 October 2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ContactWireFormatBenchmark
+{
+
+    private static final TypeReference<List<Contact>> CONTACT_LIST = new TypeReference<List<Contact>>() {};
+
+    @Param({"10000"})
+    public int listSize;
+
+    @Param({"json", "smile", "cbor"})
+    public String format;
+
+    @Param({"false", "true"})
+    public boolean gzip;
+
+    private ObjectMapper objectMapper;
+    private List<Contact> contacts;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws IOException
+    {
+        objectMapper = mapper(format);
+        contacts = new ArrayList<>();
+        for (int i = 0; i < listSize; i++) {
+            contacts.add(BenchmarkData.contact(i));
+        }
+        encoded = objectMapper.writeValueAsBytes(contacts);
+        System.out.println("payload: " + format + " gzip=" + gzip + " " + serializeContactList().length + " bytes");
+    }
+
+    @Benchmark
+    public byte[] serializeContactList() throws IOException
+    {
+        if (!gzip) {
+            return objectMapper.writeValueAsBytes(contacts);
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream compressed = new GZIPOutputStream(out)) {
+            objectMapper.writeValue(compressed, contacts);
+        }
+        return out.toByteArray();
+    }
+
+    //Decompression is the client's cost and the same whatever the format, so reads are uncompressed
+    @Benchmark
+    public List<Contact> deserializeContactList() throws IOException
+    {
+        return objectMapper.readValue(encoded, CONTACT_LIST);
+    }
+
+    private static ObjectMapper mapper(String format)
+    {
+        switch (format) {
+            case "smile":
+                SmileFactory smile = new SmileFactory();
+                smile.enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES);
+                return new ObjectMapper(smile);
+            case "cbor":
+                return new ObjectMapper(new CBORFactory());
+            default:
+                return new ObjectMapper();
+        }
+    }
+}
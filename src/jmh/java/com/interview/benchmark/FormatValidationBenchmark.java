@@ -0,0 +1,75 @@
+package com.interview.benchmark;
+
+import com.interview.validation.EmailFormat;
+import com.interview.validation.PhoneNumberFormat;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Hand-written format validators compared with the String.matches calls they replaced
+ * and with a precompiled Pattern. Run with -prof gc to see the allocation difference.
+ *
+ * @author Mike Buschmeier
+ * @creation 17 October 2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class FormatValidationBenchmark
+{
+
+    private static final String EMAIL_REGEX = "^[a-zA-Z0-9_.+-]+@[a-zA-Z0-9-]+\\.[a-zA-Z0-9-.]+$";
+    private static final String PHONE_REGEX = "\\d{3}-\\d{3}-\\d{4}";
+    private static final Pattern EMAIL_PATTERN = Pattern.compile(EMAIL_REGEX);
+    private static final Pattern PHONE_PATTERN = Pattern.compile(PHONE_REGEX);
+
+    @Param({"harold.gilkey@yahoo.com", "NotAProperEmailFormat"})
+    public String email;
+
+    @Param({"302-611-9148", "30253523429427"})
+    public String phone;
+
+    @Benchmark
+    public boolean emailStringMatches()
+    {
+        return email.matches(EMAIL_REGEX);
+    }
+
+    @Benchmark
+    public boolean emailPrecompiledPattern()
+    {
+        return EMAIL_PATTERN.matcher(email).matches();
+    }
+
+    @Benchmark
+    public boolean emailHandWritten()
+    {
+        return EmailFormat.isValid(email);
+    }
+
+    @Benchmark
+    public boolean phoneStringMatches()
+    {
+        return phone.matches(PHONE_REGEX);
+    }
+
+    @Benchmark
+    public boolean phonePrecompiledPattern()
+    {
+        return PHONE_PATTERN.matcher(phone).matches();
+    }
+
+    @Benchmark
+    public boolean phoneHandWritten()
+    {
+        return PhoneNumberFormat.isValid(phone);
+    }
+}
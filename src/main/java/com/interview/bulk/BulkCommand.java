@@ -0,0 +1,128 @@
+package com.interview.bulk;
+
+import com.interview.persistance.entities.ImportJob;
+import com.interview.persistance.entities.ImportRejection;
+import com.interview.tenancy.TenantContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.ExitCodeGenerator;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Command line bulk mode:
+ *
+ * --import=contacts.csv[.gz] imports a CSV or NDJSON file
+ * --import=contacts.csv --resume=7 continues failed import job 7 from the same file
+ * --export=contacts.ndjson[.gz] exports all contacts, gzip compressed when the name ends in .gz
+ * --tenant=acme imports or exports the contacts of that tenant instead of the default one
+ *
+ * Application starts without the web server when one of these is given and exits with 1 if the command failed.
+ *
+ * @author Mike Buschmeier
+ * @creation 17 October 2026
+ */
+@Component
+public class BulkCommand implements ApplicationRunner, ExitCodeGenerator
+{
+
+    private static final Logger log = LoggerFactory.getLogger(BulkCommand.class);
+
+    private static final String IMPORT = "import";
+    private static final String RESUME = "resume";
+    private static final String EXPORT = "export";
+    private static final String TENANT = "tenant";
+
+    @Autowired
+    private ContactImporter contactImporter;
+
+    @Autowired
+    private ContactExporter contactExporter;
+
+    private int exitCode;
+
+    public static boolean isRequested(String... args)
+    {
+        return Arrays.stream(args).anyMatch(arg -> arg.startsWith("--" + IMPORT + "=") || arg.startsWith("--" + EXPORT + "="));
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception
+    {
+        String tenant = args.containsOption(TENANT) ? args.getOptionValues(TENANT).get(0) : TenantContext.DEFAULT_TENANT;
+        if (!TenantContext.isValid(tenant)) {
+            throw new IllegalArgumentException("Invalid tenant: " + tenant);
+        }
+        TenantContext.attach(tenant);
+        try {
+            runCommands(args);
+        } finally {
+            TenantContext.detach();
+        }
+    }
+
+    private void runCommands(ApplicationArguments args) throws IOException
+    {
+        if (args.containsOption(IMPORT)) {
+            runImport(args);
+        }
+        if (args.containsOption(EXPORT)) {
+            runExport(args);
+        }
+    }
+
+    private void runImport(ApplicationArguments args) throws IOException
+    {
+        Path file = Paths.get(args.getOptionValues(IMPORT).get(0));
+        Long resume = args.containsOption(RESUME) ? Long.valueOf(args.getOptionValues(RESUME).get(0)) : null;
+
+        InputStream input = Files.newInputStream(file);
+        if (file.getFileName().toString().endsWith(".gz")) {
+            input = new GZIPInputStream(input);
+        }
+        ImportJob job = contactImporter.importContacts(input, file.toString(), BulkFormat.fromFileName(file.toString()), resume);
+        if (job.getStatus() == ImportJob.Status.failed) {
+            log.error("Import {} failed after {} records: {}. Resume with --{}={} --{}={}",
+                    job.getId(), job.getProcessed(), job.getError(), IMPORT, file, RESUME, job.getId());
+            exitCode = 1;
+        } else {
+            log.info("Import {} completed: {} records, {} imported, {} rejected",
+                    job.getId(), job.getProcessed(), job.getImported(), job.getRejected());
+            for (ImportRejection rejection : job.getRejections()) {
+                log.info("Record {} rejected: {}", rejection.getRecord(), rejection.getError());
+            }
+        }
+    }
+
+    private void runExport(ApplicationArguments args) throws IOException
+    {
+        Path file = Paths.get(args.getOptionValues(EXPORT).get(0));
+        BulkFormat format = BulkFormat.fromFileName(file.toString());
+        long started = System.currentTimeMillis();
+        long contacts;
+        try (OutputStream out = file.getFileName().toString().endsWith(".gz")
+                ? ContactExporter.gzip(Files.newOutputStream(file)) : Files.newOutputStream(file)) {
+            contacts = contactExporter.export(format, out);
+        }
+        long millis = Math.max(1, System.currentTimeMillis() - started);
+        log.info("Exported {} contacts to {} ({} bytes) in {} ms, {} contacts/s",
+                contacts, file, Files.size(file), millis, contacts * 1000 / millis);
+    }
+
+    @Override
+    public int getExitCode()
+    {
+        return exitCode;
+    }
+}
@@ -0,0 +1,58 @@
+package com.interview.bulk;
+
+import java.util.Locale;
+
+/**
+ * File formats for bulk import and export.
+ *
+ * @author Mike Buschmeier
+ * @creation 17 October 2026
+ */
+public enum BulkFormat
+{
+
+    csv("text/csv"),
+    ndjson("application/x-ndjson");
+
+    private final String mediaType;
+
+    BulkFormat(String mediaType)
+    {
+        this.mediaType = mediaType;
+    }
+
+    public String getMediaType()
+    {
+        return mediaType;
+    }
+
+    //From a file name such as contacts.csv.gz or contacts.jsonl
+    public static BulkFormat fromFileName(String fileName)
+    {
+        String name = fileName.toLowerCase(Locale.ROOT);
+        if (name.endsWith(".gz")) {
+            name = name.substring(0, name.length() - 3);
+        }
+        if (name.endsWith(".csv")) {
+            return csv;
+        }
+        if (name.endsWith(".ndjson") || name.endsWith(".jsonl")) {
+            return ndjson;
+        }
+        throw new IllegalArgumentException("Cannot tell the format of " + fileName + "; use .csv, .ndjson or .jsonl");
+    }
+
+    //From a Content-Type header, ignoring parameters such as charset
+    public static BulkFormat fromMediaType(String contentType)
+    {
+        if (contentType != null) {
+            String type = contentType.split(";")[0].trim().toLowerCase(Locale.ROOT);
+            for (BulkFormat format : values()) {
+                if (format.mediaType.equals(type)) {
+                    return format;
+                }
+            }
+        }
+        throw new IllegalArgumentException("Unsupported content type " + contentType + "; use text/csv or application/x-ndjson");
+    }
+}
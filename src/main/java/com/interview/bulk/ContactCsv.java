@@ -0,0 +1,152 @@
+package com.interview.bulk;
+
+import com.interview.exceptions.IncorrectEmailFormatException;
+import com.interview.exceptions.IncorrectPhoneNumberFormatException;
+import com.interview.persistance.entities.Address;
+import com.interview.persistance.entities.Contact;
+import com.interview.persistance.entities.Name;
+import com.interview.persistance.entities.Phone;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The flat CSV layout contacts are imported and exported in: one row per contact, with
+ * all phones in one column as type:number pairs separated by semicolons, e.g.
+ * home:302-611-9148;mobile:302-535-9427
+ *
+ * @author Mike Buschmeier
+ * @creation 17 October 2026
+ */
+final class ContactCsv
+{
+
+    static final String[] COLUMNS = {"first", "middle", "last", "street", "city", "state", "zip", "email", "phones"};
+
+    private static final int FIRST = 0;
+    private static final int MIDDLE = 1;
+    private static final int LAST = 2;
+    private static final int STREET = 3;
+    private static final int CITY = 4;
+    private static final int STATE = 5;
+    private static final int ZIP = 6;
+    private static final int EMAIL = 7;
+    private static final int PHONES = 8;
+
+    //Position of each known column in the file, or -1; files may order or omit columns freely
+    private final int[] positions = new int[COLUMNS.length];
+
+    ContactCsv(String[] header)
+    {
+        Map<String, Integer> byName = new HashMap<>();
+        for (int i = 0; i < header.length; i++) {
+            //Spreadsheet exports often start with a byte order mark
+            byName.put(header[i].replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT), i);
+        }
+        boolean any = false;
+        for (int i = 0; i < COLUMNS.length; i++) {
+            positions[i] = byName.getOrDefault(COLUMNS[i], -1);
+            any |= positions[i] >= 0;
+        }
+        if (!any) {
+            throw new IllegalArgumentException("CSV header has none of the columns " + Arrays.toString(COLUMNS));
+        }
+    }
+
+    //Build a contact through the entity setters, so the usual e-mail and phone rules apply
+    Contact toContact(String[] row) throws IncorrectEmailFormatException, IncorrectPhoneNumberFormatException
+    {
+        Contact contact = new Contact();
+        String first = value(row, FIRST);
+        String middle = value(row, MIDDLE);
+        String last = value(row, LAST);
+        if (first != null || middle != null || last != null) {
+            contact.setName(new Name(first, middle, last));
+        }
+
+        String street = value(row, STREET);
+        String city = value(row, CITY);
+        String state = value(row, STATE);
+        String zip = value(row, ZIP);
+        if (street != null || city != null || state != null || zip != null) {
+            contact.setAddress(new Address(street, city, state, zip));
+        }
+
+        String phones = value(row, PHONES);
+        if (phones != null) {
+            for (String phone : phones.split(";")) {
+                if (!phone.trim().isEmpty()) {
+                    contact.addPhone(toPhone(phone.trim()));
+                }
+            }
+        }
+
+        String email = value(row, EMAIL);
+        if (email != null) {
+            contact.setEmail(email);
+        }
+        return contact;
+    }
+
+    //Write one record, quoting only the values that need it; null is written as an empty cell
+    static void write(Writer out, String... values) throws IOException
+    {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            String value = values[i];
+            if (value == null) {
+                continue;
+            }
+            if (needsQuotes(value)) {
+                out.write('"');
+                out.write(value.replace("\"", "\"\""));
+                out.write('"');
+            } else {
+                out.write(value);
+            }
+        }
+        out.write('\n');
+    }
+
+    private static boolean needsQuotes(String value)
+    {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Phone toPhone(String phone) throws IncorrectPhoneNumberFormatException
+    {
+        int separator = phone.indexOf(':');
+        if (separator < 0) {
+            throw new IncorrectPhoneNumberFormatException(phone + " is not valid. Phones need to be type:XXX-XXX-XXXX");
+        }
+        Phone.Type type;
+        try {
+            type = Phone.Type.valueOf(phone.substring(0, separator).trim());
+        } catch (IllegalArgumentException e) {
+            throw new IncorrectPhoneNumberFormatException(phone + " is not valid. Phone types are " + Arrays.toString(Phone.Type.values()));
+        }
+        return new Phone(phone.substring(separator + 1).trim(), type);
+    }
+
+    //Empty cells are treated as absent
+    private String value(String[] row, int column)
+    {
+        int position = positions[column];
+        if (position < 0 || position >= row.length || row[position].isEmpty()) {
+            return null;
+        }
+        return row[position];
+    }
+}
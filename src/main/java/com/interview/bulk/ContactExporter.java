@@ -0,0 +1,193 @@
+package com.interview.bulk;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.interview.repositories.ContactExportRow;
+import com.interview.repositories.ContactRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes every contact as CSV or NDJSON, in id order.
+ *
+ * Rows come from a single forward-only cursor as flat column values, so no entity graph
+ * is built and nothing accumulates in the persistence context: memory use is the same
+ * for ten contacts or ten million. The NDJSON lines have the GET /contacts/{id} shape and
+ * both formats can be imported again.
+ *
+ * @author Mike Buschmeier
+ * @creation 17 October 2026
+ */
+@Service
+public class ContactExporter
+{
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    @Autowired
+    private ContactRepository contactRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    //Gzip at the fastest level; the default level costs several times the CPU for a few percent smaller files
+    public static GZIPOutputStream gzip(OutputStream out) throws IOException
+    {
+        return new GZIPOutputStream(out, BUFFER_SIZE)
+        {
+            {
+                def.setLevel(Deflater.BEST_SPEED);
+            }
+        };
+    }
+
+    //Write all contacts to out and flush it, leaving it open. Returns the number of contacts written.
+    @Transactional(readOnly = true)
+    public long export(BulkFormat format, OutputStream out) throws IOException
+    {
+        ExportWriter writer = format == BulkFormat.csv ? new CsvWriter(out) : new NdjsonWriter(out, objectMapper);
+        long written = 0;
+        try (Stream<ContactExportRow> rows = contactRepository.streamExportRows()) {
+            //Rows of one contact are consecutive; collect its phones and write it when the id changes
+            ContactExportRow contact = null;
+            List<ContactExportRow> phones = new ArrayList<>();
+            for (Iterator<ContactExportRow> iterator = rows.iterator(); iterator.hasNext(); ) {
+                ContactExportRow row = iterator.next();
+                if (contact == null || row.getId() != contact.getId()) {
+                    if (contact != null) {
+                        writer.write(contact, phones);
+                        written++;
+                    }
+                    contact = row;
+                    phones.clear();
+                }
+                if (row.getPhoneNumber() != null) {
+                    phones.add(row);
+                }
+            }
+            if (contact != null) {
+                writer.write(contact, phones);
+                written++;
+            }
+        }
+        writer.flush();
+        return written;
+    }
+
+    private interface ExportWriter
+    {
+
+        void write(ContactExportRow contact, List<ContactExportRow> phones) throws IOException;
+
+        void flush() throws IOException;
+    }
+
+    //The ContactCsv layout, which the importer reads back
+    private static final class CsvWriter implements ExportWriter
+    {
+
+        private final Writer out;
+        private final StringBuilder phones = new StringBuilder();
+
+        CsvWriter(OutputStream out) throws IOException
+        {
+            this.out = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+            ContactCsv.write(this.out, ContactCsv.COLUMNS);
+        }
+
+        @Override
+        public void write(ContactExportRow contact, List<ContactExportRow> phoneRows) throws IOException
+        {
+            phones.setLength(0);
+            for (ContactExportRow phone : phoneRows) {
+                if (phones.length() > 0) {
+                    phones.append(';');
+                }
+                phones.append(phone.getPhoneType()).append(':').append(phone.getPhoneNumber());
+            }
+            ContactCsv.write(out, contact.getFirst(), contact.getMiddle(), contact.getLast(),
+                    contact.getStreet(), contact.getCity(), contact.getState(), contact.getZip(),
+                    contact.getEmail(), phones.toString());
+        }
+
+        @Override
+        public void flush() throws IOException
+        {
+            out.flush();
+        }
+    }
+
+    //Written field by field with the streaming generator instead of serializing a Contact per line
+    private static final class NdjsonWriter implements ExportWriter
+    {
+
+        private final JsonGenerator generator;
+
+        NdjsonWriter(OutputStream out, ObjectMapper objectMapper) throws IOException
+        {
+            generator = objectMapper.getFactory().createGenerator(out);
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void write(ContactExportRow contact, List<ContactExportRow> phones) throws IOException
+        {
+            generator.writeStartObject();
+            generator.writeNumberField("id", contact.getId());
+            if (contact.getFirst() == null && contact.getMiddle() == null && contact.getLast() == null) {
+                generator.writeNullField("name");
+            } else {
+                generator.writeObjectFieldStart("name");
+                generator.writeStringField("first", contact.getFirst());
+                generator.writeStringField("middle", contact.getMiddle());
+                generator.writeStringField("last", contact.getLast());
+                generator.writeEndObject();
+            }
+            if (contact.getStreet() == null && contact.getCity() == null && contact.getState() == null && contact.getZip() == null) {
+                generator.writeNullField("address");
+            } else {
+                generator.writeObjectFieldStart("address");
+                generator.writeStringField("street", contact.getStreet());
+                generator.writeStringField("city", contact.getCity());
+                generator.writeStringField("state", contact.getState());
+                generator.writeStringField("zip", contact.getZip());
+                generator.writeEndObject();
+            }
+            generator.writeArrayFieldStart("phone");
+            for (ContactExportRow phone : phones) {
+                generator.writeStartObject();
+                generator.writeStringField("number", phone.getPhoneNumber());
+                generator.writeStringField("type", phone.getPhoneType() == null ? null : phone.getPhoneType().name());
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+            //Left out rather than null, which Contact.setEmail would reject when the line is imported again
+            if (contact.getEmail() != null) {
+                generator.writeStringField("email", contact.getEmail());
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void flush() throws IOException
+        {
+            generator.flush();
+        }
+    }
+}
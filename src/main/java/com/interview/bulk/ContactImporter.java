@@ -0,0 +1,277 @@
+package com.interview.bulk;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.interview.config.ExecutionConfig;
+import com.interview.dedup.MatchKeys;
+import com.interview.exceptions.ImportInProgressException;
+import com.interview.exceptions.ImportJobNotFoundException;
+import com.interview.persistance.entities.Contact;
+import com.interview.persistance.entities.ImportJob;
+import com.interview.persistance.entities.ImportRejection;
+import com.interview.repositories.ContactRepository;
+import com.interview.repositories.ImportJobRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * Streams contacts from CSV or NDJSON into the database.
+ *
+ * The input is read one chunk of records at a time. Each chunk is validated through the entity
+ * setters, split into one slice per contacts.import.validation-threads on a pool of that size,
+ * while the previous chunk is being written, then saved with
+ * JDBC batching in its own transaction together with the job's checkpoint. Memory use is
+ * bounded by the chunk size, whatever the size of the input, and after a failure the job
+ * resumes from the last committed chunk. Records that duplicate a stored contact or an
+ * earlier record are rejected, so importing the same file twice adds nothing.
+ *
+ * @author Mike Buschmeier
+ * @creation 17 October 2026
+ */
+@Service
+public class ContactImporter
+{
+
+    private static final Logger log = LoggerFactory.getLogger(ContactImporter.class);
+
+    private static final long PROGRESS_INTERVAL_MILLIS = 5000;
+
+    @Autowired
+    private ContactRepository contactRepository;
+
+    @Autowired
+    private ImportJobRepository importJobRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    @Qualifier(ExecutionConfig.IMPORT_VALIDATION_EXECUTOR)
+    private Executor validationExecutor;
+
+    @Value("${contacts.import.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${contacts.import.validation-threads:4}")
+    private int validationThreads;
+
+    //Jobs being imported by this instance, so the same job is never run twice at once
+    private final Set<Long> running = ConcurrentHashMap.newKeySet();
+
+    @Transactional(readOnly = true)
+    public ImportJob findJob(long id)
+    {
+        return importJobRepository.findById(id).orElseThrow(() -> new ImportJobNotFoundException(id));
+    }
+
+    /**
+     * Import every record of the input, or with resumeJobId continue a failed job from the
+     * same input: the records it already committed are read and skipped. A resumed job keeps
+     * its original format. Returns the job as it ended, completed or failed.
+     */
+    public ImportJob importContacts(InputStream input, String source, BulkFormat format, Long resumeJobId) throws IOException
+    {
+        ImportJob job = resumeJobId == null ? new ImportJob(source, format) : findJob(resumeJobId);
+        if (job.getStatus() == ImportJob.Status.completed) {
+            input.close();
+            return job;
+        }
+        if (job.getId() != null && !running.add(job.getId())) {
+            input.close();
+            throw new ImportInProgressException(job.getId());
+        }
+
+        job.start();
+        job = importJobRepository.save(job);
+        running.add(job.getId());
+        long id = job.getId();
+        try (ImportSource<?> records = ImportSource.open(job.getFormat(), input, objectMapper)) {
+            return run(records, job);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Import {} failed", id, e);
+            return fail(id, e.getMessage() == null ? e.toString() : e.getMessage());
+        } finally {
+            running.remove(id);
+        }
+    }
+
+    private <R> ImportJob run(ImportSource<R> source, ImportJob job) throws IOException
+    {
+        long skipped = job.getProcessed();
+        for (long i = 0; i < skipped; i++) {
+            if (source.read() == null) {
+                throw new IOException("Input ends before the " + skipped + " records this job already processed");
+            }
+        }
+        log.info("Import {} of {} started at record {}", job.getId(), job.getSource(), skipped + 1);
+
+        long nextRecord = skipped + 1;
+        long lastReport = System.currentTimeMillis();
+        List<R> records = read(source);
+        CompletableFuture<Chunk> validating = validate(source, records, nextRecord);
+        while (!records.isEmpty()) {
+            Chunk chunk = validating.join();
+            nextRecord += records.size();
+
+            //Validate the next chunk while this one is written. If the input breaks off
+            //this chunk is still committed, so a resume only has to redo the broken one.
+            IOException readFailure = null;
+            try {
+                records = read(source);
+            } catch (IOException e) {
+                records = new ArrayList<>();
+                readFailure = e;
+            }
+            validating = validate(source, records, nextRecord);
+            job = commit(job, chunk);
+            if (readFailure != null) {
+                throw readFailure;
+            }
+
+            if (System.currentTimeMillis() - lastReport >= PROGRESS_INTERVAL_MILLIS) {
+                lastReport = System.currentTimeMillis();
+                logProgress(job);
+            }
+        }
+
+        job.complete();
+        job = importJobRepository.save(job);
+        logProgress(job);
+        return job;
+    }
+
+    private <R> List<R> read(ImportSource<R> source) throws IOException
+    {
+        List<R> records = new ArrayList<>(chunkSize);
+        R record;
+        while (records.size() < chunkSize && (record = source.read()) != null) {
+            records.add(record);
+        }
+        return records;
+    }
+
+    //No thread waits for another: the chunk is put together by whichever slice finishes last
+    private <R> CompletableFuture<Chunk> validate(ImportSource<R> source, List<R> records, long firstRecord)
+    {
+        Contact[] contacts = new Contact[records.size()];
+        String[] errors = new String[records.size()];
+        int slices = Math.min(validationThreads, records.size());
+        CompletableFuture<?>[] validated = new CompletableFuture<?>[slices];
+        for (int slice = 0; slice < slices; slice++) {
+            int from = records.size() * slice / slices;
+            int to = records.size() * (slice + 1) / slices;
+            validated[slice] = CompletableFuture.runAsync(() -> {
+                for (int i = from; i < to; i++) {
+                    try {
+                        contacts[i] = source.toContact(records.get(i));
+                    } catch (Exception e) {
+                        errors[i] = e.getMessage() == null ? e.toString() : e.getMessage();
+                    }
+                }
+            }, validationExecutor);
+        }
+
+        return CompletableFuture.allOf(validated).thenApply(done -> {
+            Chunk chunk = new Chunk(records.size());
+            for (int i = 0; i < contacts.length; i++) {
+                if (contacts[i] != null) {
+                    chunk.contacts.add(contacts[i]);
+                    chunk.contactRecords.add(firstRecord + i);
+                } else {
+                    chunk.rejections.add(new ImportRejection(firstRecord + i, errors[i]));
+                }
+            }
+            return chunk;
+        });
+    }
+
+    //The chunk's contacts and the checkpoint that covers them commit together or not at all
+    private ImportJob commit(ImportJob job, Chunk chunk)
+    {
+        return transactionTemplate.execute(status -> {
+            List<ImportRejection> rejections = new ArrayList<>(chunk.rejections);
+            List<Contact> contacts = withoutDuplicates(chunk, rejections);
+            contactRepository.saveAll(contacts);
+            job.advance(chunk.records, contacts.size(), rejections);
+            return importJobRepository.save(job);
+        });
+    }
+
+    //Reject exact duplicates of stored contacts and of earlier records in the chunk, with one select for the chunk
+    private List<Contact> withoutDuplicates(Chunk chunk, List<ImportRejection> rejections)
+    {
+        List<String> keys = new ArrayList<>(chunk.contacts.size());
+        for (Contact contact : chunk.contacts) {
+            keys.add(MatchKeys.matchKey(contact));
+        }
+        Map<String, Long> existing = contactRepository.findIdsByMatchKey(new HashSet<>(keys));
+
+        List<Contact> contacts = new ArrayList<>(chunk.contacts.size());
+        Map<String, Long> firstRecords = new HashMap<>();
+        for (int i = 0; i < chunk.contacts.size(); i++) {
+            String key = keys.get(i);
+            long record = chunk.contactRecords.get(i);
+            if (existing.containsKey(key)) {
+                rejections.add(new ImportRejection(record, "Duplicate of contact " + existing.get(key)));
+            } else if (firstRecords.containsKey(key)) {
+                rejections.add(new ImportRejection(record, "Duplicate of record " + firstRecords.get(key)));
+            } else {
+                firstRecords.put(key, record);
+                contacts.add(chunk.contacts.get(i));
+            }
+        }
+        rejections.sort(Comparator.comparingLong(ImportRejection::getRecord));
+        return contacts;
+    }
+
+    //Record the failure against the last committed checkpoint, not the chunk that failed
+    private ImportJob fail(long id, String error)
+    {
+        return transactionTemplate.execute(status -> {
+            ImportJob job = findJob(id);
+            job.fail(error);
+            return job;
+        });
+    }
+
+    private void logProgress(ImportJob job)
+    {
+        log.info("Import {}: {} records processed, {} imported, {} rejected, {} records/s",
+                job.getId(), job.getProcessed(), job.getImported(), job.getRejected(), job.getRecordsPerSecond());
+    }
+
+    private static final class Chunk
+    {
+
+        private final int records;
+        private final List<Contact> contacts = new ArrayList<>();
+        private final List<Long> contactRecords = new ArrayList<>();
+        private final List<ImportRejection> rejections = new ArrayList<>();
+
+        private Chunk(int records)
+        {
+            this.records = records;
+        }
+    }
+}
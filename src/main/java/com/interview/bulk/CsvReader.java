@@ -0,0 +1,114 @@
+package com.interview.bulk;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming RFC 4180 CSV parser: one record at a time, quoted fields may contain
+ * commas, doubled quotes and line breaks. Only the current record is held in memory.
+ *
+ * @author Mike Buschmeier
+ * @creation 17 October 2026
+ */
+final class CsvReader implements Closeable
+{
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Reader reader;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int position;
+    private int limit;
+    private final StringBuilder field = new StringBuilder();
+
+    CsvReader(Reader reader)
+    {
+        this.reader = reader;
+    }
+
+    //The fields of the next record, or null at the end of the input. Blank lines are skipped.
+    String[] next() throws IOException
+    {
+        List<String> fields = new ArrayList<>();
+        field.setLength(0);
+        boolean quoted = false;
+        boolean fieldStarted = false;
+        int c;
+        while ((c = read()) >= 0) {
+            if (quoted) {
+                if (c == '"') {
+                    if (peek() == '"') {
+                        read();
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+                fieldStarted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+                fieldStarted = true;
+            } else if (c == '\r' || c == '\n') {
+                if (c == '\r' && peek() == '\n') {
+                    read();
+                }
+                if (fieldStarted || field.length() > 0 || !fields.isEmpty()) {
+                    fields.add(field.toString());
+                    return fields.toArray(new String[0]);
+                }
+            } else {
+                field.append((char) c);
+                fieldStarted = true;
+            }
+        }
+        if (quoted) {
+            throw new IOException("Unterminated quoted field at end of input");
+        }
+        if (fieldStarted || field.length() > 0 || !fields.isEmpty()) {
+            fields.add(field.toString());
+            return fields.toArray(new String[0]);
+        }
+        return null;
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        reader.close();
+    }
+
+    private int read() throws IOException
+    {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position++];
+    }
+
+    private int peek() throws IOException
+    {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position];
+    }
+
+    private boolean fill() throws IOException
+    {
+        limit = reader.read(buffer, 0, buffer.length);
+        position = 0;
+        if (limit <= 0) {
+            limit = 0;
+            return false;
+        }
+        return true;
+    }
+}
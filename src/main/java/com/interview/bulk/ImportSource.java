@@ -0,0 +1,117 @@
+package com.interview.bulk;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.interview.persistance.entities.Contact;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads import records one at a time from a stream. Reading only splits the input into
+ * raw records; turning a record into a contact is the separate, thread safe validation
+ * step so it can run in parallel, and a bad record there rejects just that record.
+ *
+ * @author Mike Buschmeier
+ * @creation 17 October 2026
+ */
+abstract class ImportSource<R> implements Closeable
+{
+
+    static ImportSource<?> open(BulkFormat format, InputStream input, ObjectMapper objectMapper) throws IOException
+    {
+        Reader reader = new InputStreamReader(input, StandardCharsets.UTF_8);
+        return format == BulkFormat.csv ? new Csv(reader) : new Ndjson(new BufferedReader(reader), objectMapper);
+    }
+
+    //The next raw record, or null at the end of the input
+    abstract R read() throws IOException;
+
+    //Build the contact through the entity setters; any exception rejects the record with its message
+    abstract Contact toContact(R record) throws Exception;
+
+    private static final class Csv extends ImportSource<String[]>
+    {
+
+        private final CsvReader reader;
+        private final ContactCsv layout;
+
+        Csv(Reader input) throws IOException
+        {
+            reader = new CsvReader(input);
+            String[] header = reader.next();
+            layout = header == null ? null : new ContactCsv(header);
+        }
+
+        @Override
+        String[] read() throws IOException
+        {
+            return layout == null ? null : reader.next();
+        }
+
+        @Override
+        Contact toContact(String[] record) throws Exception
+        {
+            return layout.toContact(record);
+        }
+
+        @Override
+        public void close() throws IOException
+        {
+            reader.close();
+        }
+    }
+
+    //One contact per line in the same JSON shape POST /contacts accepts
+    private static final class Ndjson extends ImportSource<String>
+    {
+
+        private final BufferedReader reader;
+        private final ObjectMapper objectMapper;
+
+        Ndjson(BufferedReader reader, ObjectMapper objectMapper)
+        {
+            this.reader = reader;
+            this.objectMapper = objectMapper;
+        }
+
+        @Override
+        String read() throws IOException
+        {
+            String line;
+            do {
+                line = reader.readLine();
+            } while (line != null && line.trim().isEmpty());
+            return line;
+        }
+
+        @Override
+        Contact toContact(String record) throws Exception
+        {
+            try {
+                JsonNode node = objectMapper.readTree(record);
+                if (!node.isObject()) {
+                    throw new IllegalArgumentException("Each line must be a JSON object");
+                }
+                //Imported contacts are always new, even when the file came from an export with ids in it
+                ((ObjectNode) node).remove("id");
+                return objectMapper.treeToValue(node, Contact.class);
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException(e.getOriginalMessage(), e);
+            }
+        }
+
+        @Override
+        public void close() throws IOException
+        {
+            reader.close();
+        }
+    }
+}
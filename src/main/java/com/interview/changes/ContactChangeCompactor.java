@@ -0,0 +1,98 @@
+package com.interview.changes;
+
+import com.interview.persistance.entities.ContactChange;
+import com.interview.repositories.ContactChangeRepository;
+import com.interview.tenancy.TenantContext;
+import com.interview.tenancy.Tenants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Keeps the change feed bounded, every contacts.changes.compact-interval.
+ *
+ * A change followed by a later one for the same contact is removed, so the feed holds one
+ * entry per contact, which is all a reader catching up needs. Deletions are kept for
+ * contacts.changes.deletion-retention and then removed as well; a reader whose position is
+ * before the removed ones gets 410 and has to reload. Work is done in windows of
+ * contacts.changes.compact-batch-size sequence numbers, each in its own short transaction.
+ * Tenants sharing the tables are compacted together, tenant schemas one after the other.
+ *
+ * @author Mike Buschmeier
+ * @creation 18 October 2026
+ */
+@Component
+@Lazy(false)
+public class ContactChangeCompactor
+{
+
+    private static final Logger log = LoggerFactory.getLogger(ContactChangeCompactor.class);
+
+    @Autowired
+    private ContactChangeRepository changeRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private Tenants tenants;
+
+    @Value("${contacts.changes.compact-batch-size:5000}")
+    private int batchSize;
+
+    @Value("${contacts.changes.deletion-retention:P7D}")
+    private Duration deletionRetention;
+
+    @Scheduled(initialDelayString = "${contacts.changes.compact-interval:PT10M}", fixedDelayString = "${contacts.changes.compact-interval:PT10M}")
+    public void run()
+    {
+        long started = System.currentTimeMillis();
+        int removed = compact();
+        log.info("Change feed compaction: {} changes removed in {} ms", removed, System.currentTimeMillis() - started);
+    }
+
+    //Returns how many changes were removed
+    public int compact()
+    {
+        int removed = 0;
+        for (String partition : tenants.partitions()) {
+            removed += TenantContext.callAs(partition, this::compactPartition);
+        }
+        return removed;
+    }
+
+    private int compactPartition()
+    {
+        Long first = changeRepository.findFirstSeq();
+        if (first == null) {
+            return 0;
+        }
+        long last = changeRepository.findState().getLastSeq();
+        int removed = 0;
+        for (long from = first - 1; from < last; from += batchSize) {
+            long windowFrom = from;
+            long windowTo = Math.min(from + batchSize, last);
+            removed += transactionTemplate.execute(status -> changeRepository.deleteSuperseded(windowFrom, windowTo));
+        }
+
+        Long purge = changeRepository.findLastSeqBefore(ContactChange.Type.deleted, Instant.now().minus(deletionRetention));
+        if (purge != null) {
+            //Moved and committed first, so a reader never misses a deletion without being told
+            transactionTemplate.execute(status -> changeRepository.advancePurgedThrough(purge));
+            for (long from = first - 1; from < purge; from += batchSize) {
+                long windowFrom = from;
+                long windowTo = Math.min(from + batchSize, purge);
+                removed += transactionTemplate.execute(status -> changeRepository.deleteByType(ContactChange.Type.deleted, windowFrom, windowTo));
+            }
+        }
+        return removed;
+    }
+}
@@ -0,0 +1,278 @@
+package com.interview.changes;
+
+import com.interview.exceptions.ChangesExpiredException;
+import com.interview.metrics.SqlStatementCounter;
+import com.interview.persistance.entities.ChangeFeedState;
+import com.interview.persistance.entities.ContactChange;
+import com.interview.repositories.ContactChangeRepository;
+import com.interview.tenancy.TenantContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Reads the change feed for polling clients and pushes it to waiting ones.
+ *
+ * Waiting clients are long-polls and server-sent event streams. When a transaction with
+ * contact changes commits here, once ContactChangeSequencer has numbered them, and every
+ * contacts.changes.poll-interval for commits made by other instances, one dispatch reads each tenant's feed once from the oldest position its
+ * clients wait at and hands each client what it has not seen yet. Signals arriving during a
+ * dispatch are folded into one more, so a burst of writes costs a few reads per tenant however
+ * many clients are waiting. Clients only ever get their own tenant's changes.
+ *
+ * @author Mike Buschmeier
+ * @creation 18 October 2026
+ */
+@Component
+@Lazy(false)
+public class ContactChangeFeed
+{
+
+    private static final Logger log = LoggerFactory.getLogger(ContactChangeFeed.class);
+
+    @Autowired
+    private ContactChangeRepository changeRepository;
+
+    @Autowired
+    private ContactChangeSequencer sequencer;
+
+    @Autowired
+    @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    private Executor executor;
+
+    @Value("${contacts.changes.dispatch-size:500}")
+    private int dispatchSize;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean signalled = new AtomicBoolean();
+    private final AtomicBoolean dispatching = new AtomicBoolean();
+
+    //The current tenant's changes committed after since, oldest first; with no since, none and the current position
+    public ContactChangePage read(Long since, int limit)
+    {
+        //A client reading here after writing here finds its changes
+        sequencer.sequencePending();
+        if (since == null) {
+            return new ContactChangePage(Collections.emptyList(), changeRepository.findState().getLastSeq());
+        }
+        List<ContactChange> changes = changeRepository.findBySeqGreaterThanOrderBySeqAsc(since, PageRequest.of(0, limit));
+        //Checked after reading: the horizon moves before deletions are removed, so a page missing one is caught
+        checkNotExpired(since, changeRepository.findState());
+        return ContactChangePage.after(since, changes);
+    }
+
+    //Like read, but an empty page is only answered once changes arrive or the wait is over
+    public DeferredResult<ContactChangePage> poll(long since, int limit, Duration wait)
+    {
+        DeferredResult<ContactChangePage> result = new DeferredResult<>(wait.toMillis(),
+                new ContactChangePage(Collections.emptyList(), since));
+        ContactChangePage page = read(since, limit);
+        if (!page.getChanges().isEmpty() || wait.isZero()) {
+            result.setResult(page);
+            return result;
+        }
+        subscribe(new Subscriber(since) {
+            @Override
+            boolean deliver(List<ContactChange> changes)
+            {
+                List<ContactChange> unseen = unseen(changes);
+                if (unseen.isEmpty()) {
+                    return true;
+                }
+                result.setResult(ContactChangePage.after(since, unseen.subList(0, Math.min(limit, unseen.size()))));
+                return false;
+            }
+
+            @Override
+            void expire(ChangesExpiredException e)
+            {
+                result.setErrorResult(e);
+            }
+        }, result::onCompletion);
+        return result;
+    }
+
+    //Server-sent events from since on: id is the sequence number, the event name the change type
+    public SseEmitter stream(Long since, Duration timeout)
+    {
+        ChangeFeedState state = changeRepository.findState();
+        long from = since == null ? state.getLastSeq() : since;
+        checkNotExpired(from, state);
+
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscriber subscriber = new Subscriber(from) {
+            @Override
+            boolean deliver(List<ContactChange> changes)
+            {
+                try {
+                    for (ContactChange change : unseen(changes)) {
+                        emitter.send(SseEmitter.event()
+                                .id(Long.toString(change.getSeq()))
+                                .name(change.getType().name())
+                                .data(change));
+                        position = change.getSeq();
+                    }
+                    return true;
+                } catch (IOException | IllegalStateException e) {
+                    //The client went away
+                    emitter.completeWithError(e);
+                    return false;
+                }
+            }
+
+            @Override
+            void expire(ChangesExpiredException e)
+            {
+                emitter.completeWithError(e);
+            }
+        };
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> subscribers.remove(subscriber));
+        subscribe(subscriber, emitter::onCompletion);
+        return emitter;
+    }
+
+    //A transaction with contact changes has committed
+    public void signal()
+    {
+        signalled.set(true);
+        if (dispatching.compareAndSet(false, true)) {
+            executor.execute(this::dispatch);
+        }
+    }
+
+    //Picks up changes committed by other instances
+    @Scheduled(fixedDelayString = "${contacts.changes.poll-interval:PT1S}")
+    public void poll()
+    {
+        if (!subscribers.isEmpty()) {
+            signal();
+        }
+    }
+
+    private void subscribe(Subscriber subscriber, Consumer<Runnable> onCompletion)
+    {
+        subscribers.add(subscriber);
+        onCompletion.accept(() -> subscribers.remove(subscriber));
+        //Catch up with anything committed since the caller last read
+        signal();
+    }
+
+    //Numbers what committed here, then serves the waiting clients
+    private void dispatch()
+    {
+        //Done for every reader, not for the request whose commit signalled it
+        SqlStatementCounter.detach();
+        try {
+            while (signalled.getAndSet(false)) {
+                sequencer.sequencePending();
+                if (!subscribers.isEmpty() && dispatchPage() == dispatchSize) {
+                    signalled.set(true);
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Change feed dispatch failed", e);
+        } finally {
+            dispatching.set(false);
+        }
+        //A signal that came in after the loop's last check
+        if (signalled.get() && dispatching.compareAndSet(false, true)) {
+            executor.execute(this::dispatch);
+        }
+    }
+
+    //One page per tenant with waiting clients; returns the size of the fullest
+    private int dispatchPage()
+    {
+        Map<String, Long> from = new HashMap<>();
+        for (Subscriber subscriber : subscribers) {
+            from.merge(subscriber.tenant, subscriber.position, Math::min);
+        }
+        int read = 0;
+        for (Map.Entry<String, Long> tenant : from.entrySet()) {
+            read = Math.max(read, TenantContext.callAs(tenant.getKey(), () -> dispatchPage(tenant.getKey(), tenant.getValue())));
+        }
+        return read;
+    }
+
+    private int dispatchPage(String tenant, long from)
+    {
+        List<ContactChange> changes = changeRepository.findBySeqGreaterThanOrderBySeqAsc(from, PageRequest.of(0, dispatchSize));
+        ChangeFeedState state = changeRepository.findState();
+        for (Subscriber subscriber : new ArrayList<>(subscribers)) {
+            if (!subscriber.tenant.equals(tenant)) {
+                continue;
+            }
+            boolean keep;
+            if (subscriber.position < state.getPurgedThrough()) {
+                subscriber.expire(new ChangesExpiredException(subscriber.position, state.getPurgedThrough()));
+                keep = false;
+            } else {
+                keep = subscriber.deliver(changes);
+            }
+            if (!keep) {
+                subscribers.remove(subscriber);
+            }
+        }
+        return changes.size();
+    }
+
+    private static void checkNotExpired(long since, ChangeFeedState state)
+    {
+        if (since < state.getPurgedThrough()) {
+            throw new ChangesExpiredException(since, state.getPurgedThrough());
+        }
+    }
+
+    private abstract static class Subscriber
+    {
+        //The tenant of the request that subscribed
+        private final String tenant = TenantContext.currentOrDefault();
+
+        //Last sequence number this client has been given
+        protected volatile long position;
+
+        private Subscriber(long position)
+        {
+            this.position = position;
+        }
+
+        //Hands over the changes after position; false once the client needs no more
+        abstract boolean deliver(List<ContactChange> changes);
+
+        abstract void expire(ChangesExpiredException e);
+
+        List<ContactChange> unseen(List<ContactChange> changes)
+        {
+            List<ContactChange> unseen = new ArrayList<>();
+            for (ContactChange change : changes) {
+                if (change.getSeq() > position) {
+                    unseen.add(change);
+                }
+            }
+            return unseen;
+        }
+    }
+}
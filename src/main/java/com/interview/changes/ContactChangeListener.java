@@ -0,0 +1,45 @@
+package com.interview.changes;
+
+import com.interview.persistance.entities.Contact;
+import com.interview.persistance.entities.ContactChange;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+
+/**
+ * JPA entity listener that records every contact write in the change feed, whichever code
+ * path made it. Like ContactIndexListener the log is looked up on first use, as Hibernate
+ * creates the listener while the context is still starting.
+ *
+ * @author Mike Buschmeier
+ * @creation 18 October 2026
+ */
+@Component
+public class ContactChangeListener
+{
+
+    @Autowired
+    private ObjectProvider<ContactChangeLog> changeLog;
+
+    @PostPersist
+    public void contactCreated(Contact contact)
+    {
+        changeLog.getObject().record(contact, ContactChange.Type.created);
+    }
+
+    @PostUpdate
+    public void contactUpdated(Contact contact)
+    {
+        changeLog.getObject().record(contact, ContactChange.Type.updated);
+    }
+
+    @PostRemove
+    public void contactDeleted(Contact contact)
+    {
+        changeLog.getObject().record(contact, ContactChange.Type.deleted);
+    }
+}
@@ -0,0 +1,125 @@
+package com.interview.changes;
+
+import com.interview.persistance.entities.Contact;
+import com.interview.persistance.entities.ContactChange;
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Writes the change feed entries of a transaction as part of that transaction.
+ *
+ * Changes are collected per Hibernate session and written by a before-completion process,
+ * which runs after the session's last flush, so writes only flushed by the commit itself are
+ * logged too and a rolled back transaction logs nothing. Only the net change of each contact
+ * is kept: created and then updated is one created, created and then deleted is nothing.
+ *
+ * The changes are inserted without a sequence number, in one batch, which is the only statement
+ * the feed adds to a writing transaction; writers take no lock for it and commit independently.
+ * Once the transaction has committed, ContactChangeSequencer numbers them.
+ *
+ * @author Mike Buschmeier
+ * @creation 18 October 2026
+ */
+@Component
+public class ContactChangeLog
+{
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private ContactChangeFeed changeFeed;
+
+    @Autowired
+    private ContactChangeSequencer sequencer;
+
+    void record(Contact contact, ContactChange.Type type)
+    {
+        SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+        Changes changes = (Changes) TransactionSynchronizationManager.getResource(session);
+        if (changes == null) {
+            Changes pending = new Changes();
+            TransactionSynchronizationManager.bindResource(session, pending);
+            session.getActionQueue().registerProcess((BeforeTransactionCompletionProcess) s -> write(s, pending));
+            session.getActionQueue().registerProcess((AfterTransactionCompletionProcess) (success, s) -> {
+                TransactionSynchronizationManager.unbindResourceIfPossible(session);
+                if (success && !pending.isEmpty()) {
+                    sequencer.written(pending.tenants());
+                    changeFeed.signal();
+                }
+            });
+            changes = pending;
+        }
+        changes.add(contact.getId(), contact.getTenantId(), type, contact.getVersion());
+    }
+
+    //Same session and transaction, flushed again as the commit's own flush is over; Envers does the same
+    private void write(SessionImplementor session, Changes changes)
+    {
+        if (changes.isEmpty()) {
+            return;
+        }
+        Instant now = Instant.now();
+        for (Map.Entry<Long, Change> change : changes.byContact.entrySet()) {
+            session.persist(new ContactChange(change.getKey(), change.getValue().tenantId, change.getValue().type, change.getValue().version, now));
+        }
+        session.flush();
+    }
+
+    private static final class Change
+    {
+        private final String tenantId;
+        private final ContactChange.Type type;
+        private final Long version;
+
+        private Change(String tenantId, ContactChange.Type type, Long version)
+        {
+            this.tenantId = tenantId;
+            this.type = type;
+            this.version = version;
+        }
+    }
+
+    //Net change per contact within one transaction, in the order the contacts were first changed
+    private static final class Changes
+    {
+        private final Map<Long, Change> byContact = new LinkedHashMap<>();
+
+        private void add(long contactId, String tenantId, ContactChange.Type type, Long version)
+        {
+            Change previous = byContact.get(contactId);
+            boolean created = previous != null && previous.type == ContactChange.Type.created;
+            if (created && type == ContactChange.Type.deleted) {
+                byContact.remove(contactId);
+            } else {
+                byContact.put(contactId, new Change(tenantId, created ? ContactChange.Type.created : type, version));
+            }
+        }
+
+        private boolean isEmpty()
+        {
+            return byContact.isEmpty();
+        }
+
+        private Set<String> tenants()
+        {
+            Set<String> tenants = new HashSet<>();
+            for (Change change : byContact.values()) {
+                tenants.add(change.tenantId);
+            }
+            return tenants;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.interview.changes;
+
+import com.interview.persistance.entities.ContactChange;
+
+import java.util.List;
+
+/**
+ * A page of the change feed plus the sequence number to ask for the next one with, ?since=next.
+ * next is the last change's number, or the number asked with when there were no changes.
+ *
+ * @author Mike Buschmeier
+ * @creation 18 October 2026
+ */
+public class ContactChangePage
+{
+
+    private final List<ContactChange> changes;
+    private final long next;
+
+    public ContactChangePage(List<ContactChange> changes, long next)
+    {
+        this.changes = changes;
+        this.next = next;
+    }
+
+    static ContactChangePage after(long since, List<ContactChange> changes)
+    {
+        return new ContactChangePage(changes, changes.isEmpty() ? since : changes.get(changes.size() - 1).getSeq());
+    }
+
+    public List<ContactChange> getChanges()
+    {
+        return changes;
+    }
+
+    public long getNext()
+    {
+        return next;
+    }
+}
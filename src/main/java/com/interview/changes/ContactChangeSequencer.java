@@ -0,0 +1,112 @@
+package com.interview.changes;
+
+import com.interview.persistance.entities.ChangeFeedState;
+import com.interview.persistance.entities.ContactChange;
+import com.interview.repositories.ContactChangeRepository;
+import com.interview.tenancy.TenantContext;
+import com.interview.tenancy.Tenants;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Numbers the change feed once changes have committed.
+ *
+ * Writing transactions insert their changes without a number. In a short transaction of its
+ * own, the sequencer locks the change_feed_state row, numbers the committed changes that have
+ * none yet after last_seq, in the order they were written, and moves last_seq on. A change
+ * committing meanwhile is left for the next run, which can only give it a higher number, so a
+ * reader that has seen N never later finds a change below N; readers only see numbered changes.
+ * Runs wait for each other on the row lock, but writers never do.
+ *
+ * Changes committed here are numbered right after their commit, on the feed's executor, and
+ * before this instance answers a read of the feed. Every contacts.changes.sequence-interval
+ * the feed is also checked for changes left unnumbered by an instance that stopped in between.
+ *
+ * @author Mike Buschmeier
+ * @creation 18 October 2026
+ */
+@Component
+@Lazy(false)
+public class ContactChangeSequencer
+{
+
+    @Autowired
+    private ContactChangeRepository changeRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private Tenants tenants;
+
+    @Value("${contacts.changes.sequence-batch-size:1000}")
+    private int batchSize;
+
+    //Tenants with changes committed here that may not be numbered yet
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+
+    void written(Collection<String> tenantIds)
+    {
+        pending.addAll(tenantIds);
+    }
+
+    //Numbers the changes committed here so far; when another thread is at it, waits for it to finish
+    public synchronized void sequencePending()
+    {
+        if (pending.isEmpty()) {
+            return;
+        }
+        Set<String> partitions = new HashSet<>();
+        for (Iterator<String> tenant = pending.iterator(); tenant.hasNext(); ) {
+            partitions.add(tenants.partitionOf(tenant.next()));
+            tenant.remove();
+        }
+        for (String partition : partitions) {
+            TenantContext.callAs(partition, this::sequencePartition);
+        }
+    }
+
+    @Scheduled(initialDelayString = "${contacts.changes.sequence-interval:PT10S}", fixedDelayString = "${contacts.changes.sequence-interval:PT10S}")
+    public void sequenceAll()
+    {
+        for (String partition : tenants.partitions()) {
+            TenantContext.callAs(partition, () -> changeRepository.existsBySeqIsNull() ? sequencePartition() : 0);
+        }
+    }
+
+    //Returns how many changes were numbered
+    private int sequencePartition()
+    {
+        int numbered = 0;
+        int batch;
+        do {
+            batch = transactionTemplate.execute(status -> sequenceBatch());
+            numbered += batch;
+        } while (batch == batchSize);
+        return numbered;
+    }
+
+    private int sequenceBatch()
+    {
+        ChangeFeedState state = changeRepository.lockState();
+        List<ContactChange> changes = changeRepository.findBySeqIsNullOrderByChangedAtAscIdAsc(PageRequest.of(0, batchSize));
+        long seq = state.getLastSeq();
+        for (ContactChange change : changes) {
+            change.number(++seq);
+        }
+        state.setLastSeq(seq);
+        return changes.size();
+    }
+}
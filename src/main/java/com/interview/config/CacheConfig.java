@@ -0,0 +1,72 @@
+package com.interview.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.interview.dto.ContactDto;
+import com.interview.tenancy.TenantContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+
+/**
+ * Read-through cache for single contact lookups.
+ *
+ * Callers only use Spring's cache abstraction, so a distributed store can replace the
+ * in-process Caffeine cache by setting spring.cache.type (e.g. redis) without code changes.
+ * The cache advice runs outside the transaction advice, so a read caches its copy after its
+ * transaction ends. Writes put their copy after commit, see ContactCacheListener, and a cached
+ * copy is only ever replaced by a newer version, see VersionedCacheManager. Contacts are cached
+ * under their tenant and id, see TenantContext.cacheKey.
+ *
+ * @author Mike Buschmeier
+ * @creation 17 October 2026
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableCaching(order = Ordered.HIGHEST_PRECEDENCE)
+public class CacheConfig
+{
+
+    public static final String CONTACT_CACHE = "contacts";
+    public static final String TENANT_KEY_GENERATOR = "tenantKeyGenerator";
+
+    //Size and TTL bounded, with hit/miss/eviction statistics recorded
+    @Bean
+    public Caffeine<Object, Object> caffeine(@Value("${contacts.cache.maximum-size:10000}") long maximumSize,
+                                             @Value("${contacts.cache.time-to-live:10m}") Duration timeToLive)
+    {
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .recordStats();
+    }
+
+    //For methods taking the contact id as their first argument
+    @Bean(TENANT_KEY_GENERATOR)
+    public KeyGenerator tenantKeyGenerator()
+    {
+        return (target, method, params) -> TenantContext.cacheKey(params[0]);
+    }
+
+    //Wraps the cache manager Boot configures, whichever store spring.cache.type selects
+    @Bean
+    public static BeanPostProcessor versionedCacheManagerPostProcessor()
+    {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName)
+            {
+                if (bean instanceof CacheManager && !(bean instanceof VersionedCacheManager)) {
+                    return new VersionedCacheManager((CacheManager) bean,
+                            value -> value instanceof ContactDto ? ((ContactDto) value).getVersion() : null);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,81 @@
+package com.interview.config;
+
+import com.interview.metrics.SqlStatementCounter;
+import com.interview.tenancy.TenantContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.task.TaskExecutorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Where ContactController runs its database work, chosen by contacts.execution-mode.
+ *
+ * blocking: on the servlet container thread that accepted the request, as before.
+ * async: on a bounded pool sized to the connection pool, releasing the container thread
+ * for the whole JPA round trip. When the pool and its queue are full requests get a 503
+ * instead of piling up behind the database.
+ *
+ * @author Mike Buschmeier
+ * @creation 17 October 2026
+ */
+@Configuration(proxyBeanMethods = false)
+public class ExecutionConfig
+{
+
+    public static final String CONTACT_DB_EXECUTOR = "contactDbExecutor";
+    public static final String IMPORT_VALIDATION_EXECUTOR = "importValidationExecutor";
+
+    @Bean(CONTACT_DB_EXECUTOR)
+    @ConditionalOnProperty(name = "contacts.execution-mode", havingValue = "blocking", matchIfMissing = true)
+    public SyncTaskExecutor blockingContactDbExecutor()
+    {
+        return new SyncTaskExecutor();
+    }
+
+    //One thread per pooled connection, so no task ever waits on Hikari while holding a thread
+    @Bean(CONTACT_DB_EXECUTOR)
+    @ConditionalOnProperty(name = "contacts.execution-mode", havingValue = "async")
+    public ThreadPoolTaskExecutor asyncContactDbExecutor(@Value("${contacts.executor.pool-size:10}") int poolSize,
+                                                         @Value("${contacts.executor.queue-capacity:500}") int queueCapacity)
+    {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("contact-db-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setTaskDecorator(ExecutionConfig::propagate);
+        return executor;
+    }
+
+    //Validation of import chunks, kept off the common ForkJoinPool so imports neither wait on nor hold up its other users
+    @Bean(IMPORT_VALIDATION_EXECUTOR)
+    public ThreadPoolTaskExecutor importValidationExecutor(@Value("${contacts.import.validation-threads:4}") int threads)
+    {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setThreadNamePrefix("import-validation-");
+        executor.setTaskDecorator(ExecutionConfig::propagate);
+        return executor;
+    }
+
+    //Any Executor bean switches off Boot's default one, which Spring MVC uses for streamed responses
+    @Lazy
+    @Bean(name = {TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME, "taskExecutor"})
+    public ThreadPoolTaskExecutor applicationTaskExecutor(TaskExecutorBuilder builder)
+    {
+        return builder.taskDecorator(ExecutionConfig::propagate).build();
+    }
+
+    //Work handed to another thread keeps adding to the request's SQL count and works for its tenant
+    private static Runnable propagate(Runnable task)
+    {
+        return TenantContext.propagate(SqlStatementCounter.propagate(task));
+    }
+}
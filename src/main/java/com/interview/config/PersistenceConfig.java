@@ -0,0 +1,41 @@
+package com.interview.config;
+
+import com.interview.metrics.SqlStatementCounter;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.loader.BatchFetchStyle;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Hibernate settings the read paths in ContactRepository and the metrics depend on.
+ * Kept in code rather than application.properties so every profile, tests included, gets them.
+ *
+ * @author Mike Buschmeier
+ * @creation 17 October 2026
+ */
+@Configuration(proxyBeanMethods = false)
+public class PersistenceConfig
+{
+
+    @Bean
+    public HibernatePropertiesCustomizer contactHibernatePropertiesCustomizer()
+    {
+        return properties -> {
+            //Load a whole @BatchSize worth of collections with one statement, padding the id list if needed
+            properties.putIfAbsent(AvailableSettings.BATCH_FETCH_STYLE, BatchFetchStyle.PADDED.name());
+
+            //Group inserts and updates per table into JDBC batches, matching the id sequences' allocation size
+            properties.putIfAbsent(AvailableSettings.STATEMENT_BATCH_SIZE, "50");
+            properties.putIfAbsent(AvailableSettings.ORDER_INSERTS, "true");
+            properties.putIfAbsent(AvailableSettings.ORDER_UPDATES, "true");
+            properties.putIfAbsent(AvailableSettings.BATCH_VERSIONED_DATA, "true");
+
+            //Statistics feed the hibernate.* metrics; the inspector feeds per request SQL counts
+            properties.putIfAbsent(AvailableSettings.GENERATE_STATISTICS, "true");
+            properties.putIfAbsent(AvailableSettings.STATEMENT_INSPECTOR, SqlStatementCounter.class.getName());
+            //Statistics would otherwise also log a multi-line summary at INFO for every session
+            properties.putIfAbsent(AvailableSettings.LOG_SESSION_METRICS, "false");
+        };
+    }
+}
@@ -0,0 +1,58 @@
+package com.interview.config;
+
+import com.interview.ratelimit.RequestBudget;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * The request budgets RateLimitFilter charges requests to, from contacts.rate-limit.{budget}.*:
+ * rate (requests per second per client), burst (requests a client may make at once) and
+ * max-concurrent (requests of all clients in progress at once).
+ *
+ * @author Mike Buschmeier
+ * @creation 18 October 2026
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "contacts.rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitConfig
+{
+
+    public static final String DEFAULT_BUDGET = "defaultBudget";
+    public static final String EXPENSIVE_BUDGET = "expensiveBudget";
+    public static final String FEED_BUDGET = "feedBudget";
+
+    @Bean(DEFAULT_BUDGET)
+    public RequestBudget defaultBudget(@Value("${contacts.rate-limit.default.rate:100}") double rate,
+                                       @Value("${contacts.rate-limit.default.burst:200}") int burst,
+                                       @Value("${contacts.rate-limit.default.max-concurrent:200}") int maxConcurrent,
+                                       @Value("${contacts.rate-limit.max-clients:10000}") long maxClients,
+                                       MeterRegistry meterRegistry)
+    {
+        return new RequestBudget("default", rate, burst, maxConcurrent, maxClients, meterRegistry);
+    }
+
+    //The full list, export and import each read or write every contact
+    @Bean(EXPENSIVE_BUDGET)
+    public RequestBudget expensiveBudget(@Value("${contacts.rate-limit.expensive.rate:1}") double rate,
+                                         @Value("${contacts.rate-limit.expensive.burst:10}") int burst,
+                                         @Value("${contacts.rate-limit.expensive.max-concurrent:4}") int maxConcurrent,
+                                         @Value("${contacts.rate-limit.max-clients:10000}") long maxClients,
+                                         MeterRegistry meterRegistry)
+    {
+        return new RequestBudget("expensive", rate, burst, maxConcurrent, maxClients, meterRegistry);
+    }
+
+    //Long-polls and event streams hold a slot while they wait, but cost nothing while they do
+    @Bean(FEED_BUDGET)
+    public RequestBudget feedBudget(@Value("${contacts.rate-limit.feed.rate:10}") double rate,
+                                    @Value("${contacts.rate-limit.feed.burst:20}") int burst,
+                                    @Value("${contacts.rate-limit.feed.max-concurrent:1000}") int maxConcurrent,
+                                    @Value("${contacts.rate-limit.max-clients:10000}") long maxClients,
+                                    MeterRegistry meterRegistry)
+    {
+        return new RequestBudget("feed", rate, burst, maxConcurrent, maxClients, meterRegistry);
+    }
+}
@@ -0,0 +1,21 @@
+package com.interview.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Runs the @Scheduled background jobs, such as DuplicateMergeJob, on Boot's task scheduler.
+ *
+ * Only beans that have been created are scheduled, so every bean with a @Scheduled method is
+ * marked @Lazy(false) and runs even when the rest of the context starts lazily. The scheduler
+ * has a thread per job, spring.task.scheduling.pool.size, so a long run of one job does not
+ * hold up the others.
+ *
+ * @author Mike Buschmeier
+ * @creation 18 October 2026
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableScheduling
+public class SchedulingConfig
+{
+}
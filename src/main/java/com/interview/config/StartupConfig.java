@@ -0,0 +1,33 @@
+package com.interview.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Beans created during startup even when the fast-start profile makes the rest lazy.
+ *
+ * The meter registry and Boot's metrics configurations bind the cache, connection pool and
+ * Hibernate meters as they are created. Left lazy nothing asks for them, so those meters
+ * would silently never be registered.
+ *
+ * @author Mike Buschmeier
+ * @creation 18 October 2026
+ */
+@Configuration(proxyBeanMethods = false)
+public class StartupConfig
+{
+
+    private static final String METRICS_AUTO_CONFIGURATION = "org.springframework.boot.actuate.autoconfigure.metrics.";
+
+    //Static: read by a BeanFactoryPostProcessor before any other bean is created
+    @Bean
+    public static LazyInitializationExcludeFilter eagerMetricsFilter()
+    {
+        return (beanName, beanDefinition, beanType) -> MeterRegistry.class.isAssignableFrom(beanType)
+                || MeterBinder.class.isAssignableFrom(beanType)
+                || beanType.getName().startsWith(METRICS_AUTO_CONFIGURATION);
+    }
+}
@@ -0,0 +1,69 @@
+package com.interview.config;
+
+import com.interview.tenancy.CurrentTenantResolver;
+import com.interview.tenancy.TenantContext;
+import com.interview.tenancy.TenantSchemaConnectionProvider;
+import com.interview.tenancy.TenantSchemas;
+import com.interview.tenancy.TenantTransactionManager;
+import org.hibernate.MultiTenancyStrategy;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizers;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.JpaTransactionManager;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * How tenants' contacts are kept apart, chosen by contacts.tenancy.mode.
+ *
+ * discriminator: all tenants share the tables, with a tenant_id column leading their indexes,
+ * and every session is filtered to the current tenant's rows (TenantTransactionManager).
+ * schema: every tenant has a schema of its own (TenantSchemas) that Hibernate switches to
+ * per session. The tenant filter stays on as well. Schemas are only created for the tenants
+ * listed in contacts.tenancy.tenants.
+ *
+ * @author Mike Buschmeier
+ * @creation 18 October 2026
+ */
+@Configuration(proxyBeanMethods = false)
+public class TenancyConfig
+{
+
+    //Replaces the JpaTransactionManager Spring Boot would create, customizers included
+    @Bean
+    public JpaTransactionManager transactionManager(ObjectProvider<TransactionManagerCustomizers> customizers)
+    {
+        JpaTransactionManager transactionManager = new TenantTransactionManager();
+        customizers.ifAvailable(c -> c.customize(transactionManager));
+        return transactionManager;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "contacts.tenancy.mode", havingValue = "schema")
+    public TenantSchemas tenantSchemas(DataSource dataSource,
+                                       @Value("${contacts.tenancy.schema-prefix:tenant_}") String prefix,
+                                       @Value("${spring.flyway.locations:classpath:db/migration}") String[] locations,
+                                       @Value("${contacts.tenancy.tenants:" + TenantContext.DEFAULT_TENANT + "}") String[] tenants) throws SQLException
+    {
+        TenantSchemas schemas = new TenantSchemas(dataSource, prefix, locations, tenants);
+        schemas.migrateExisting();
+        return schemas;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "contacts.tenancy.mode", havingValue = "schema")
+    public HibernatePropertiesCustomizer tenantSchemaHibernatePropertiesCustomizer(DataSource dataSource, TenantSchemas schemas)
+    {
+        return properties -> {
+            properties.put(AvailableSettings.MULTI_TENANT, MultiTenancyStrategy.SCHEMA);
+            properties.put(AvailableSettings.MULTI_TENANT_CONNECTION_PROVIDER, new TenantSchemaConnectionProvider(dataSource, schemas));
+            properties.put(AvailableSettings.MULTI_TENANT_IDENTIFIER_RESOLVER, new CurrentTenantResolver());
+        };
+    }
+}
@@ -0,0 +1,172 @@
+package com.interview.config;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.Collection;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * Cache manager decorator whose caches never replace a value with an older version of it.
+ *
+ * A read that loaded a row before a write committed can put its copy after the writer has put
+ * the new one. A put therefore only replaces the cached value when it is at least as new, as
+ * told by versionOf. Null marks a deleted value: it replaces any version and nothing but
+ * another null replaces it, so a late copy cannot bring a deleted value back. Values without
+ * a version always replace. Caffeine caches compare and put atomically and stay CaffeineCaches,
+ * so their statistics are still published; other stores read and then put, which a put landing
+ * in between can still overtake.
+ *
+ * @author Mike Buschmeier
+ * @creation 18 October 2026
+ */
+public class VersionedCacheManager implements CacheManager
+{
+
+    private final CacheManager delegate;
+    private final Function<Object, Long> versionOf;
+    private final ConcurrentMap<String, Cache> caches = new ConcurrentHashMap<>();
+
+    public VersionedCacheManager(CacheManager delegate, Function<Object, Long> versionOf)
+    {
+        this.delegate = delegate;
+        this.versionOf = versionOf;
+    }
+
+    @Override
+    public Cache getCache(String name)
+    {
+        Cache cache = caches.get(name);
+        if (cache == null) {
+            Cache target = delegate.getCache(name);
+            if (target == null) {
+                return null;
+            }
+            cache = caches.computeIfAbsent(name, n -> target instanceof CaffeineCache
+                    ? new VersionedCaffeineCache((CaffeineCache) target) : new VersionedCache(target));
+        }
+        return cache;
+    }
+
+    @Override
+    public Collection<String> getCacheNames()
+    {
+        return delegate.getCacheNames();
+    }
+
+    //Whether value may replace current, which is null when nothing is cached
+    private boolean replaces(Cache.ValueWrapper current, Object value)
+    {
+        if (current == null || value == null) {
+            return true;
+        }
+        if (current.get() == null) {
+            return false;
+        }
+        Long version = versionOf.apply(value);
+        Long currentVersion = versionOf.apply(current.get());
+        return version == null || currentVersion == null || version >= currentVersion;
+    }
+
+    //Shares the native cache of the one it replaces
+    private class VersionedCaffeineCache extends CaffeineCache
+    {
+
+        private VersionedCaffeineCache(CaffeineCache cache)
+        {
+            super(cache.getName(), cache.getNativeCache(), cache.isAllowNullValues());
+        }
+
+        @Override
+        public void put(Object key, Object value)
+        {
+            Object stored = toStoreValue(value);
+            getNativeCache().asMap().compute(key, (k, current) ->
+                    replaces(current == null ? null : new SimpleValueWrapper(fromStoreValue(current)), value) ? stored : current);
+        }
+    }
+
+    private class VersionedCache implements Cache
+    {
+
+        private final Cache cache;
+
+        private VersionedCache(Cache cache)
+        {
+            this.cache = cache;
+        }
+
+        @Override
+        public void put(Object key, Object value)
+        {
+            if (replaces(cache.get(key), value)) {
+                cache.put(key, value);
+            }
+        }
+
+        @Override
+        public String getName()
+        {
+            return cache.getName();
+        }
+
+        @Override
+        public Object getNativeCache()
+        {
+            return cache.getNativeCache();
+        }
+
+        @Override
+        public ValueWrapper get(Object key)
+        {
+            return cache.get(key);
+        }
+
+        @Override
+        public <T> T get(Object key, Class<T> type)
+        {
+            return cache.get(key, type);
+        }
+
+        @Override
+        public <T> T get(Object key, Callable<T> valueLoader)
+        {
+            return cache.get(key, valueLoader);
+        }
+
+        @Override
+        public ValueWrapper putIfAbsent(Object key, Object value)
+        {
+            return cache.putIfAbsent(key, value);
+        }
+
+        @Override
+        public void evict(Object key)
+        {
+            cache.evict(key);
+        }
+
+        @Override
+        public boolean evictIfPresent(Object key)
+        {
+            return cache.evictIfPresent(key);
+        }
+
+        @Override
+        public void clear()
+        {
+            cache.clear();
+        }
+
+        @Override
+        public boolean invalidate()
+        {
+            return cache.invalidate();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.interview.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import javax.servlet.Filter;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Binary encodings of the API's JSON, chosen with Accept and Content-Type:
+ * Smile (application/x-jackson-smile) and CBOR (application/cbor).
+ *
+ * Both carry the same documents as JSON, so every end point supports them without changes.
+ * Smile also writes each field name, and each short repeated value such as a city or a
+ * phone type, once per response and refers back to it after that, which is what makes big
+ * contact lists smaller. The mappers are built from Spring Boot's builder, so they serialize
+ * exactly like the JSON one.
+ *
+ * Every /contacts response carries Vary: Accept, 304s and errors included, so a shared cache
+ * never hands a client the encoding another one asked for. The entity tags are the same in
+ * every encoding, and weak for that reason (ContactETags).
+ *
+ * @author Mike Buschmeier
+ * @creation 18 October 2026
+ */
+@Configuration(proxyBeanMethods = false)
+public class WireFormatConfig
+{
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder)
+    {
+        SmileFactory factory = new SmileFactory();
+        factory.enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES);
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(factory).build());
+    }
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder)
+    {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    //Set before the rest of the chain runs, so responses refused by a filter vary as well
+    @Bean
+    public FilterRegistrationBean<Filter> varyAcceptFilter()
+    {
+        Filter filter = (request, response, chain) -> {
+            ((HttpServletResponse) response).addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+            chain.doFilter(request, response);
+        };
+        FilterRegistrationBean<Filter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/contacts", "/contacts/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
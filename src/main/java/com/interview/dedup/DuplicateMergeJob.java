@@ -0,0 +1,202 @@
+package com.interview.dedup;
+
+import com.interview.persistance.entities.Contact;
+import com.interview.repositories.ContactRepository;
+import com.interview.tenancy.TenantContext;
+import com.interview.tenancy.Tenants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Background job that merges duplicate contacts, every contacts.dedup.merge-interval.
+ *
+ * It first gives contacts stored before match keys existed their keys; one whose key is
+ * already taken is an exact duplicate and is merged. It then walks the name keys shared by
+ * more than one contact and merges the contacts in each group that NearDuplicates finds to
+ * be the same person. The contact with the lowest id survives and takes over what only the
+ * duplicate had; the duplicate is deleted. A pair whose merged contact would take the match key
+ * of a third contact is left alone for that run, since the unique index would refuse it and roll
+ * back the whole batch; the third contact usually merges first and the pair on the next run.
+ *
+ * Work is done in batches of contacts.dedup.batch-size, each in its own short transaction
+ * that locks only the rows it merges, so the API keeps serving while it runs. A batch that
+ * runs into a concurrent change is rolled back and looked at again on the next run.
+ * Tenants are worked through one at a time, and contacts are only merged within a tenant.
+ *
+ * @author Mike Buschmeier
+ * @creation 18 October 2026
+ */
+@Component
+@Lazy(false)
+@ConditionalOnProperty(name = "contacts.dedup.merge-enabled", havingValue = "true", matchIfMissing = true)
+public class DuplicateMergeJob
+{
+
+    private static final Logger log = LoggerFactory.getLogger(DuplicateMergeJob.class);
+
+    @Autowired
+    private ContactRepository contactRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private Tenants tenants;
+
+    @Value("${contacts.dedup.batch-size:500}")
+    private int batchSize;
+
+    @Scheduled(initialDelayString = "${contacts.dedup.merge-interval:PT10M}", fixedDelayString = "${contacts.dedup.merge-interval:PT10M}")
+    public void run()
+    {
+        long started = System.currentTimeMillis();
+        int merged = mergeDuplicates();
+        log.info("Duplicate merge: {} contacts merged in {} ms", merged, System.currentTimeMillis() - started);
+    }
+
+    //Returns how many contacts were merged into another one
+    public int mergeDuplicates()
+    {
+        int merged = 0;
+        for (String tenant : tenants.all()) {
+            merged += TenantContext.callAs(tenant, () -> backfillKeys() + mergeNearDuplicates());
+        }
+        return merged;
+    }
+
+    private int backfillKeys()
+    {
+        int merged = 0;
+        Integer read;
+        do {
+            Map<Long, Long> merges = new HashMap<>();
+            read = inTransaction(merges, () -> backfillBatch(merges));
+            merged += merges.size();
+        } while (read != null && read == batchSize);
+        return merged;
+    }
+
+    //Keys the oldest contacts without one; returns how many it read
+    private int backfillBatch(Map<Long, Long> merges)
+    {
+        List<Contact> contacts = contactRepository.findByMatchKeyIsNullOrderByIdAsc(PageRequest.of(0, batchSize));
+        List<String> keys = new ArrayList<>(contacts.size());
+        for (Contact contact : contacts) {
+            keys.add(MatchKeys.matchKey(contact));
+        }
+        Map<String, Long> stored = contactRepository.findIdsByMatchKey(new HashSet<>(keys));
+
+        Map<String, Contact> holders = new HashMap<>();
+        for (int i = 0; i < contacts.size(); i++) {
+            Contact contact = contacts.get(i);
+            String key = keys.get(i);
+            Contact holder = holders.get(key);
+            if (holder == null && stored.containsKey(key)) {
+                holder = contactRepository.findById(stored.get(key)).orElse(null);
+            }
+            if (holder == null) {
+                contact.updateMatchKeys();
+                holders.put(key, contact);
+            } else if (holder.getId() < contact.getId()) {
+                merge(holder, contact, merges);
+            } else {
+                merge(contact, holder, merges);
+                holders.put(key, contact);
+            }
+        }
+        return contacts.size();
+    }
+
+    private int mergeNearDuplicates()
+    {
+        int merged = 0;
+        String after = "";
+        List<String> nameKeys;
+        do {
+            nameKeys = contactRepository.findSharedNameKeys(after, PageRequest.of(0, batchSize));
+            if (nameKeys.isEmpty()) {
+                break;
+            }
+            after = nameKeys.get(nameKeys.size() - 1);
+
+            List<String> batch = nameKeys;
+            Map<Long, Long> merges = new HashMap<>();
+            inTransaction(merges, () -> mergeGroups(batch, merges));
+            merged += merges.size();
+        } while (nameKeys.size() == batchSize);
+        return merged;
+    }
+
+    //Within each name group every contact is compared with the survivors before it, oldest first
+    private Void mergeGroups(List<String> nameKeys, Map<Long, Long> merges)
+    {
+        Map<String, List<Contact>> groups = new LinkedHashMap<>();
+        for (Contact contact : contactRepository.findAllWithDetailsByNameKeyIn(nameKeys)) {
+            groups.computeIfAbsent(contact.getNameKey(), key -> new ArrayList<>()).add(contact);
+        }
+        for (List<Contact> group : groups.values()) {
+            List<Contact> survivors = new ArrayList<>();
+            for (Contact contact : group) {
+                Contact survivor = survivors.stream()
+                        .filter(candidate -> NearDuplicates.isSameContact(candidate, contact))
+                        .findFirst().orElse(null);
+                if (survivor == null || !merge(survivor, contact, merges)) {
+                    survivors.add(contact);
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The duplicate is deleted first so the survivor can take over its match key. Returns false,
+     * changing neither, when another contact holds the key the survivor would end up with. The
+     * survivor is written at once, so the next merge's check sees its new key.
+     */
+    private boolean merge(Contact survivor, Contact duplicate, Map<Long, Long> merges)
+    {
+        String matchKey = NearDuplicates.absorbedMatchKey(survivor, duplicate);
+        Long holder = contactRepository.findIdsByMatchKey(Collections.singleton(matchKey)).get(matchKey);
+        if (holder != null && !holder.equals(survivor.getId()) && !holder.equals(duplicate.getId())) {
+            log.debug("Not merging contact {} into {}: contact {} has the merged match key", duplicate.getId(), survivor.getId(), holder);
+            return false;
+        }
+        contactRepository.delete(duplicate);
+        contactRepository.flush();
+        NearDuplicates.absorb(survivor, duplicate);
+        survivor.markUpdated();
+        contactRepository.flush();
+        merges.put(duplicate.getId(), survivor.getId());
+        log.debug("Merged contact {} into {}", duplicate.getId(), survivor.getId());
+        return true;
+    }
+
+    //Returns null if the batch rolled back
+    private <T> T inTransaction(Map<Long, Long> merges, Supplier<T> batch)
+    {
+        try {
+            return transactionTemplate.execute(status -> batch.get());
+        } catch (RuntimeException e) {
+            log.warn("Duplicate merge batch rolled back, it is retried on the next run", e);
+            merges.clear();
+            return null;
+        }
+    }
+}
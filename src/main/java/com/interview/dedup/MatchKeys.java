@@ -0,0 +1,141 @@
+package com.interview.dedup;
+
+import com.interview.persistance.entities.Address;
+import com.interview.persistance.entities.Contact;
+import com.interview.persistance.entities.Name;
+import com.interview.persistance.entities.Phone;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Normalized keys that identify the same contact however it was typed in.
+ *
+ * Names and addresses are lower-cased with accents, punctuation and repeated spaces removed,
+ * e-mails are trimmed and lower-cased and phones are reduced to their digits. The match key is
+ * a hash of all four, with the phones sorted, so it has a fixed length for the unique index on
+ * it. Only contacts alike in every field share a key: two people of the same name with neither
+ * e-mail nor phone are told apart by their addresses.
+ * The name key (first and last name only) groups the candidates for near-duplicate merging.
+ *
+ * @author Mike Buschmeier
+ * @creation 18 October 2026
+ */
+public final class MatchKeys
+{
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private MatchKeys()
+    {
+    }
+
+    public static String matchKey(Contact contact)
+    {
+        return matchKey(contact.getName(), contact.getEmail(), contact.getPhone(), contact.getAddress());
+    }
+
+    public static String matchKey(Name name, String email, List<Phone> phones, Address address)
+    {
+        StringBuilder key = new StringBuilder();
+        if (name != null) {
+            key.append(name(name.getFirst())).append(' ').append(name(name.getMiddle())).append(' ').append(name(name.getLast()));
+        }
+        key.append('|').append(email(email)).append('|').append(String.join(",", phones(phones))).append('|');
+        if (address != null) {
+            key.append(name(address.getStreet())).append(',').append(name(address.getCity())).append(',')
+                    .append(name(address.getState())).append(',').append(name(address.getZip()));
+        }
+        return sha256(key.toString());
+    }
+
+    //Null when the contact has neither a first nor a last name
+    public static String nameKey(Name name)
+    {
+        if (name == null) {
+            return null;
+        }
+        String key = (name(name.getFirst()) + " " + name(name.getLast())).trim();
+        return key.isEmpty() ? null : key;
+    }
+
+    //Lower case letters and digits, words separated by single spaces; "" for null
+    public static String name(String name)
+    {
+        if (name == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(name, Normalizer.Form.NFKD);
+        StringBuilder normalized = new StringBuilder(decomposed.length());
+        boolean space = false;
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                if (space && normalized.length() > 0) {
+                    normalized.append(' ');
+                }
+                normalized.append(Character.toLowerCase(c));
+                space = false;
+            } else if (Character.getType(c) != Character.NON_SPACING_MARK) {
+                space = true;
+            }
+        }
+        return normalized.toString();
+    }
+
+    public static String email(String email)
+    {
+        return email == null ? "" : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    public static String phone(String number)
+    {
+        if (number == null) {
+            return "";
+        }
+        StringBuilder digits = new StringBuilder(number.length());
+        for (int i = 0; i < number.length(); i++) {
+            if (Character.isDigit(number.charAt(i))) {
+                digits.append(number.charAt(i));
+            }
+        }
+        return digits.toString();
+    }
+
+    //Distinct phone digits in sorted order, so the order phones were listed in does not matter
+    public static Set<String> phones(List<Phone> phones)
+    {
+        Set<String> digits = new TreeSet<>();
+        if (phones != null) {
+            for (Phone phone : phones) {
+                String number = phone(phone.getNumber());
+                if (!number.isEmpty()) {
+                    digits.add(number);
+                }
+            }
+        }
+        return digits;
+    }
+
+    private static String sha256(String text)
+    {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8));
+            char[] hex = new char[hash.length * 2];
+            for (int i = 0; i < hash.length; i++) {
+                hex[i * 2] = HEX[(hash[i] >> 4) & 0xf];
+                hex[i * 2 + 1] = HEX[hash[i] & 0xf];
+            }
+            return new String(hex);
+        } catch (NoSuchAlgorithmException e) {
+            //Every Java platform is required to provide SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+}
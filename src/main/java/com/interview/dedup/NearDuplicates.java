@@ -0,0 +1,132 @@
+package com.interview.dedup;
+
+import com.interview.exceptions.IncorrectEmailFormatException;
+import com.interview.persistance.entities.Address;
+import com.interview.persistance.entities.Contact;
+import com.interview.persistance.entities.Name;
+import com.interview.persistance.entities.Phone;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Decides whether two contacts with the same name key are the same person, and folds one
+ * into the other.
+ *
+ * @author Mike Buschmeier
+ * @creation 18 October 2026
+ */
+final class NearDuplicates
+{
+
+    private NearDuplicates()
+    {
+    }
+
+    //Callers only compare contacts with the same name key. They are the same person when they also share
+    //the e-mail or a phone, and neither two different e-mails nor two different middle names tell them apart.
+    static boolean isSameContact(Contact contact, Contact other)
+    {
+        String email = MatchKeys.email(contact.getEmail());
+        String otherEmail = MatchKeys.email(other.getEmail());
+        if (!email.isEmpty() && !otherEmail.isEmpty() && !email.equals(otherEmail)) {
+            return false;
+        }
+        String middle = middle(contact.getName());
+        String otherMiddle = middle(other.getName());
+        if (!middle.startsWith(otherMiddle) && !otherMiddle.startsWith(middle)) {
+            return false;
+        }
+        if (!email.isEmpty() && email.equals(otherEmail)) {
+            return true;
+        }
+        Set<String> phones = MatchKeys.phones(contact.getPhone());
+        phones.retainAll(MatchKeys.phones(other.getPhone()));
+        return !phones.isEmpty();
+    }
+
+    /**
+     * Give the survivor what only the duplicate has: its e-mail or address when the survivor has
+     * none, the fuller middle name ("Francis" over "F") and the phones the survivor lacks. When both
+     * have an address the one on the more recently updated contact is kept.
+     */
+    static void absorb(Contact survivor, Contact duplicate)
+    {
+        if (hasFullerMiddle(duplicate, survivor)) {
+            survivor.getName().setMiddle(duplicate.getName().getMiddle());
+        }
+
+        if (survivor.getEmail() == null && duplicate.getEmail() != null) {
+            try {
+                survivor.setEmail(duplicate.getEmail());
+            } catch (IncorrectEmailFormatException e) {
+                throw new IllegalStateException("Stored e-mail of contact " + duplicate.getId() + " is invalid", e);
+            }
+        }
+
+        if (takesAddress(survivor, duplicate)) {
+            Address address = duplicate.getAddress();
+            survivor.setAddress(new Address(address.getStreet(), address.getCity(), address.getState(), address.getZip()));
+        }
+
+        for (Phone phone : missingPhones(survivor, duplicate)) {
+            survivor.addPhone(phone);
+        }
+    }
+
+    //The match key absorb(survivor, duplicate) would leave the survivor with, without changing either
+    static String absorbedMatchKey(Contact survivor, Contact duplicate)
+    {
+        Name name = survivor.getName();
+        if (hasFullerMiddle(duplicate, survivor)) {
+            name = new Name(name.getFirst(), duplicate.getName().getMiddle(), name.getLast());
+        }
+        String email = survivor.getEmail() != null ? survivor.getEmail() : duplicate.getEmail();
+        List<Phone> phones = new ArrayList<>();
+        if (survivor.getPhone() != null) {
+            phones.addAll(survivor.getPhone());
+        }
+        phones.addAll(missingPhones(survivor, duplicate));
+        Address address = takesAddress(survivor, duplicate) ? duplicate.getAddress() : survivor.getAddress();
+        return MatchKeys.matchKey(name, email, phones, address);
+    }
+
+    private static boolean takesAddress(Contact survivor, Contact duplicate)
+    {
+        return duplicate.getAddress() != null && (survivor.getAddress() == null || isNewer(duplicate, survivor));
+    }
+
+    private static boolean hasFullerMiddle(Contact contact, Contact other)
+    {
+        return contact.getName() != null && other.getName() != null
+                && middle(contact.getName()).length() > middle(other.getName()).length();
+    }
+
+    //The duplicate's phones whose number the survivor does not have
+    private static List<Phone> missingPhones(Contact survivor, Contact duplicate)
+    {
+        List<Phone> missing = new ArrayList<>();
+        if (duplicate.getPhone() != null) {
+            Set<String> numbers = MatchKeys.phones(survivor.getPhone());
+            for (Phone phone : duplicate.getPhone()) {
+                if (numbers.add(MatchKeys.phone(phone.getNumber()))) {
+                    missing.add(phone);
+                }
+            }
+        }
+        return missing;
+    }
+
+    private static String middle(Name name)
+    {
+        return name == null ? "" : MatchKeys.name(name.getMiddle());
+    }
+
+    private static boolean isNewer(Contact contact, Contact other)
+    {
+        Instant updated = contact.getUpdatedAt();
+        return updated != null && (other.getUpdatedAt() == null || updated.isAfter(other.getUpdatedAt()));
+    }
+}
@@ -0,0 +1,55 @@
+package com.interview.dto;
+
+import com.interview.persistance.entities.Address;
+
+import java.io.Serializable;
+
+/**
+ * Immutable copy of a contact's address, as sent to clients
+ *
+ * @author Mike Buschmeier
+ * @creation 18 October 2026
+ */
+public final class AddressDto implements Serializable
+{
+
+    private static final long serialVersionUID = 1L;
+
+    private final String street;
+    private final String city;
+    private final String state;
+    private final String zip;
+
+    public AddressDto(String street, String city, String state, String zip)
+    {
+        this.street = street;
+        this.city = city;
+        this.state = state;
+        this.zip = zip;
+    }
+
+    static AddressDto of(Address address)
+    {
+        return address == null ? null : new AddressDto(address.getStreet(), address.getCity(), address.getState(), address.getZip());
+    }
+
+    public String getStreet()
+    {
+        return street;
+    }
+
+    public String getCity()
+    {
+        return city;
+    }
+
+    public String getState()
+    {
+        return state;
+    }
+
+    public String getZip()
+    {
+        return zip;
+    }
+}
@@ -0,0 +1,108 @@
+package com.interview.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.interview.persistance.entities.Contact;
+import com.interview.persistance.entities.Phone;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable copy of a contact, as sent to clients and kept in the contact cache.
+ *
+ * Copied from the entity while its transaction is still open, so writing a response never
+ * touches Hibernate: no lazy loads, no proxies, and a cached copy can be shared between
+ * threads. The version and update time are carried for the ETag and Last-Modified headers
+ * but are not part of the body. A contact without phones has an empty phone list, whether it
+ * was just saved or read back. Written by Jackson's bean serializer, in the same shape the
+ * entity had.
+ *
+ * @author Mike Buschmeier
+ * @creation 18 October 2026
+ */
+public final class ContactDto implements Serializable
+{
+
+    private static final long serialVersionUID = 1L;
+
+    private final Long id;
+    private final NameDto name;
+    private final AddressDto address;
+    private final List<PhoneDto> phone;
+    private final String email;
+    private final Long version;
+    private final Instant updatedAt;
+
+    public ContactDto(Long id, NameDto name, AddressDto address, List<PhoneDto> phone, String email, Long version, Instant updatedAt)
+    {
+        this.id = id;
+        this.name = name;
+        this.address = address;
+        this.phone = phone == null ? Collections.emptyList() : Collections.unmodifiableList(phone);
+        this.email = email;
+        this.version = version;
+        this.updatedAt = updatedAt;
+    }
+
+    public static ContactDto of(Contact contact)
+    {
+        //A new contact saved without phones still has a null list; one read back has an empty one
+        List<PhoneDto> phones = new ArrayList<>(contact.getPhone() == null ? 0 : contact.getPhone().size());
+        if (contact.getPhone() != null) {
+            for (Phone phone : contact.getPhone()) {
+                phones.add(PhoneDto.of(phone));
+            }
+        }
+        return new ContactDto(contact.getId(), NameDto.of(contact.getName()), AddressDto.of(contact.getAddress()),
+                phones, contact.getEmail(), contact.getVersion(), contact.getUpdatedAt());
+    }
+
+    public static List<ContactDto> of(List<Contact> contacts)
+    {
+        List<ContactDto> dtos = new ArrayList<>(contacts.size());
+        for (Contact contact : contacts) {
+            dtos.add(of(contact));
+        }
+        return dtos;
+    }
+
+    public Long getId()
+    {
+        return id;
+    }
+
+    public NameDto getName()
+    {
+        return name;
+    }
+
+    public AddressDto getAddress()
+    {
+        return address;
+    }
+
+    public List<PhoneDto> getPhone()
+    {
+        return phone;
+    }
+
+    public String getEmail()
+    {
+        return email;
+    }
+
+    @JsonIgnore
+    public Long getVersion()
+    {
+        return version;
+    }
+
+    @JsonIgnore
+    public Instant getUpdatedAt()
+    {
+        return updatedAt;
+    }
+}
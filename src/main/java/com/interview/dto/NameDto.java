@@ -0,0 +1,48 @@
+package com.interview.dto;
+
+import com.interview.persistance.entities.Name;
+
+import java.io.Serializable;
+
+/**
+ * Immutable copy of a contact's name, as sent to clients
+ *
+ * @author Mike Buschmeier
+ * @creation 18 October 2026
+ */
+public final class NameDto implements Serializable
+{
+
+    private static final long serialVersionUID = 1L;
+
+    private final String first;
+    private final String middle;
+    private final String last;
+
+    public NameDto(String first, String middle, String last)
+    {
+        this.first = first;
+        this.middle = middle;
+        this.last = last;
+    }
+
+    static NameDto of(Name name)
+    {
+        return name == null ? null : new NameDto(name.getFirst(), name.getMiddle(), name.getLast());
+    }
+
+    public String getFirst()
+    {
+        return first;
+    }
+
+    public String getMiddle()
+    {
+        return middle;
+    }
+
+    public String getLast()
+    {
+        return last;
+    }
+}
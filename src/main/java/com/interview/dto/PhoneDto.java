@@ -0,0 +1,41 @@
+package com.interview.dto;
+
+import com.interview.persistance.entities.Phone;
+
+import java.io.Serializable;
+
+/**
+ * Immutable copy of one of a contact's phones, as sent to clients
+ *
+ * @author Mike Buschmeier
+ * @creation 18 October 2026
+ */
+public final class PhoneDto implements Serializable
+{
+
+    private static final long serialVersionUID = 1L;
+
+    private final String number;
+    private final Phone.Type type;
+
+    public PhoneDto(String number, Phone.Type type)
+    {
+        this.number = number;
+        this.type = type;
+    }
+
+    static PhoneDto of(Phone phone)
+    {
+        return new PhoneDto(phone.getNumber(), phone.getType());
+    }
+
+    public String getNumber()
+    {
+        return number;
+    }
+
+    public Phone.Type getType()
+    {
+        return type;
+    }
+}
@@ -0,0 +1,19 @@
+package com.interview.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when the change feed is read from before its compacted deletions, answered with HTTP 410.
+ * The reader has to reload the contacts and follow the feed from its current position.
+ *
+ * @author    Mike Buschmeier
+ * @creation  18 October 2026
+ */
+@ResponseStatus(HttpStatus.GONE)
+public class ChangesExpiredException extends RuntimeException{
+
+    public ChangesExpiredException(long since, long purgedThrough){
+        super("Changes after " + since + " are no longer complete, deletions up to " + purgedThrough + " have been compacted");
+    }
+}
@@ -0,0 +1,17 @@
+package com.interview.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when a contact id does not exist, answered with HTTP 404
+ *
+ * @author    Mike Buschmeier
+ * @creation  17 October 2026
+ */
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class ContactNotFoundException extends RuntimeException{
+    public ContactNotFoundException(long id){
+        super("Contact " + id + " not found");
+    }
+}
@@ -0,0 +1,25 @@
+package com.interview.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when a contact would have the same match key as an existing one, answered with HTTP 409
+ *
+ * @author    Mike Buschmeier
+ * @creation  18 October 2026
+ */
+@ResponseStatus(HttpStatus.CONFLICT)
+public class DuplicateContactException extends RuntimeException{
+
+    private final long existingId;
+
+    public DuplicateContactException(long existingId){
+        super("Duplicate of contact " + existingId);
+        this.existingId = existingId;
+    }
+
+    public long getExistingId(){
+        return existingId;
+    }
+}
@@ -0,0 +1,17 @@
+package com.interview.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when resuming an import job that is still running, answered with HTTP 409
+ *
+ * @author    Mike Buschmeier
+ * @creation  17 October 2026
+ */
+@ResponseStatus(HttpStatus.CONFLICT)
+public class ImportInProgressException extends RuntimeException{
+    public ImportInProgressException(long id){
+        super("Import job " + id + " is still running");
+    }
+}
@@ -0,0 +1,17 @@
+package com.interview.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when a merge patch cannot be applied to a contact, answered with HTTP 400
+ *
+ * @author    Mike Buschmeier
+ * @creation  17 October 2026
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidPatchException extends RuntimeException{
+    public InvalidPatchException(String message){
+        super(message);
+    }
+}
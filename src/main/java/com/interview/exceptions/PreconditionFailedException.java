@@ -0,0 +1,18 @@
+package com.interview.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when an If-Match precondition no longer holds because the contact has changed
+ * since the client read it, answered with HTTP 412
+ *
+ * @author    Mike Buschmeier
+ * @creation  17 October 2026
+ */
+@ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+public class PreconditionFailedException extends RuntimeException{
+    public PreconditionFailedException(long id){
+        super("Contact " + id + " has been modified");
+    }
+}
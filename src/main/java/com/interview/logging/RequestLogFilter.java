@@ -0,0 +1,86 @@
+package com.interview.logging;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Structured request log: one JSON line per logged request with its method, path, route,
+ * status and duration.
+ *
+ * Only contacts.request-log.sample-rate of the requests are logged, plus every server error,
+ * so the log costs a fraction of a line per request under load. The decision is made after the
+ * response, before anything is formatted. Turn it off at runtime by setting this logger to WARN.
+ *
+ * @author Mike Buschmeier
+ * @creation 18 October 2026
+ */
+@Component
+public class RequestLogFilter extends OncePerRequestFilter
+{
+
+    private static final Logger log = LoggerFactory.getLogger(RequestLogFilter.class);
+    private static final String STARTED_ATTRIBUTE = RequestLogFilter.class.getName() + ".started";
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${contacts.request-log.sample-rate:0.01}")
+    private double sampleRate;
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch()
+    {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException
+    {
+        Long started = (Long) request.getAttribute(STARTED_ATTRIBUTE);
+        if (started == null) {
+            started = System.nanoTime();
+            request.setAttribute(STARTED_ATTRIBUTE, started);
+        }
+
+        chain.doFilter(request, response);
+
+        //Still waiting on the executor; the final async dispatch logs the whole request
+        if (isAsyncStarted(request) || !log.isInfoEnabled()) {
+            return;
+        }
+        int status = response.getStatus();
+        if (status < 500 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return;
+        }
+
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("method", request.getMethod());
+        entry.put("path", request.getRequestURI());
+        entry.put("route", request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE));
+        entry.put("status", status);
+        entry.put("durationMs", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        try {
+            log.info(objectMapper.writeValueAsString(entry));
+        } catch (JsonProcessingException e) {
+            log.warn("Could not write request log entry", e);
+        }
+    }
+}
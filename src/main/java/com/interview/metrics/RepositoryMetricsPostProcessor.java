@@ -0,0 +1,67 @@
+package com.interview.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.Advised;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Component;
+
+/**
+ * Times every call on the Spring Data repositories as contacts.repository, tagged with
+ * the repository, the method and whether it threw.
+ *
+ * @author Mike Buschmeier
+ * @creation 17 October 2026
+ */
+@Component
+public class RepositoryMetricsPostProcessor implements BeanPostProcessor
+{
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    //Looked up lazily so the registry is not created while post processors are still being registered
+    public RepositoryMetricsPostProcessor(ObjectProvider<MeterRegistry> meterRegistry)
+    {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName)
+    {
+        if (bean instanceof Repository && bean instanceof Advised) {
+            Advised repository = (Advised) bean;
+            String repositoryName = repositoryName(repository);
+            repository.addAdvice(0, (MethodInterceptor) invocation -> {
+                Timer.Sample sample = Timer.start();
+                String exception = "none";
+                try {
+                    return invocation.proceed();
+                } catch (Throwable e) {
+                    exception = e.getClass().getSimpleName();
+                    throw e;
+                } finally {
+                    sample.stop(Timer.builder("contacts.repository")
+                            .description("Spring Data repository calls")
+                            .tag("repository", repositoryName)
+                            .tag("method", invocation.getMethod().getName())
+                            .tag("exception", exception)
+                            .register(meterRegistry.getObject()));
+                }
+            });
+        }
+        return bean;
+    }
+
+    private static String repositoryName(Advised repository)
+    {
+        for (Class<?> type : repository.getProxiedInterfaces()) {
+            if (Repository.class.isAssignableFrom(type) && !type.getName().startsWith("org.springframework.")) {
+                return type.getSimpleName();
+            }
+        }
+        return "unknown";
+    }
+}
@@ -0,0 +1,78 @@
+package com.interview.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Records how many SQL statements each request ran, as the contacts.request.sql distribution
+ * and, with logging.level.com.interview.metrics.SqlCountFilter=DEBUG, one log line per request.
+ *
+ * Async requests are counted across their initial and final dispatch.
+ *
+ * @author Mike Buschmeier
+ * @creation 17 October 2026
+ */
+@Component
+public class SqlCountFilter extends OncePerRequestFilter
+{
+
+    private static final Logger log = LoggerFactory.getLogger(SqlCountFilter.class);
+    private static final String COUNT_ATTRIBUTE = SqlCountFilter.class.getName() + ".count";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch()
+    {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException
+    {
+        AtomicInteger count = (AtomicInteger) request.getAttribute(COUNT_ATTRIBUTE);
+        if (count == null) {
+            count = new AtomicInteger();
+            request.setAttribute(COUNT_ATTRIBUTE, count);
+        }
+
+        SqlStatementCounter.attach(count);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            SqlStatementCounter.detach();
+        }
+
+        //Still waiting on the executor; the final async dispatch records the total
+        if (isAsyncStarted(request)) {
+            return;
+        }
+        Object uri = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uriTag = uri == null ? "UNKNOWN" : uri.toString();
+        DistributionSummary.builder("contacts.request.sql")
+                .description("SQL statements executed per HTTP request")
+                .baseUnit("statements")
+                .tag("method", request.getMethod())
+                .tag("uri", uriTag)
+                .register(meterRegistry)
+                .record(count.get());
+        if (log.isDebugEnabled()) {
+            log.debug("{} {} executed {} SQL statements", request.getMethod(), request.getRequestURI(), count.get());
+        }
+    }
+}
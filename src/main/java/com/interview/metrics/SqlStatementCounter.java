@@ -0,0 +1,69 @@
+package com.interview.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counts the SQL statements Hibernate prepares on behalf of the current request.
+ *
+ * Registered as Hibernate's statement inspector; SqlCountFilter starts a count per request
+ * and the contact executor's task decorator carries it over to the thread doing the work.
+ * Statements run outside a request are not counted.
+ *
+ * @author Mike Buschmeier
+ * @creation 17 October 2026
+ */
+public class SqlStatementCounter implements StatementInspector
+{
+
+    private static final ThreadLocal<AtomicInteger> CURRENT = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql)
+    {
+        AtomicInteger count = CURRENT.get();
+        if (count != null) {
+            count.incrementAndGet();
+        }
+        return sql;
+    }
+
+    //The count the current thread is adding to, or null
+    public static AtomicInteger current()
+    {
+        return CURRENT.get();
+    }
+
+    public static void attach(AtomicInteger count)
+    {
+        if (count == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(count);
+        }
+    }
+
+    public static void detach()
+    {
+        CURRENT.remove();
+    }
+
+    //Wrap a task so it adds to the count of the thread submitting it
+    public static Runnable propagate(Runnable task)
+    {
+        AtomicInteger count = current();
+        if (count == null) {
+            return task;
+        }
+        return () -> {
+            AtomicInteger previous = current();
+            attach(count);
+            try {
+                task.run();
+            } finally {
+                attach(previous);
+            }
+        };
+    }
+}
@@ -0,0 +1,44 @@
+package com.interview.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+
+/**
+ * Counts rejected contact input as contacts.validation.failures, tagged by field.
+ *
+ * The entities are not Spring beans, so the counters live in Micrometer's global
+ * registry, which Spring Boot wires to the application's registry.
+ *
+ * @author Mike Buschmeier
+ * @creation 17 October 2026
+ */
+public final class ValidationMetrics
+{
+
+    private static final Counter EMAIL = counter("email");
+    private static final Counter PHONE = counter("phone");
+
+    private ValidationMetrics()
+    {
+    }
+
+    //IncorrectEmailFormatException
+    public static void emailRejected()
+    {
+        EMAIL.increment();
+    }
+
+    //IncorrectPhoneNumberFormatException
+    public static void phoneRejected()
+    {
+        PHONE.increment();
+    }
+
+    private static Counter counter(String field)
+    {
+        return Counter.builder("contacts.validation.failures")
+                .description("Contact fields rejected by format validation")
+                .tag("field", field)
+                .register(Metrics.globalRegistry);
+    }
+}
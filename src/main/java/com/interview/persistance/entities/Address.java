@@ -1,34 +1,23 @@
 package com.interview.persistance.entities;
 
-import javax.persistence.Entity;
-import javax.persistence.GeneratedValue;
-import javax.persistence.Id;
-import javax.persistence.OneToOne;
-import javax.persistence.FetchType;
+import javax.persistence.Embeddable;
 
 /**
- * Entity to store a standard Street/City/State/Zip address format
+ * Embeddable to store a standard Street/City/State/Zip address format, kept in the columns of its contact's row
  *
  * @author Mike Buschmeier
  * @creation 18 July 2020
  */
 
-@Entity
+@Embeddable
 public class Address
 {
 
-    @Id
-    @GeneratedValue
-    private Long id;
-
     private String street;
     private String city;
     private String state;
     private String zip;
 
-    @OneToOne(mappedBy = "address", fetch = FetchType.EAGER)
-    private Contact contacts;
-
     public Address()
     {
     }
@@ -0,0 +1,49 @@
+package com.interview.persistance.entities;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+/**
+ * The single row that orders the change feed. ContactChangeSequencer locks it while it numbers
+ * committed changes from it, so numbers follow the order changes were numbered in and a consumer
+ * that has read up to N never later finds a change below N.
+ *
+ * @author Mike Buschmeier
+ * @creation 18 October 2026
+ */
+@Entity
+@Table(name = "change_feed_state")
+public class ChangeFeedState
+{
+
+    public static final int ID = 1;
+
+    @Id
+    private Integer id;
+
+    private long lastSeq;
+
+    //Deletions up to here have been compacted away; reading from before it would miss them
+    private long purgedThrough;
+
+    public Integer getId()
+    {
+        return id;
+    }
+
+    public long getLastSeq()
+    {
+        return lastSeq;
+    }
+
+    public void setLastSeq(long lastSeq)
+    {
+        this.lastSeq = lastSeq;
+    }
+
+    public long getPurgedThrough()
+    {
+        return purgedThrough;
+    }
+}
@@ -1,17 +1,40 @@
 package com.interview.persistance.entities;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.interview.changes.ContactChangeListener;
+import com.interview.dedup.MatchKeys;
 import com.interview.exceptions.IncorrectEmailFormatException;
+import com.interview.metrics.ValidationMetrics;
+import com.interview.search.ContactIndexListener;
+import com.interview.service.ContactCacheListener;
+import com.interview.tenancy.TenantContext;
+import com.interview.validation.EmailFormat;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.Filter;
+import org.hibernate.annotations.FilterDef;
+import org.hibernate.annotations.ParamDef;
 import javax.persistence.Entity;
+import javax.persistence.EntityListeners;
 import javax.persistence.GeneratedValue;
 import javax.persistence.Id;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
-import javax.persistence.OneToOne;
+import javax.persistence.Embedded;
+import javax.persistence.AttributeOverride;
+import javax.persistence.AttributeOverrides;
+import javax.persistence.Column;
 import javax.persistence.JoinColumn;
-import javax.persistence.OneToMany;
+import javax.persistence.ElementCollection;
+import javax.persistence.CollectionTable;
+import javax.persistence.OrderColumn;
 import javax.persistence.GenerationType;
-import javax.persistence.CascadeType;
 import javax.persistence.FetchType;
+import javax.persistence.PrePersist;
+import javax.persistence.PreUpdate;
+import javax.persistence.Version;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -23,28 +46,65 @@ import java.util.List;
  */
 
 @Entity
+@DynamicUpdate
 @Table(name = "contacts")
+@FilterDef(name = TenantContext.FILTER, parameters = @ParamDef(name = TenantContext.FILTER_PARAMETER, type = "string"),
+        defaultCondition = "tenant_id = :" + TenantContext.FILTER_PARAMETER)
+@Filter(name = TenantContext.FILTER)
+@EntityListeners({ContactIndexListener.class, ContactChangeListener.class, ContactCacheListener.class})
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class Contact
 {
 
+    //Pooled sequence hands out ids 50 at a time so inserts can be JDBC batched
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "contact_seq")
+    @SequenceGenerator(name = "contact_seq", sequenceName = "contact_seq", allocationSize = 50)
     private Long id;
 
-    @OneToOne(cascade = CascadeType.ALL, fetch = FetchType.EAGER)
-    @JoinColumn(name = "name_id", referencedColumnName = "id")
+    //Name and address are columns of the contact's own row: no joins to read them and no ids to generate.
+    //A contact whose name or address columns are all null reads back with a null name or address.
+    @Embedded
+    @AttributeOverrides({
+            @AttributeOverride(name = "first", column = @Column(name = "first_name")),
+            @AttributeOverride(name = "middle", column = @Column(name = "middle_name")),
+            @AttributeOverride(name = "last", column = @Column(name = "last_name"))})
     private Name name;
 
-    @OneToOne(cascade = CascadeType.ALL, fetch = FetchType.EAGER)
-    @JoinColumn(name = "address_id", referencedColumnName = "id")
+    @Embedded
     private Address address;
 
-    @OneToMany(cascade = CascadeType.ALL, fetch = FetchType.EAGER)
+    //Phones for a page of contacts are loaded together instead of one select per contact.
+    //Stored as values in contact_phones keyed by (contact_id, position): no link table and no phone ids,
+    //and a changed phone is an update of its own row rather than a delete and re-insert of the list
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "contact_phones", joinColumns = @JoinColumn(name = "contact_id"))
+    @OrderColumn(name = "position")
+    @BatchSize(size = 100)
     private List<Phone> phone;
 
     private String email;
 
+    //Optimistic lock; bumped on every committed change, including phone changes, and exposed as the ETag
+    @Version
+    @JsonIgnore
+    private Long version;
+
+    @JsonIgnore
+    private Instant updatedAt;
+
+    //Owner of the contact, taken from the TenantContext when it is first saved; phones belong to the same tenant
+    @JsonIgnore
+    @Column(updatable = false)
+    private String tenantId;
+
+    //Duplicate detection, see MatchKeys: unique across a tenant's contacts, and the grouping for near-duplicates
+    @JsonIgnore
+    private String matchKey;
+
+    @JsonIgnore
+    private String nameKey;
+
     public Contact()
     {
     }
@@ -100,6 +160,50 @@ public class Contact
         this.phone.add(phone);
     }
 
+    public Long getVersion()
+    {
+        return version;
+    }
+
+    public Instant getUpdatedAt()
+    {
+        return updatedAt;
+    }
+
+    public String getTenantId()
+    {
+        return tenantId;
+    }
+
+    public String getMatchKey()
+    {
+        return matchKey;
+    }
+
+    public String getNameKey()
+    {
+        return nameKey;
+    }
+
+    //Called whenever the contact row is written, and directly when only its name, address or phones changed
+    //so that the version, and with it the ETag, still moves. The match keys follow the current values.
+    @PrePersist
+    @PreUpdate
+    public void markUpdated()
+    {
+        if (tenantId == null) {
+            tenantId = TenantContext.currentOrDefault();
+        }
+        updatedAt = Instant.now();
+        updateMatchKeys();
+    }
+
+    public void updateMatchKeys()
+    {
+        matchKey = MatchKeys.matchKey(this);
+        nameKey = MatchKeys.nameKey(name);
+    }
+
     public String getEmail()
     {
         return email;
@@ -110,15 +214,21 @@ public class Contact
         if (validateEmailFormat(email)) {
             this.email = email;
         } else {
+            ValidationMetrics.emailRejected();
             throw new IncorrectEmailFormatException("Incorrect e-mail format");
         }
 
     }
 
+    //Removes the e-mail, which setEmail would reject as badly formatted
+    public void clearEmail()
+    {
+        this.email = null;
+    }
+
     private boolean validateEmailFormat(String email)
     {
-        String validEmailFormat = "^[a-zA-Z0-9_.+-]+@[a-zA-Z0-9-]+\\.[a-zA-Z0-9-.]+$";
-        return email.matches(validEmailFormat);
+        return EmailFormat.isValid(email);
     }
 
 }
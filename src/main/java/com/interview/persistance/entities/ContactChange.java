@@ -0,0 +1,106 @@
+package com.interview.persistance.entities;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.interview.tenancy.TenantContext;
+import org.hibernate.annotations.Filter;
+
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
+import java.time.Instant;
+
+/**
+ * One entry of the change feed: a contact was created, updated or deleted in a committed
+ * transaction, numbered seq by ContactChangeSequencer. Carries the contact's id and version,
+ * not its data; consumers load the contacts they care about.
+ *
+ * @author Mike Buschmeier
+ * @creation 18 October 2026
+ */
+@Entity
+@Table(name = "contact_changes")
+@Filter(name = TenantContext.FILTER)
+public class ContactChange
+{
+
+    public enum Type
+    {
+        created, updated, deleted
+    }
+
+    //Pooled like the contacts' ids, so a transaction's changes are inserted in one batch
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "contact_change_seq")
+    @SequenceGenerator(name = "contact_change_seq", sequenceName = "contact_change_seq", allocationSize = 50)
+    private Long id;
+
+    //Null until the change has committed and ContactChangeSequencer numbered it
+    private Long seq;
+
+    private long contactId;
+
+    //The contact's tenant, whose feed this change is in
+    private String tenantId;
+
+    @Enumerated(EnumType.STRING)
+    private Type type;
+
+    private Long version;
+
+    private Instant changedAt;
+
+    public ContactChange()
+    {
+    }
+
+    public ContactChange(long contactId, String tenantId, Type type, Long version, Instant changedAt)
+    {
+        this.contactId = contactId;
+        this.tenantId = tenantId;
+        this.type = type;
+        this.version = version;
+        this.changedAt = changedAt;
+    }
+
+    public Long getSeq()
+    {
+        return seq;
+    }
+
+    public void number(long seq)
+    {
+        this.seq = seq;
+    }
+
+    public long getContactId()
+    {
+        return contactId;
+    }
+
+    //Not sent: clients only ever read their own tenant's feed
+    @JsonIgnore
+    public String getTenantId()
+    {
+        return tenantId;
+    }
+
+    public Type getType()
+    {
+        return type;
+    }
+
+    public Long getVersion()
+    {
+        return version;
+    }
+
+    public Instant getChangedAt()
+    {
+        return changedAt;
+    }
+}
@@ -0,0 +1,200 @@
+package com.interview.persistance.entities;
+
+import com.interview.bulk.BulkFormat;
+import com.interview.tenancy.TenantContext;
+import org.hibernate.annotations.Filter;
+
+import javax.persistence.CollectionTable;
+import javax.persistence.Column;
+import javax.persistence.ElementCollection;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.FetchType;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.JoinColumn;
+import javax.persistence.OrderColumn;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Progress of one bulk import, checkpointed in the same transaction as each chunk of
+ * contacts it commits. processed is therefore always the number of input records whose
+ * outcome is durable, and a failed import resumes by skipping that many records.
+ *
+ * @author Mike Buschmeier
+ * @creation 17 October 2026
+ */
+@Entity
+@Table(name = "import_jobs")
+@Filter(name = TenantContext.FILTER)
+public class ImportJob
+{
+
+    //Only the first rejections are kept; the count covers all of them
+    public static final int MAX_REJECTIONS = 100;
+
+    public enum Status
+    {
+        running, completed, failed
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "import_job_seq")
+    @SequenceGenerator(name = "import_job_seq", sequenceName = "import_job_seq", allocationSize = 1)
+    private Long id;
+
+    //The tenant importing, who alone can look the job up
+    @Column(updatable = false)
+    private String tenantId;
+
+    private String source;
+
+    @Enumerated(EnumType.STRING)
+    private BulkFormat format;
+
+    @Enumerated(EnumType.STRING)
+    private Status status;
+
+    private long processed;
+    private long imported;
+    private long rejected;
+    private String error;
+
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "import_job_rejections", joinColumns = @JoinColumn(name = "job_id"))
+    @OrderColumn(name = "position")
+    private List<ImportRejection> rejections = new ArrayList<>();
+
+    private Instant createdAt;
+
+    //Start of the latest run and the records already done before it, for its throughput
+    private Instant startedAt;
+    private long resumedFrom;
+    private Instant updatedAt;
+
+    public ImportJob()
+    {
+    }
+
+    public ImportJob(String source, BulkFormat format)
+    {
+        this.tenantId = TenantContext.currentOrDefault();
+        this.source = source;
+        this.format = format;
+        this.createdAt = Instant.now();
+    }
+
+    public Long getId()
+    {
+        return id;
+    }
+
+    public String getSource()
+    {
+        return source;
+    }
+
+    public BulkFormat getFormat()
+    {
+        return format;
+    }
+
+    public Status getStatus()
+    {
+        return status;
+    }
+
+    public long getProcessed()
+    {
+        return processed;
+    }
+
+    public long getImported()
+    {
+        return imported;
+    }
+
+    public long getRejected()
+    {
+        return rejected;
+    }
+
+    public String getError()
+    {
+        return error;
+    }
+
+    public List<ImportRejection> getRejections()
+    {
+        return rejections;
+    }
+
+    public Instant getCreatedAt()
+    {
+        return createdAt;
+    }
+
+    public Instant getStartedAt()
+    {
+        return startedAt;
+    }
+
+    public Instant getUpdatedAt()
+    {
+        return updatedAt;
+    }
+
+    //Records per second over the latest run
+    public long getRecordsPerSecond()
+    {
+        if (startedAt == null || updatedAt == null) {
+            return 0;
+        }
+        long millis = Math.max(1, Duration.between(startedAt, updatedAt).toMillis());
+        return (processed - resumedFrom) * 1000 / millis;
+    }
+
+    public void start()
+    {
+        status = Status.running;
+        error = null;
+        startedAt = Instant.now();
+        updatedAt = startedAt;
+        resumedFrom = processed;
+    }
+
+    //Record one committed chunk
+    public void advance(int records, int imported, List<ImportRejection> rejections)
+    {
+        this.processed += records;
+        this.imported += imported;
+        this.rejected += rejections.size();
+        for (ImportRejection rejection : rejections) {
+            if (this.rejections.size() >= MAX_REJECTIONS) {
+                break;
+            }
+            this.rejections.add(rejection);
+        }
+        updatedAt = Instant.now();
+    }
+
+    public void complete()
+    {
+        status = Status.completed;
+        updatedAt = Instant.now();
+    }
+
+    public void fail(String error)
+    {
+        status = Status.failed;
+        this.error = error;
+        updatedAt = Instant.now();
+    }
+}
@@ -0,0 +1,37 @@
+package com.interview.persistance.entities;
+
+import javax.persistence.Embeddable;
+
+/**
+ * An input record an import skipped and why. Records are numbered from 1, not counting a CSV header.
+ *
+ * @author Mike Buschmeier
+ * @creation 17 October 2026
+ */
+@Embeddable
+public class ImportRejection
+{
+
+    private long record;
+    private String error;
+
+    public ImportRejection()
+    {
+    }
+
+    public ImportRejection(long record, String error)
+    {
+        this.record = record;
+        this.error = error;
+    }
+
+    public long getRecord()
+    {
+        return record;
+    }
+
+    public String getError()
+    {
+        return error;
+    }
+}
@@ -1,32 +1,22 @@
 package com.interview.persistance.entities;
 
-import javax.persistence.Entity;
-import javax.persistence.GeneratedValue;
-import javax.persistence.Id;
-import javax.persistence.OneToOne;
-import javax.persistence.FetchType;
+import javax.persistence.Embeddable;
 
 /**
- * Entity to store a name
+ * Embeddable to store a name, kept in the columns of its contact's row
  *
  * @author Mike Buschmeier
  * @creation 18 July 2020
  */
 
-@Entity
+@Embeddable
 public class Name
 {
 
-    @Id
-    @GeneratedValue
-    private Long id;
     private String first;
     private String middle;
     private String last;
 
-    @OneToOne(mappedBy = "name", fetch = FetchType.EAGER)
-    private Contact contacts;
-
     public Name()
     {
     }
@@ -1,33 +1,25 @@
 package com.interview.persistance.entities;
 
 import com.interview.exceptions.IncorrectPhoneNumberFormatException;
+import com.interview.metrics.ValidationMetrics;
+import com.interview.validation.PhoneNumberFormat;
 
-import javax.persistence.Entity;
-import javax.persistence.GeneratedValue;
-import javax.persistence.Id;
-import javax.persistence.Transient;
+import javax.persistence.Embeddable;
 
 /**
- * Entity to handle a 10 digit USA formatted (XXX-XXX-XXXX) phone number
+ * Embeddable to handle a 10 digit USA formatted (XXX-XXX-XXXX) phone number.
+ * Phones are values owned by their contact and stored in its contact_phones rows.
  *
  * @author Mike Buschmeier
  * @creation 18 July 2020
  */
-@Entity
+@Embeddable
 public class Phone
 {
 
-    @Id
-    @GeneratedValue
-    private Long id;
     private String number;
     private Type type;
 
-    //Simple validation looking for a numerical 123-123-1234 sequence
-    //Ideally this would be in a validation package or 3rd party library if possible
-    @Transient
-    private String validNumberFormat = "\\d{3}-\\d{3}-\\d{4}";
-
     public enum Type
     {
         home, work, mobile
@@ -56,6 +48,7 @@ public class Phone
             /*NOTE TO SINGLESTONE
                 Ideally all messages would be contained in a lexicon or properties file. I opted not to use a properties file in the interest of time on this exercise.
              */
+            ValidationMetrics.phoneRejected();
             String errorMessage = number + " is not valid. Valid phone numbers need to be XXX-XXX-XXXX";
             throw new IncorrectPhoneNumberFormatException(errorMessage);
         }
@@ -71,8 +64,9 @@ public class Phone
         this.type = type;
     }
 
+    //Simple validation looking for a numerical 123-123-1234 sequence
     private boolean validateFormat(String number)
     {
-        return number.matches(validNumberFormat);
+        return PhoneNumberFormat.isValid(number);
     }
 }
@@ -0,0 +1,178 @@
+package com.interview.ratelimit;
+
+import com.interview.config.RateLimitConfig;
+import com.interview.tenancy.TenantContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Rate limiting and load shedding for the /contacts end points.
+ *
+ * Each request is charged to one RequestBudget: the full list, export and import to the
+ * stricter expensive budget, the change feed to its own, everything else to the default one.
+ * A client over its rate gets 429, and a request finding all of its budget's slots taken gets
+ * 503, both at once and with Retry-After, instead of waiting for the database. Clients are told
+ * apart by contacts.rate-limit.client-header when one is configured (e.g. an API key set by a
+ * gateway), by their address otherwise. Only when the tenant header can be trusted
+ * (contacts.tenancy.trusted, on by default with contacts.tenancy.required) are they told apart
+ * by tenant as well, so one tenant's clients never use up another's; a header clients may set
+ * freely would otherwise give them a fresh budget for every tenant id they make up.
+ *
+ * Runs after Spring Boot's request metrics filter, so refused requests show up in
+ * http.server.requests as well.
+ *
+ * @author Mike Buschmeier
+ * @creation 18 October 2026
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@ConditionalOnProperty(name = "contacts.rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitFilter extends OncePerRequestFilter
+{
+
+    @Autowired
+    @Qualifier(RateLimitConfig.DEFAULT_BUDGET)
+    private RequestBudget defaultBudget;
+
+    @Autowired
+    @Qualifier(RateLimitConfig.EXPENSIVE_BUDGET)
+    private RequestBudget expensiveBudget;
+
+    @Autowired
+    @Qualifier(RateLimitConfig.FEED_BUDGET)
+    private RequestBudget feedBudget;
+
+    @Value("${contacts.rate-limit.client-header:}")
+    private String clientHeader;
+
+    @Value("${contacts.tenancy.trusted:${contacts.tenancy.required:false}}")
+    private boolean tenantTrusted;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request)
+    {
+        String path = pathOf(request);
+        return !path.equals("/contacts") && !path.startsWith("/contacts/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException
+    {
+        RequestBudget budget = budgetOf(request);
+        long wait = budget.tryAcquire(clientOf(request), System.nanoTime());
+        if (wait > 0) {
+            refuse(response, HttpStatus.TOO_MANY_REQUESTS, TimeUnit.NANOSECONDS.toSeconds(wait) + 1,
+                    "Too many requests, try again later");
+            return;
+        }
+        if (!budget.tryEnter()) {
+            refuse(response, HttpStatus.SERVICE_UNAVAILABLE, 1, "Too many requests in progress, try again later");
+            return;
+        }
+
+        boolean async = false;
+        try {
+            chain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ExitOnComplete(budget));
+                async = true;
+            }
+        } finally {
+            if (!async) {
+                budget.exit();
+            }
+        }
+    }
+
+    private RequestBudget budgetOf(HttpServletRequest request)
+    {
+        String path = pathOf(request);
+        String method = request.getMethod();
+        if (path.equals("/contacts/changes")) {
+            return feedBudget;
+        }
+        if ((HttpMethod.GET.matches(method) && (path.equals("/contacts") || path.equals("/contacts/export")))
+                || (HttpMethod.POST.matches(method) && path.equals("/contacts/import"))) {
+            return expensiveBudget;
+        }
+        return defaultBudget;
+    }
+
+    private static String pathOf(HttpServletRequest request)
+    {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    private String clientOf(HttpServletRequest request)
+    {
+        String client = request.getRemoteAddr();
+        if (!clientHeader.isEmpty()) {
+            String header = request.getHeader(clientHeader);
+            if (header != null && !header.isEmpty()) {
+                client = header;
+            }
+        }
+        return tenantTrusted ? TenantContext.currentOrDefault() + "/" + client : client;
+    }
+
+    private void refuse(HttpServletResponse response, HttpStatus status, long retryAfterSeconds, String message) throws IOException
+    {
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.sendError(status.value(), message);
+    }
+
+    //Gives the slot back once an async request has been answered, however it ended
+    private static final class ExitOnComplete implements AsyncListener
+    {
+        private final RequestBudget budget;
+        private final AtomicBoolean exited = new AtomicBoolean();
+
+        private ExitOnComplete(RequestBudget budget)
+        {
+            this.budget = budget;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event)
+        {
+            if (exited.compareAndSet(false, true)) {
+                budget.exit();
+            }
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event)
+        {
+        }
+
+        @Override
+        public void onError(AsyncEvent event)
+        {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event)
+        {
+        }
+    }
+}
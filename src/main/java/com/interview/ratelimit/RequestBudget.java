@@ -0,0 +1,117 @@
+package com.interview.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The request budget of one class of end points: a rate per client and a limit on the
+ * requests of all clients in progress at once.
+ *
+ * The rate is a token bucket kept as one number per client, the time its bucket will be full
+ * again (the generic cell rate algorithm). A request moves that time on by one interval, with
+ * a single compare-and-set, and is refused when it would end up more than burst intervals
+ * ahead. Clients are kept in a size bounded Caffeine cache and dropped once idle; an idle
+ * client's bucket is full anyway.
+ *
+ * @author Mike Buschmeier
+ * @creation 18 October 2026
+ */
+public final class RequestBudget
+{
+
+    private final String name;
+    private final long interval;
+    private final long burstTolerance;
+    private final int maxConcurrent;
+    private final Cache<String, AtomicLong> clients;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final Counter allowed;
+    private final Counter throttled;
+    private final Counter shed;
+
+    public RequestBudget(String name, double ratePerSecond, int burst, int maxConcurrent, long maxClients, MeterRegistry meterRegistry)
+    {
+        this.name = name;
+        this.interval = (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond);
+        this.burstTolerance = interval * Math.max(0, burst - 1);
+        this.maxConcurrent = maxConcurrent;
+        this.clients = Caffeine.newBuilder()
+                .maximumSize(maxClients)
+                .expireAfterAccess(Duration.ofNanos(Math.max(interval + burstTolerance, TimeUnit.SECONDS.toNanos(60))))
+                .build();
+
+        allowed = counter(meterRegistry, "allowed");
+        throttled = counter(meterRegistry, "throttled");
+        shed = counter(meterRegistry, "shed");
+        Gauge.builder("contacts.rate-limit.in-flight", inFlight, AtomicInteger::get)
+                .description("Requests in progress")
+                .tag("budget", name)
+                .register(meterRegistry);
+        Gauge.builder("contacts.rate-limit.clients", clients, Cache::estimatedSize)
+                .description("Clients with a rate limit bucket")
+                .tag("budget", name)
+                .register(meterRegistry);
+    }
+
+    public String getName()
+    {
+        return name;
+    }
+
+    //Nanoseconds until the client may try again; 0 when the request is within the client's rate
+    public long tryAcquire(String client, long now)
+    {
+        AtomicLong fullAt = clients.get(client, key -> new AtomicLong(now));
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, now) + interval;
+            long wait = next - now - interval - burstTolerance;
+            if (wait > 0) {
+                throttled.increment();
+                return wait;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    //Takes one of the budget's concurrent slots, or refuses at once when all are taken
+    public boolean tryEnter()
+    {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= maxConcurrent) {
+                shed.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                allowed.increment();
+                return true;
+            }
+        }
+    }
+
+    public void exit()
+    {
+        inFlight.decrementAndGet();
+    }
+
+    private Counter counter(MeterRegistry meterRegistry, String outcome)
+    {
+        return Counter.builder("contacts.rate-limit.requests")
+                .description("Requests by rate limit outcome")
+                .tag("budget", name)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,66 @@
+package com.interview.repositories;
+
+import com.interview.persistance.entities.ContactChange;
+import com.interview.persistance.entities.ChangeFeedState;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.LockModeType;
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+@Transactional(readOnly = true)
+public interface ContactChangeRepository extends JpaRepository<ContactChange, Long> {
+
+    //Keyset page of the feed: the changes committed after the given sequence number, in order
+    List<ContactChange> findBySeqGreaterThanOrderBySeqAsc(long seq, Pageable pageable);
+
+    @Query("select s from ChangeFeedState s where s.id = " + ChangeFeedState.ID)
+    ChangeFeedState findState();
+
+    //Moves whenever a contact of the current tenant is written; one statement, so both parts are read together
+    @Query("select s.lastSeq as lastSeq, (select count(c) from ContactChange c where c.seq is null) as unnumbered"
+            + " from ChangeFeedState s where s.id = " + ChangeFeedState.ID)
+    ContactListVersion findListVersion();
+
+    //Held by ContactChangeSequencer while it numbers changes, so runs on different instances take turns
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from ChangeFeedState s where s.id = " + ChangeFeedState.ID)
+    ChangeFeedState lockState();
+
+    //Committed changes that have no sequence number yet, oldest first
+    List<ContactChange> findBySeqIsNullOrderByChangedAtAscIdAsc(Pageable pageable);
+
+    boolean existsBySeqIsNull();
+
+    @Query("select min(c.seq) from ContactChange c")
+    Long findFirstSeq();
+
+    //Changes in (from, to] that a later change of the same contact supersedes
+    @Modifying
+    @Transactional
+    @Query("delete from ContactChange c where c.seq > :from and c.seq <= :to"
+            + " and exists (select n.seq from ContactChange n where n.contactId = c.contactId and n.seq > c.seq)")
+    int deleteSuperseded(@Param("from") long from, @Param("to") long to);
+
+    //Latest change of the given type recorded before the given time
+    @Query("select max(c.seq) from ContactChange c where c.type = :type and c.changedAt < :before")
+    Long findLastSeqBefore(@Param("type") ContactChange.Type type, @Param("before") Instant before);
+
+    @Modifying
+    @Transactional
+    @Query("delete from ContactChange c where c.type = :type and c.seq > :from and c.seq <= :to")
+    int deleteByType(@Param("type") ContactChange.Type type, @Param("from") long from, @Param("to") long to);
+
+    @Modifying
+    @Transactional
+    @Query("update ChangeFeedState s set s.purgedThrough = :seq where s.id = " + ChangeFeedState.ID + " and s.purgedThrough < :seq")
+    int advancePurgedThrough(@Param("seq") long seq);
+}
@@ -0,0 +1,99 @@
+package com.interview.repositories;
+
+import com.interview.persistance.entities.Phone;
+
+/**
+ * One flattened contact and phone pair, read as plain column values so no entities are
+ * built or tracked. A contact with several phones spans consecutive rows; one without
+ * phones has a single row with a null phone.
+ *
+ * @author Mike Buschmeier
+ * @creation 17 October 2026
+ */
+public class ContactExportRow
+{
+
+    private final long id;
+    private final String first;
+    private final String middle;
+    private final String last;
+    private final String street;
+    private final String city;
+    private final String state;
+    private final String zip;
+    private final String email;
+    private final Phone.Type phoneType;
+    private final String phoneNumber;
+
+    public ContactExportRow(long id, String first, String middle, String last,
+                            String street, String city, String state, String zip,
+                            String email, Phone.Type phoneType, String phoneNumber)
+    {
+        this.id = id;
+        this.first = first;
+        this.middle = middle;
+        this.last = last;
+        this.street = street;
+        this.city = city;
+        this.state = state;
+        this.zip = zip;
+        this.email = email;
+        this.phoneType = phoneType;
+        this.phoneNumber = phoneNumber;
+    }
+
+    public long getId()
+    {
+        return id;
+    }
+
+    public String getFirst()
+    {
+        return first;
+    }
+
+    public String getMiddle()
+    {
+        return middle;
+    }
+
+    public String getLast()
+    {
+        return last;
+    }
+
+    public String getStreet()
+    {
+        return street;
+    }
+
+    public String getCity()
+    {
+        return city;
+    }
+
+    public String getState()
+    {
+        return state;
+    }
+
+    public String getZip()
+    {
+        return zip;
+    }
+
+    public String getEmail()
+    {
+        return email;
+    }
+
+    public Phone.Type getPhoneType()
+    {
+        return phoneType;
+    }
+
+    public String getPhoneNumber()
+    {
+        return phoneNumber;
+    }
+}
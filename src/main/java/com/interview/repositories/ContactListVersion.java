@@ -0,0 +1,22 @@
+package com.interview.repositories;
+
+/**
+ * Position of the change feed, which moves whenever any contact is created, updated or
+ * deleted, so the contact list can be validated without loading it.
+ *
+ * lastSeq only ever grows, and is taken from the feed's state row rather than from the changes,
+ * which compaction removes. Changes committed but not numbered yet (usually by another instance)
+ * are counted in unnumbered, which only grows until the feed numbers them and lastSeq moves on.
+ * Together they never come back to an earlier value, unlike a count, maximum id and sum of
+ * versions, which different lists can share.
+ *
+ * @author Mike Buschmeier
+ * @creation 17 October 2026
+ */
+public interface ContactListVersion
+{
+
+    long getLastSeq();
+
+    long getUnnumbered();
+}
@@ -0,0 +1,16 @@
+package com.interview.repositories;
+
+/**
+ * A stored contact's match key and id, for telling which contact a new one duplicates
+ * without loading it.
+ *
+ * @author Mike Buschmeier
+ * @creation 18 October 2026
+ */
+public interface ContactMatch
+{
+
+    String getMatchKey();
+
+    Long getId();
+}
@@ -1,10 +1,94 @@
 package com.interview.repositories;
 
 import com.interview.persistance.entities.Contact;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
-        import org.springframework.stereotype.Repository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+//Query methods run in a transaction, which gives their session the tenant filter (TenantTransactionManager)
 @Repository
+@Transactional(readOnly = true)
 public interface ContactRepository extends JpaRepository<Contact, Long> {
 
-}
\ No newline at end of file
+    //A query rather than a load by id, which the tenant filter would not apply to.
+    //Phones are joined in, as the load by id did
+    @Override
+    @EntityGraph(attributePaths = {"phone"})
+    @Query("select c from Contact c where c.id = :id")
+    Optional<Contact> findById(@Param("id") Long id);
+
+    //Whole aggregate (contact row and phones) for every contact in a single select
+    @EntityGraph(attributePaths = {"phone"})
+    @Query("select distinct c from Contact c order by c.id")
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_PASS_DISTINCT_THROUGH, value = "false"))
+    List<Contact> findAllWithDetails();
+
+    //Whole aggregate for the given contacts in a single select, in id order
+    @EntityGraph(attributePaths = {"phone"})
+    @Query("select distinct c from Contact c where c.id in :ids order by c.id")
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_PASS_DISTINCT_THROUGH, value = "false"))
+    List<Contact> findAllWithDetailsByIdIn(@Param("ids") Collection<Long> ids);
+
+    //Whole aggregate for a single contact in a single select
+    @EntityGraph(attributePaths = {"phone"})
+    Optional<Contact> findWithDetailsById(Long id);
+
+    //Tenants with contacts; a scan of the index leading on tenant_id
+    @Query("select distinct c.tenantId from Contact c order by c.tenantId")
+    List<String> findTenantIds();
+
+    //Every contact flattened to column values, read through a forward-only cursor. Must be consumed inside a transaction and closed.
+    @Query("select new com.interview.repositories.ContactExportRow(c.id, c.name.first, c.name.middle, c.name.last,"
+            + " c.address.street, c.address.city, c.address.state, c.address.zip, c.email, p.type, p.number)"
+            + " from Contact c left join c.phone p order by c.id, index(p)")
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<ContactExportRow> streamExportRows();
+
+    //Keyset page: the next contacts after the given id, in id order.
+    //Phones keep their eager mapping and are batch fetched, so the row limit is applied by the database.
+    List<Contact> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    //Ids of the contacts holding any of the given match keys. Does not flush pending changes first,
+    //so it can check a change for duplicates before that change is written.
+    @Query("select c.matchKey as matchKey, c.id as id from Contact c where c.matchKey in :keys")
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FLUSH_MODE, value = "COMMIT"))
+    List<ContactMatch> findMatches(@Param("keys") Collection<String> keys);
+
+    //Match key to id of the contact holding it, for the given keys that are taken
+    default Map<String, Long> findIdsByMatchKey(Collection<String> keys)
+    {
+        Map<String, Long> ids = new HashMap<>();
+        if (!keys.isEmpty()) {
+            for (ContactMatch match : findMatches(keys)) {
+                ids.put(match.getMatchKey(), match.getId());
+            }
+        }
+        return ids;
+    }
+
+    //Contacts written before match keys existed, oldest first
+    List<Contact> findByMatchKeyIsNullOrderByIdAsc(Pageable pageable);
+
+    //Keyset page of the name keys more than one contact shares
+    @Query("select c.nameKey from Contact c where c.nameKey > :after group by c.nameKey having count(c) > 1 order by c.nameKey")
+    List<String> findSharedNameKeys(@Param("after") String after, Pageable pageable);
+
+    //Whole aggregates of the contacts with the given name keys, in id order
+    @EntityGraph(attributePaths = {"phone"})
+    @Query("select distinct c from Contact c where c.nameKey in :keys order by c.id")
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_PASS_DISTINCT_THROUGH, value = "false"))
+    List<Contact> findAllWithDetailsByNameKeyIn(@Param("keys") Collection<String> keys);
+}
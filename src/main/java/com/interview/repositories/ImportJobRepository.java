@@ -0,0 +1,20 @@
+package com.interview.repositories;
+
+import com.interview.persistance.entities.ImportJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+@Repository
+@Transactional(readOnly = true)
+public interface ImportJobRepository extends JpaRepository<ImportJob, Long> {
+
+    //A query rather than a load by id, so a tenant only finds its own jobs
+    @Override
+    @Query("select j from ImportJob j where j.id = :id")
+    Optional<ImportJob> findById(@Param("id") Long id);
+}
@@ -0,0 +1,68 @@
+package com.interview.search;
+
+import com.interview.persistance.entities.Contact;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+
+/**
+ * JPA entity listener that keeps the search indexes in step with every contact write,
+ * whichever code path made it. Changes are applied only once the transaction commits,
+ * so rolled back writes never show up in search results. Commits can run their callbacks out
+ * of order, so each document carries the contact's version and the index keeps the newest;
+ * writes made by other instances reach it through the change feed, see ContactSearchIndexLoader.
+ *
+ * Hibernate creates it while building the EntityManagerFactory, which with deferred repository
+ * bootstrap happens on a background thread. The indexes are therefore looked up on first use:
+ * resolving it then would wait for the bean factory lock the starting main thread holds.
+ *
+ * @author Mike Buschmeier
+ * @creation 17 October 2026
+ */
+@Component
+public class ContactIndexListener
+{
+
+    @Autowired
+    private ObjectProvider<TenantSearchIndexes> searchIndexes;
+
+    @PostPersist
+    @PostUpdate
+    public void contactSaved(Contact contact)
+    {
+        //Extract the terms now; the entity may change again before the commit
+        ContactSearchIndex.Document document = ContactSearchIndex.documentOf(contact);
+        long id = contact.getId();
+        String tenant = contact.getTenantId();
+        afterCommit(() -> searchIndexes.getObject().index(tenant, id, document));
+    }
+
+    @PostRemove
+    public void contactRemoved(Contact contact)
+    {
+        long id = contact.getId();
+        String tenant = contact.getTenantId();
+        afterCommit(() -> searchIndexes.getObject().remove(tenant, id));
+    }
+
+    private void afterCommit(Runnable action)
+    {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit()
+                {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
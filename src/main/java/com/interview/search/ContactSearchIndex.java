@@ -0,0 +1,462 @@
+package com.interview.search;
+
+import com.interview.persistance.entities.Address;
+import com.interview.persistance.entities.Contact;
+import com.interview.persistance.entities.Name;
+import com.interview.persistance.entities.Phone;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over contact names, e-mails, addresses and phone numbers.
+ *
+ * Each field keeps a sorted term dictionary mapping to the ids of the contacts containing that
+ * term, so prefix lookups are a dictionary range scan and fuzzy lookups only compare terms that
+ * share a first letter. Multi-word queries match contacts containing every word. Results are
+ * returned in id order from a keyset position, so paging never materializes the full result set.
+ * Each tenant has an index of its own, see TenantSearchIndexes.
+ *
+ * Writes reach the index from several places in no particular order: commits on this instance,
+ * the startup load and the change feed. Each document carries the version of the contact it was
+ * taken from, and one older than the document indexed is ignored. Removed ids are remembered
+ * until the change feed reports the deletion, so a late copy of a deleted contact is ignored too.
+ *
+ * @author Mike Buschmeier
+ * @creation 17 October 2026
+ */
+public class ContactSearchIndex
+{
+
+    public enum Field
+    {
+        name, email, address, phone
+    }
+
+    //Ids pulled from the driving word per round when intersecting multi-word queries
+    private static final int BLOCK_SIZE = 256;
+
+    private static final int LOCAL_NUMBER_LENGTH = 7;
+
+    private final Map<Field, NavigableMap<String, PostingList>> terms = new EnumMap<>(Field.class);
+    private final Map<Long, Document> documents = new HashMap<>();
+    private final Set<Long> removed = new HashSet<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public ContactSearchIndex()
+    {
+        for (Field field : Field.values()) {
+            terms.put(field, new TreeMap<>());
+        }
+    }
+
+    //Add or replace the terms of one contact
+    public void index(long id, Contact contact)
+    {
+        index(id, documentOf(contact));
+    }
+
+    //Ignored when the contact has been removed, or indexed at a later version
+    public void index(long id, Document document)
+    {
+        lock.writeLock().lock();
+        try {
+            Document indexed = documents.get(id);
+            if (removed.contains(id) || (indexed != null && indexed.version > document.version)) {
+                return;
+            }
+            removeDocument(id);
+            for (Field field : Field.values()) {
+                String[] fieldTerms = document.terms[field.ordinal()];
+                NavigableMap<String, PostingList> dictionary = terms.get(field);
+                for (int i = 0; i < fieldTerms.length; i++) {
+                    PostingList postings = dictionary.get(fieldTerms[i]);
+                    if (postings == null) {
+                        postings = new PostingList();
+                        dictionary.put(fieldTerms[i], postings);
+                    } else {
+                        //Share the dictionary's copy of the term instead of keeping a duplicate per contact
+                        fieldTerms[i] = dictionary.ceilingKey(fieldTerms[i]);
+                    }
+                    postings.add(id);
+                }
+            }
+            documents.put(id, document);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    //Terms of a contact, extracted up front so they can be applied to the index later
+    public static Document documentOf(Contact contact)
+    {
+        String[][] terms = new String[Field.values().length][];
+        terms[Field.name.ordinal()] = nameTerms(contact.getName());
+        terms[Field.email.ordinal()] = emailTerms(contact.getEmail());
+        terms[Field.address.ordinal()] = addressTerms(contact.getAddress());
+        terms[Field.phone.ordinal()] = phoneTerms(contact.getPhone());
+        return new Document(terms, contact.getVersion() == null ? 0 : contact.getVersion());
+    }
+
+    public void remove(long id)
+    {
+        lock.writeLock().lock();
+        try {
+            removeDocument(id);
+            removed.add(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove a contact whose deletion the change feed has reported, and forget it was removed.
+     * The copies a deletion races with are those committed on this instance just before it, indexed
+     * right after their commits, and those of the startup load; both have arrived by the time the
+     * feed, read from where the load started, reports the deletion.
+     */
+    public void forget(long id)
+    {
+        lock.writeLock().lock();
+        try {
+            removeDocument(id);
+            removed.remove(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    //Whether the contact is indexed at the given version or a later one, or has been removed
+    public boolean isCurrent(long id, long version)
+    {
+        lock.readLock().lock();
+        try {
+            Document indexed = documents.get(id);
+            return removed.contains(id) || (indexed != null && indexed.version >= version);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size()
+    {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of contacts matching every word of the query, in ascending order, starting after afterId.
+     *
+     * @param field restrict matching to one field, or null for all fields
+     * @param fuzzy also match terms within a small edit distance of each word
+     */
+    public List<Long> search(String query, Field field, boolean fuzzy, long afterId, int limit)
+    {
+        List<String> words = queryWords(query, field);
+        List<Long> results = new ArrayList<>();
+        if (words.isEmpty() || limit <= 0) {
+            return results;
+        }
+
+        lock.readLock().lock();
+        try {
+            List<List<PostingList>> matches = new ArrayList<>();
+            for (String word : words) {
+                List<PostingList> wordMatches = matchingPostings(word, field, fuzzy);
+                if (wordMatches.isEmpty()) {
+                    return results;
+                }
+                matches.add(wordMatches);
+            }
+
+            //Walk the word with the fewest postings and check the others for each candidate
+            List<PostingList> driver = matches.get(0);
+            for (List<PostingList> wordMatches : matches) {
+                if (totalSize(wordMatches) < totalSize(driver)) {
+                    driver = wordMatches;
+                }
+            }
+            matches.remove(driver);
+
+            long position = afterId;
+            while (results.size() < limit) {
+                long[] block = mergeAfter(driver, position, matches.isEmpty() ? limit - results.size() : BLOCK_SIZE);
+                if (block.length == 0) {
+                    break;
+                }
+                for (long id : block) {
+                    if (containsInAll(matches, id)) {
+                        results.add(id);
+                        if (results.size() == limit) {
+                            break;
+                        }
+                    }
+                }
+                position = block[block.length - 1];
+            }
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public static final class Document
+    {
+
+        private final String[][] terms;
+        private final long version;
+
+        private Document(String[][] terms, long version)
+        {
+            this.terms = terms;
+            this.version = version;
+        }
+    }
+
+    private void removeDocument(long id)
+    {
+        Document document = documents.remove(id);
+        if (document == null) {
+            return;
+        }
+        for (Field field : Field.values()) {
+            NavigableMap<String, PostingList> dictionary = terms.get(field);
+            for (String term : document.terms[field.ordinal()]) {
+                PostingList postings = dictionary.get(term);
+                if (postings != null) {
+                    postings.remove(id);
+                    if (postings.isEmpty()) {
+                        dictionary.remove(term);
+                    }
+                }
+            }
+        }
+    }
+
+    private List<PostingList> matchingPostings(String word, Field field, boolean fuzzy)
+    {
+        List<PostingList> matches = new ArrayList<>();
+        for (Field candidate : Field.values()) {
+            if (field != null && field != candidate) {
+                continue;
+            }
+            NavigableMap<String, PostingList> dictionary = terms.get(candidate);
+            matches.addAll(dictionary.subMap(word, true, word + Character.MAX_VALUE, false).values());
+
+            int maxEdits = fuzzy ? maxEdits(word) : 0;
+            if (maxEdits > 0) {
+                String first = word.substring(0, 1);
+                String next = String.valueOf((char) (word.charAt(0) + 1));
+                for (Map.Entry<String, PostingList> entry : dictionary.subMap(first, true, next, false).entrySet()) {
+                    String term = entry.getKey();
+                    if (!term.startsWith(word) && Math.abs(term.length() - word.length()) <= maxEdits
+                            && EditDistance.within(word, term, maxEdits)) {
+                        matches.add(entry.getValue());
+                    }
+                }
+            }
+        }
+        return matches;
+    }
+
+    //Up to max distinct ids greater than afterId from the union of the posting lists, ascending
+    private static long[] mergeAfter(List<PostingList> lists, long afterId, int max)
+    {
+        PriorityQueue<long[]> heads = new PriorityQueue<>((a, b) -> Long.compare(a[0], b[0]));
+        for (int i = 0; i < lists.size(); i++) {
+            PostingList postings = lists.get(i);
+            int index = postings.indexAfter(afterId);
+            if (index < postings.size()) {
+                heads.add(new long[]{postings.get(index), i, index});
+            }
+        }
+
+        long[] merged = new long[max];
+        int count = 0;
+        while (count < max && !heads.isEmpty()) {
+            long[] head = heads.poll();
+            if (count == 0 || merged[count - 1] != head[0]) {
+                merged[count++] = head[0];
+            }
+            PostingList postings = lists.get((int) head[1]);
+            int next = (int) head[2] + 1;
+            if (next < postings.size()) {
+                head[0] = postings.get(next);
+                head[2] = next;
+                heads.add(head);
+            }
+        }
+        return count == max ? merged : Arrays.copyOf(merged, count);
+    }
+
+    private static boolean containsInAll(List<List<PostingList>> matches, long id)
+    {
+        for (List<PostingList> wordMatches : matches) {
+            boolean found = false;
+            for (PostingList postings : wordMatches) {
+                if (postings.contains(id)) {
+                    found = true;
+                    break;
+                }
+            }
+            if (!found) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long totalSize(List<PostingList> lists)
+    {
+        long total = 0;
+        for (PostingList postings : lists) {
+            total += postings.size();
+        }
+        return total;
+    }
+
+    private static int maxEdits(String word)
+    {
+        if (word.length() < 3) {
+            return 0;
+        }
+        return word.length() <= 5 ? 1 : 2;
+    }
+
+    //Split like the text indexed, so "mary-jane" and "o'brien" find the names they were taken from
+    static List<String> queryWords(String query, Field field)
+    {
+        List<String> words = new ArrayList<>();
+        if (query == null) {
+            return words;
+        }
+        //Neighbouring number groups such as "(302) 611" are one phone number, where phones are searched
+        boolean phones = field == null || field == Field.phone;
+        StringBuilder number = new StringBuilder();
+        for (String token : query.trim().split("\\s+")) {
+            if (phones && isPhoneLike(token)) {
+                number.append(digits(token));
+                continue;
+            }
+            if (number.length() > 0) {
+                words.add(number.toString());
+                number.setLength(0);
+            }
+            addWords(token, words);
+        }
+        if (number.length() > 0) {
+            words.add(number.toString());
+        }
+        return words;
+    }
+
+    private static String[] nameTerms(Name name)
+    {
+        Set<String> result = new LinkedHashSet<>();
+        if (name != null) {
+            addWords(name.getFirst(), result);
+            addWords(name.getMiddle(), result);
+            addWords(name.getLast(), result);
+        }
+        return result.toArray(new String[0]);
+    }
+
+    //The parts of the address, so "gilkey" and "harold.gil" both match
+    private static String[] emailTerms(String email)
+    {
+        Set<String> result = new LinkedHashSet<>();
+        if (email != null) {
+            addWords(email, result);
+        }
+        return result.toArray(new String[0]);
+    }
+
+    private static String[] addressTerms(Address address)
+    {
+        Set<String> result = new LinkedHashSet<>();
+        if (address != null) {
+            addWords(address.getCity(), result);
+            addWords(address.getState(), result);
+            addWords(address.getZip(), result);
+        }
+        return result.toArray(new String[0]);
+    }
+
+    private static String[] phoneTerms(Collection<Phone> phones)
+    {
+        Set<String> result = new LinkedHashSet<>();
+        if (phones != null) {
+            for (Phone phone : phones) {
+                if (phone.getNumber() != null) {
+                    String digits = digits(phone.getNumber());
+                    result.add(digits);
+                    //The local number on its own, so a search without the area code still matches
+                    if (digits.length() > LOCAL_NUMBER_LENGTH) {
+                        result.add(digits.substring(digits.length() - LOCAL_NUMBER_LENGTH));
+                    }
+                }
+            }
+        }
+        return result.toArray(new String[0]);
+    }
+
+    private static void addWords(String text, Collection<String> result)
+    {
+        if (text == null) {
+            return;
+        }
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                result.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+    }
+
+    private static boolean isPhoneLike(String token)
+    {
+        boolean hasDigit = false;
+        for (int i = 0; i < token.length(); i++) {
+            char c = token.charAt(i);
+            if (c >= '0' && c <= '9') {
+                hasDigit = true;
+            } else if (c != '-' && c != '(' && c != ')' && c != '.' && c != '+') {
+                return false;
+            }
+        }
+        return hasDigit;
+    }
+
+    private static String digits(String text)
+    {
+        StringBuilder digits = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits.append(c);
+            }
+        }
+        return digits.toString();
+    }
+}
@@ -0,0 +1,158 @@
+package com.interview.search;
+
+import com.interview.changes.ContactChangeFeed;
+import com.interview.changes.ContactChangePage;
+import com.interview.exceptions.ChangesExpiredException;
+import com.interview.persistance.entities.Contact;
+import com.interview.persistance.entities.ContactChange;
+import com.interview.repositories.ContactRepository;
+import com.interview.service.ContactCursor;
+import com.interview.tenancy.TenantContext;
+import com.interview.tenancy.Tenants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Builds the search indexes from the database on startup, one keyset page at a time, each
+ * contact into its tenant's index, and then keeps them current with what other instances write.
+ * Command line runs never search, so skip it.
+ *
+ * Writes committed here are indexed by ContactIndexListener. Every contacts.search.refresh-interval
+ * the change feed is read on from where the load started, and each contact changed since at a
+ * version the index does not have yet is loaded and indexed, or removed when it was deleted.
+ * Changes made here are already current and cost nothing. A position the feed has compacted
+ * away is recovered from by loading the partition into fresh indexes and swapping them in, so
+ * contacts whose deletions were compacted away drop out as well.
+ *
+ * @author Mike Buschmeier
+ * @creation 17 October 2026
+ */
+@Component
+@Lazy(false)
+@ConditionalOnWebApplication
+public class ContactSearchIndexLoader
+{
+
+    private static final Logger log = LoggerFactory.getLogger(ContactSearchIndexLoader.class);
+
+    @Autowired
+    private ContactRepository contactRepository;
+
+    @Autowired
+    private ContactChangeFeed changeFeed;
+
+    @Autowired
+    private TenantSearchIndexes searchIndexes;
+
+    @Autowired
+    private Tenants tenants;
+
+    @Value("${contacts.stream.chunk-size:500}")
+    private int chunkSize;
+
+    //Feed position each partition's index is current up to; only touched by load and refresh, one at a time
+    private final Map<String, Long> positions = new HashMap<>();
+    private volatile boolean loaded;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void load()
+    {
+        long started = System.currentTimeMillis();
+        for (String partition : tenants.partitions()) {
+            TenantContext.runAs(partition, () -> loadPartition(partition, contact ->
+                    searchIndexes.index(contact.getTenantId(), contact.getId(), ContactSearchIndex.documentOf(contact))));
+        }
+        loaded = true;
+        log.info("Indexed {} contacts for search in {} ms", searchIndexes.size(), System.currentTimeMillis() - started);
+    }
+
+    @Scheduled(initialDelayString = "${contacts.search.refresh-interval:PT5S}", fixedDelayString = "${contacts.search.refresh-interval:PT5S}")
+    public synchronized void refresh()
+    {
+        if (!loaded) {
+            return;
+        }
+        for (String partition : tenants.partitions()) {
+            TenantContext.runAs(partition, () -> refreshPartition(partition));
+        }
+    }
+
+    //The position is taken first, so whatever commits during the load is read from the feed afterwards
+    private void loadPartition(String partition, Consumer<Contact> index)
+    {
+        positions.put(partition, changeFeed.read(null, 0).getNext());
+        long afterId = ContactCursor.START;
+        List<Contact> contacts;
+        do {
+            contacts = contactRepository.findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.of(0, chunkSize));
+            for (Contact contact : contacts) {
+                index.accept(contact);
+                afterId = contact.getId();
+            }
+        } while (contacts.size() == chunkSize);
+    }
+
+    //A partition that appeared after the load, a new tenant's schema, is read from the start of its feed
+    private void refreshPartition(String partition)
+    {
+        long position = positions.getOrDefault(partition, 0L);
+        try {
+            ContactChangePage page;
+            do {
+                page = changeFeed.read(position, chunkSize);
+                apply(page.getChanges());
+                position = page.getNext();
+            } while (page.getChanges().size() == chunkSize);
+            positions.put(partition, position);
+        } catch (ChangesExpiredException e) {
+            log.info("Search index of partition {} is behind the change feed, loading it again", partition);
+            reloadPartition(partition);
+        }
+    }
+
+    //Writes committed here during the load go to the indexes replaced, and are read from the feed again
+    private void reloadPartition(String partition)
+    {
+        Map<String, ContactSearchIndex> loaded = new HashMap<>();
+        loadPartition(partition, contact ->
+                loaded.computeIfAbsent(contact.getTenantId(), t -> new ContactSearchIndex()).index(contact.getId(), contact));
+        searchIndexes.replace(loaded, tenant -> Objects.equals(tenants.partitionOf(tenant), partition));
+    }
+
+    private void apply(List<ContactChange> changes)
+    {
+        Map<Long, String> changed = new HashMap<>();
+        for (ContactChange change : changes) {
+            long version = change.getVersion() == null ? 0 : change.getVersion();
+            if (change.getType() == ContactChange.Type.deleted) {
+                searchIndexes.forget(change.getTenantId(), change.getContactId());
+                changed.remove(change.getContactId());
+            } else if (!searchIndexes.isCurrent(change.getTenantId(), change.getContactId(), version)) {
+                changed.put(change.getContactId(), change.getTenantId());
+            }
+        }
+        if (changed.isEmpty()) {
+            return;
+        }
+        //Contacts no longer found have been deleted since, which a later change reports
+        for (Contact contact : contactRepository.findAllWithDetailsByIdIn(new ArrayList<>(changed.keySet()))) {
+            searchIndexes.index(contact.getTenantId(), contact.getId(), ContactSearchIndex.documentOf(contact));
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.interview.search;
+
+/**
+ * Bounded Levenshtein distance used for fuzzy term matching
+ *
+ * @author Mike Buschmeier
+ * @creation 17 October 2026
+ */
+final class EditDistance
+{
+
+    private EditDistance()
+    {
+    }
+
+    //True when a can be turned into b with at most maxEdits insertions, deletions or substitutions
+    static boolean within(String a, String b, int maxEdits)
+    {
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMinimum = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                rowMinimum = Math.min(rowMinimum, current[j]);
+            }
+            //Every later row can only grow from here, so stop early
+            if (rowMinimum > maxEdits) {
+                return false;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()] <= maxEdits;
+    }
+}
@@ -0,0 +1,77 @@
+package com.interview.search;
+
+import java.util.Arrays;
+
+/**
+ * Sorted set of contact ids stored as a primitive array.
+ * Ids are handed out in increasing order, so adds are almost always appends.
+ * Not thread safe; ContactSearchIndex guards every access with its lock.
+ *
+ * @author Mike Buschmeier
+ * @creation 17 October 2026
+ */
+final class PostingList
+{
+
+    private long[] ids = new long[4];
+    private int size;
+
+    void add(long id)
+    {
+        if (size > 0 && ids[size - 1] >= id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index >= 0) {
+                return;
+            }
+            insertAt(-index - 1, id);
+        } else {
+            insertAt(size, id);
+        }
+    }
+
+    void remove(long id)
+    {
+        int index = Arrays.binarySearch(ids, 0, size, id);
+        if (index >= 0) {
+            System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+            size--;
+        }
+    }
+
+    boolean contains(long id)
+    {
+        return Arrays.binarySearch(ids, 0, size, id) >= 0;
+    }
+
+    boolean isEmpty()
+    {
+        return size == 0;
+    }
+
+    int size()
+    {
+        return size;
+    }
+
+    long get(int index)
+    {
+        return ids[index];
+    }
+
+    //Position of the first id greater than afterId
+    int indexAfter(long afterId)
+    {
+        int index = Arrays.binarySearch(ids, 0, size, afterId);
+        return index >= 0 ? index + 1 : -index - 1;
+    }
+
+    private void insertAt(int index, long id)
+    {
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size + (size >> 1) + 1);
+        }
+        System.arraycopy(ids, index, ids, index + 1, size - index);
+        ids[index] = id;
+        size++;
+    }
+}
@@ -0,0 +1,74 @@
+package com.interview.search;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * A ContactSearchIndex per tenant, so a search only ever looks at the contacts of the tenant
+ * searching and one tenant's writes never wait on another's searches.
+ *
+ * @author Mike Buschmeier
+ * @creation 18 October 2026
+ */
+@Component
+public class TenantSearchIndexes
+{
+
+    private final Map<String, ContactSearchIndex> indexes = new ConcurrentHashMap<>();
+
+    public void index(String tenant, long id, ContactSearchIndex.Document document)
+    {
+        indexes.computeIfAbsent(tenant, t -> new ContactSearchIndex()).index(id, document);
+    }
+
+    //Recorded even for a tenant without an index yet, so a late copy of the contact is not indexed
+    public void remove(String tenant, long id)
+    {
+        indexes.computeIfAbsent(tenant, t -> new ContactSearchIndex()).remove(id);
+    }
+
+    //See ContactSearchIndex.forget
+    public void forget(String tenant, long id)
+    {
+        ContactSearchIndex index = indexes.get(tenant);
+        if (index != null) {
+            index.forget(id);
+        }
+    }
+
+    //See ContactSearchIndex.isCurrent
+    public boolean isCurrent(String tenant, long id, long version)
+    {
+        ContactSearchIndex index = indexes.get(tenant);
+        return index != null && index.isCurrent(id, version);
+    }
+
+    //See ContactSearchIndex.search; a tenant without contacts has no index and no results
+    public List<Long> search(String tenant, String query, ContactSearchIndex.Field field, boolean fuzzy, long afterId, int limit)
+    {
+        ContactSearchIndex index = indexes.get(tenant);
+        return index == null ? Collections.emptyList() : index.search(query, field, fuzzy, afterId, limit);
+    }
+
+    //Puts loaded indexes in place of those of the tenants selected, dropping the indexes of selected tenants not loaded
+    public void replace(Map<String, ContactSearchIndex> loaded, Predicate<String> tenants)
+    {
+        indexes.keySet().removeIf(tenant -> tenants.test(tenant) && !loaded.containsKey(tenant));
+        indexes.putAll(loaded);
+    }
+
+    //Contacts indexed, over all tenants
+    public int size()
+    {
+        int size = 0;
+        for (ContactSearchIndex index : indexes.values()) {
+            size += index.size();
+        }
+        return size;
+    }
+}
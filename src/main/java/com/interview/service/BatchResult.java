@@ -0,0 +1,113 @@
+package com.interview.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Per-item outcome of a batch create, update or delete.
+ * Items are reported in the same order they were submitted.
+ *
+ * @author Mike Buschmeier
+ * @creation 17 October 2026
+ */
+public class BatchResult
+{
+
+    //existing: an idempotent create found the contact already stored; duplicate: the same, but refused
+    public enum Status
+    {
+        created, existing, updated, deleted, invalid, not_found, duplicate, failed
+    }
+
+    private final List<Item> items = new ArrayList<>();
+
+    public List<Item> getItems()
+    {
+        return items;
+    }
+
+    public int getSucceeded()
+    {
+        int succeeded = 0;
+        for (Item item : items) {
+            if (item.isSuccess()) {
+                succeeded++;
+            }
+        }
+        return succeeded;
+    }
+
+    public int getFailed()
+    {
+        return items.size() - getSucceeded();
+    }
+
+    Item add(int index)
+    {
+        Item item = new Item(index);
+        items.add(item);
+        return item;
+    }
+
+    public static class Item
+    {
+
+        private final int index;
+        private Long id;
+        private Status status;
+        private String error;
+
+        Item(int index)
+        {
+            this.index = index;
+        }
+
+        public int getIndex()
+        {
+            return index;
+        }
+
+        public Long getId()
+        {
+            return id;
+        }
+
+        public Status getStatus()
+        {
+            return status;
+        }
+
+        public String getError()
+        {
+            return error;
+        }
+
+        boolean isPending()
+        {
+            return status == null;
+        }
+
+        boolean isSuccess()
+        {
+            return status == Status.created || status == Status.existing || status == Status.updated || status == Status.deleted;
+        }
+
+        void identify(Long id)
+        {
+            this.id = id;
+        }
+
+        void succeed(Long id, Status status)
+        {
+            this.id = id;
+            this.status = status;
+        }
+
+        void fail(Long id, Status status, String error)
+        {
+            this.id = id;
+            this.status = status;
+            this.error = error;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.interview.service;
+
+import com.interview.bulk.BulkFormat;
+import com.interview.bulk.ContactExporter;
+import com.interview.bulk.ContactImporter;
+import com.interview.persistance.entities.ImportJob;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Bulk import and export end points
+ *
+ * @author Mike Buschmeier
+ * @creation 17 October 2026
+ */
+@RestController
+public class ContactBulkController
+{
+
+    @Autowired
+    private ContactImporter contactImporter;
+
+    @Autowired
+    private ContactExporter contactExporter;
+
+    //Import a CSV or NDJSON body, optionally gzip encoded. The body is parsed as it arrives,
+    //so this stays on the request thread rather than the bounded database pool, for as long as the upload lasts.
+    //A failed import answers 500 with the job; sending the same body again with ?resume={id} continues it.
+    @PostMapping(value = "/contacts/import", consumes = {"text/csv", ContactController.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<ImportJob> importContacts(HttpServletRequest request,
+                                                    @RequestHeader(value = HttpHeaders.CONTENT_ENCODING, required = false) String contentEncoding,
+                                                    @RequestParam(required = false) Long resume) throws IOException {
+        InputStream body = request.getInputStream();
+        if ("gzip".equalsIgnoreCase(contentEncoding)) {
+            body = new GZIPInputStream(body);
+        }
+        ImportJob job = contactImporter.importContacts(body, "upload", BulkFormat.fromMediaType(request.getContentType()), resume);
+        HttpStatus status = job.getStatus() == ImportJob.Status.failed ? HttpStatus.INTERNAL_SERVER_ERROR : HttpStatus.OK;
+        return ResponseEntity.status(status).body(job);
+    }
+
+    //Progress of an import, updated as each chunk commits
+    @GetMapping("/contacts/import/{id}")
+    public ImportJob getImport(@PathVariable long id) {
+        return contactImporter.findJob(id);
+    }
+
+    //Export every contact as CSV or NDJSON, straight from a database cursor to the response.
+    //Gzip compressed when the client accepts it; the body is sent with Content-Encoding rather than as a .gz file.
+    @GetMapping("/contacts/export")
+    public ResponseEntity<StreamingResponseBody> exportContacts(@RequestParam(defaultValue = "csv") BulkFormat format,
+                                                                @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase(Locale.ROOT).contains("gzip");
+        StreamingResponseBody body = out -> {
+            try (OutputStream target = gzip ? ContactExporter.gzip(out) : out) {
+                contactExporter.export(format, target);
+            }
+        };
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getMediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.builder("attachment")
+                        .filename("contacts." + format.name()).build().toString());
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+}
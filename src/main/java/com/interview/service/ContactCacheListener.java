@@ -0,0 +1,76 @@
+package com.interview.service;
+
+import com.interview.config.CacheConfig;
+import com.interview.dto.ContactDto;
+import com.interview.persistance.entities.Contact;
+import com.interview.tenancy.TenantContext;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+
+/**
+ * JPA entity listener that puts the copy each committed write leaves into the contact cache,
+ * whichever code path made it: the new copy for an update, null for a delete. The cache keeps
+ * whichever copy is newest, see VersionedCacheManager, so a read that loaded the row before the
+ * write committed and caches it afterwards cannot replace it. New contacts are not put: nothing
+ * can have cached an id before it existed.
+ *
+ * Like ContactIndexListener the cache manager is looked up on first use, as Hibernate creates
+ * the listener while the context is still starting.
+ *
+ * @author Mike Buschmeier
+ * @creation 18 October 2026
+ */
+@Component
+public class ContactCacheListener
+{
+
+    @Autowired
+    private ObjectProvider<CacheManager> cacheManager;
+
+    @PostUpdate
+    public void contactUpdated(Contact contact)
+    {
+        //Copy now, while the entity is attached and at the version this flush wrote
+        ContactDto copy = ContactDto.of(contact);
+        String key = TenantContext.cacheKey(contact.getTenantId(), contact.getId());
+        afterCommit(() -> put(key, copy));
+    }
+
+    @PostRemove
+    public void contactRemoved(Contact contact)
+    {
+        String key = TenantContext.cacheKey(contact.getTenantId(), contact.getId());
+        afterCommit(() -> put(key, null));
+    }
+
+    private void put(String key, ContactDto copy)
+    {
+        Cache cache = cacheManager.getObject().getCache(CacheConfig.CONTACT_CACHE);
+        if (cache != null) {
+            cache.put(key, copy);
+        }
+    }
+
+    private void afterCommit(Runnable action)
+    {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit()
+                {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.interview.service;
+
+import com.interview.changes.ContactChangeFeed;
+import com.interview.changes.ContactChangePage;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+
+/**
+ * Change feed end points: the contact creations, updates and deletions in commit order
+ *
+ * @author Mike Buschmeier
+ * @creation 18 October 2026
+ */
+@RestController
+public class ContactChangeController
+{
+
+    @Autowired
+    private ContactChangeFeed changeFeed;
+
+    @Value("${contacts.changes.default-size:100}")
+    private int defaultPageSize;
+
+    @Value("${contacts.changes.max-size:1000}")
+    private int maxPageSize;
+
+    @Value("${contacts.changes.max-wait:PT30S}")
+    private Duration maxWait;
+
+    @Value("${contacts.changes.stream-timeout:PT30M}")
+    private Duration streamTimeout;
+
+    //Get the changes after since, resuming with the page's next. Without since there are none, only the position to start from.
+    //With wait (seconds, up to contacts.changes.max-wait) an empty page is held back until a change commits: a long-poll.
+    @GetMapping("/contacts/changes")
+    public DeferredResult<ContactChangePage> getChanges(@RequestParam(required = false) Long since,
+                                                        @RequestParam(required = false) Integer limit,
+                                                        @RequestParam(defaultValue = "0") long wait) {
+        int pageSize = limit == null ? defaultPageSize : Math.max(1, Math.min(limit, maxPageSize));
+        if (since == null) {
+            DeferredResult<ContactChangePage> result = new DeferredResult<>();
+            result.setResult(changeFeed.read(null, pageSize));
+            return result;
+        }
+        Duration waitFor = Duration.ofSeconds(Math.max(0, wait));
+        return changeFeed.poll(since, pageSize, waitFor.compareTo(maxWait) > 0 ? maxWait : waitFor);
+    }
+
+    //Stream the changes as server-sent events, from since or from now on. A reconnecting EventSource sends
+    //the last id it received as Last-Event-ID and continues from there.
+    @GetMapping(value = "/contacts/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(@RequestParam(required = false) Long since,
+                                    @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return changeFeed.stream(lastEventId != null ? lastEventId : since, streamTimeout);
+    }
+}
@@ -0,0 +1,257 @@
+package com.interview.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.interview.dedup.MatchKeys;
+import com.interview.exceptions.IncorrectEmailFormatException;
+import com.interview.exceptions.InvalidPatchException;
+import com.interview.persistance.entities.Address;
+import com.interview.persistance.entities.Contact;
+import com.interview.persistance.entities.Name;
+import com.interview.persistance.entities.Phone;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Applies incoming contact data to a managed contact in place.
+ *
+ * Only changed name, address and e-mail values are set, so with dynamic updates
+ * Hibernate writes just the changed columns. Phones are an ordered list; only the
+ * positions that differ are written.
+ *
+ * @author Mike Buschmeier
+ * @creation 17 October 2026
+ */
+final class ContactChanges
+{
+
+    private ContactChanges()
+    {
+    }
+
+    //PUT: the target ends up equal to the source. The e-mail can be changed but not cleared.
+    static void replace(Contact target, Contact source)
+    {
+        boolean changed = replaceName(target, source.getName());
+        changed |= replaceAddress(target, source.getAddress());
+        changed |= replacePhones(target, source.getPhone());
+        if (source.getEmail() != null) {
+            changed |= setEmail(target, source.getEmail());
+        }
+        if (changed) {
+            target.markUpdated();
+        }
+    }
+
+    //The match key the target will have once replace(target, source) has been applied
+    static String replacedMatchKey(Contact target, Contact source)
+    {
+        String email = source.getEmail() != null ? source.getEmail() : target.getEmail();
+        return MatchKeys.matchKey(source.getName(), email, source.getPhone(), source.getAddress());
+    }
+
+    /**
+     * PATCH with JSON Merge Patch (RFC 7386): members present in the patch replace the
+     * current values, null members remove them, and absent members are left alone.
+     */
+    static void mergePatch(Contact target, JsonNode patch, ObjectMapper objectMapper)
+    {
+        if (!patch.isObject()) {
+            throw new InvalidPatchException("A merge patch must be a JSON object");
+        }
+        boolean changed = false;
+        Iterator<Map.Entry<String, JsonNode>> members = patch.fields();
+        while (members.hasNext()) {
+            Map.Entry<String, JsonNode> member = members.next();
+            JsonNode value = member.getValue();
+            switch (member.getKey()) {
+                case "name":
+                    changed |= patchName(target, value);
+                    break;
+                case "address":
+                    changed |= patchAddress(target, value);
+                    break;
+                case "phone":
+                    changed |= replacePhones(target, value.isNull() ? null : readPhones(value, objectMapper));
+                    break;
+                case "email":
+                    changed |= patchEmail(target, value);
+                    break;
+                default:
+                    //id and unknown members are ignored, as they are on PUT
+                    break;
+            }
+        }
+        if (changed) {
+            target.markUpdated();
+        }
+    }
+
+    private static boolean replaceName(Contact target, Name source)
+    {
+        if (source == null || target.getName() == null) {
+            boolean changed = source != target.getName();
+            target.setName(source);
+            return changed;
+        }
+        Name name = target.getName();
+        boolean changed = !Objects.equals(name.getFirst(), source.getFirst())
+                || !Objects.equals(name.getMiddle(), source.getMiddle())
+                || !Objects.equals(name.getLast(), source.getLast());
+        name.setFirst(source.getFirst());
+        name.setMiddle(source.getMiddle());
+        name.setLast(source.getLast());
+        return changed;
+    }
+
+    private static boolean replaceAddress(Contact target, Address source)
+    {
+        if (source == null || target.getAddress() == null) {
+            boolean changed = source != target.getAddress();
+            target.setAddress(source);
+            return changed;
+        }
+        Address address = target.getAddress();
+        boolean changed = !Objects.equals(address.getStreet(), source.getStreet())
+                || !Objects.equals(address.getCity(), source.getCity())
+                || !Objects.equals(address.getState(), source.getState())
+                || !Objects.equals(address.getZip(), source.getZip());
+        address.setStreet(source.getStreet());
+        address.setCity(source.getCity());
+        address.setState(source.getState());
+        address.setZip(source.getZip());
+        return changed;
+    }
+
+    //Phones are compared position by position, so only positions whose phone changed are written:
+    //an update per changed phone, and inserts or deletes only where the list grew or shrank
+    private static boolean replacePhones(Contact target, List<Phone> source)
+    {
+        List<Phone> wanted = source == null ? new ArrayList<>() : source;
+        if (target.getPhone() == null) {
+            target.setPhone(new ArrayList<>());
+        }
+        List<Phone> current = target.getPhone();
+
+        boolean changed = false;
+        for (int i = 0; i < wanted.size(); i++) {
+            if (i == current.size()) {
+                current.add(wanted.get(i));
+                changed = true;
+            } else if (!samePhone(current.get(i), wanted.get(i))) {
+                current.set(i, wanted.get(i));
+                changed = true;
+            }
+        }
+        while (current.size() > wanted.size()) {
+            current.remove(current.size() - 1);
+            changed = true;
+        }
+        return changed;
+    }
+
+    private static boolean samePhone(Phone phone, Phone other)
+    {
+        return Objects.equals(phone.getNumber(), other.getNumber()) && phone.getType() == other.getType();
+    }
+
+    private static boolean patchName(Contact target, JsonNode patch)
+    {
+        if (patch.isNull()) {
+            return replaceName(target, null);
+        }
+        requireObject("name", patch);
+        Name name = target.getName() == null ? new Name() : target.getName();
+        boolean changed = target.getName() == null;
+        changed |= patchText(patch, "first", name.getFirst(), name::setFirst);
+        changed |= patchText(patch, "middle", name.getMiddle(), name::setMiddle);
+        changed |= patchText(patch, "last", name.getLast(), name::setLast);
+        target.setName(name);
+        return changed;
+    }
+
+    private static boolean patchAddress(Contact target, JsonNode patch)
+    {
+        if (patch.isNull()) {
+            return replaceAddress(target, null);
+        }
+        requireObject("address", patch);
+        Address address = target.getAddress() == null ? new Address() : target.getAddress();
+        boolean changed = target.getAddress() == null;
+        changed |= patchText(patch, "street", address.getStreet(), address::setStreet);
+        changed |= patchText(patch, "city", address.getCity(), address::setCity);
+        changed |= patchText(patch, "state", address.getState(), address::setState);
+        changed |= patchText(patch, "zip", address.getZip(), address::setZip);
+        target.setAddress(address);
+        return changed;
+    }
+
+    private static boolean patchText(JsonNode patch, String field, String current, Consumer<String> setter)
+    {
+        if (!patch.has(field)) {
+            return false;
+        }
+        JsonNode value = patch.get(field);
+        if (!value.isNull() && !value.isTextual()) {
+            throw new InvalidPatchException(field + " must be a string or null");
+        }
+        String text = value.isNull() ? null : value.asText();
+        setter.accept(text);
+        return !Objects.equals(current, text);
+    }
+
+    private static List<Phone> readPhones(JsonNode value, ObjectMapper objectMapper)
+    {
+        if (!value.isArray()) {
+            throw new InvalidPatchException("phone must be an array or null");
+        }
+        try {
+            List<Phone> phones = new ArrayList<>();
+            for (JsonNode phone : value) {
+                phones.add(objectMapper.treeToValue(phone, Phone.class));
+            }
+            return phones;
+        } catch (JsonProcessingException e) {
+            throw new InvalidPatchException(e.getOriginalMessage());
+        }
+    }
+
+    private static boolean patchEmail(Contact target, JsonNode value)
+    {
+        if (value.isNull()) {
+            boolean changed = target.getEmail() != null;
+            target.clearEmail();
+            return changed;
+        }
+        if (!value.isTextual()) {
+            throw new InvalidPatchException("email must be a string or null");
+        }
+        return setEmail(target, value.asText());
+    }
+
+    private static boolean setEmail(Contact target, String email)
+    {
+        if (email.equals(target.getEmail())) {
+            return false;
+        }
+        try {
+            target.setEmail(email);
+            return true;
+        } catch (IncorrectEmailFormatException e) {
+            throw new InvalidPatchException(e.getMessage());
+        }
+    }
+
+    private static void requireObject(String field, JsonNode value)
+    {
+        if (!value.isObject()) {
+            throw new InvalidPatchException(field + " must be an object or null");
+        }
+    }
+}
@@ -1,11 +1,38 @@
 package com.interview.service;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.interview.config.ExecutionConfig;
+import com.interview.dto.ContactDto;
+import com.interview.exceptions.ContactNotFoundException;
+import com.interview.exceptions.DuplicateContactException;
 import com.interview.persistance.entities.Contact;
-import com.interview.repositories.ContactRepository;
-import org.springframework.beans.BeanUtils;
+import com.interview.search.ContactSearchIndex;
+import com.interview.search.TenantSearchIndexes;
+import com.interview.tenancy.TenantContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import java.net.URI;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
 
 /**
  * REST end point controller
@@ -17,41 +44,259 @@ import java.util.List;
 public class ContactController
 {
 
+    //Newline delimited JSON, one contact per line
+    public static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+
+    //JSON Merge Patch, RFC 7386
+    public static final String APPLICATION_MERGE_PATCH_JSON_VALUE = "application/merge-patch+json";
+
     @Autowired
-    private ContactRepository contactRepository;
+    private ContactService contactService;
+
+    @Autowired
+    private TenantSearchIndexes searchIndexes;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    @Qualifier(ExecutionConfig.CONTACT_DB_EXECUTOR)
+    private Executor dbExecutor;
+
+    @Value("${contacts.page.default-size:100}")
+    private int defaultPageSize;
 
-    //Get a single contact
+    @Value("${contacts.page.max-size:1000}")
+    private int maxPageSize;
+
+    @Value("${contacts.stream.chunk-size:500}")
+    private int streamChunkSize;
+
+    @Value("${contacts.batch.max-size:10000}")
+    private int maxBatchSize;
+
+    //Get a single contact. Spring answers If-None-Match / If-Modified-Since with 304 before the body is serialized
     @GetMapping("/contacts/{id}")
-    public Contact getContact(@PathVariable long id) {
-        return contactRepository.getOne(id);
+    public CompletableFuture<ResponseEntity<ContactDto>> getContact(@PathVariable long id) {
+        return onDbExecutor(() -> Optional.ofNullable(contactService.findContact(id)).orElseThrow(() -> new ContactNotFoundException(id)))
+                .thenApply(contact -> ResponseEntity.ok()
+                        .eTag(ContactETags.of(contact))
+                        .lastModified(contact.getUpdatedAt())
+                        .body(contact));
     }
 
-    //Get All Contacts
+    //Get All Contacts. A client already holding the current list gets a 304 without the list being loaded
     @GetMapping("/contacts")
-    public List<Contact> getAllContacts() {
-        return contactRepository.findAll();
+    public CompletableFuture<ResponseEntity<List<ContactDto>>> getAllContacts(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch)
+    {
+        return onDbExecutor(() -> {
+            //Tag first: a write landing in between makes the tag older than the body, which only costs a re-download
+            String etag = ContactETags.of(contactService.findListVersion());
+            if (ContactETags.noneMatchFails(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+            return ResponseEntity.ok().eTag(etag).body(contactService.findAllContacts());
+        });
+    }
+
+    //Get one page of contacts, resuming after the cursor returned by the previous page
+    @GetMapping("/contacts/page")
+    public CompletableFuture<ContactPage> getContactPage(@RequestParam(required = false) String cursor,
+                                                         @RequestParam(required = false) Integer limit)
+    {
+        long afterId = decodeCursor(cursor);
+        int pageSize = pageSize(limit);
+
+        //Ask for one extra row so we know whether another page exists without a count query
+        return onDbExecutor(() -> toPage(contactService.findContactsAfter(afterId, pageSize + 1), pageSize));
     }
 
-    //Create a new contact
+    //Search names, e-mails, addresses and phone numbers by prefix, or approximately when fuzzy
+    @GetMapping("/contacts/search")
+    public CompletableFuture<ContactPage> searchContacts(@RequestParam String q,
+                                                         @RequestParam(required = false) ContactSearchIndex.Field field,
+                                                         @RequestParam(defaultValue = "false") boolean fuzzy,
+                                                         @RequestParam(required = false) String cursor,
+                                                         @RequestParam(required = false) Integer limit)
+    {
+        if (q.trim().isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Query must not be empty");
+        }
+        int pageSize = pageSize(limit);
+
+        //The index lookup is in memory; only loading the matches needs the database
+        List<Long> ids = searchIndexes.search(TenantContext.currentOrDefault(), q, field, fuzzy, decodeCursor(cursor), pageSize + 1);
+        if (ids.isEmpty()) {
+            return CompletableFuture.completedFuture(new ContactPage(new ArrayList<>(), null));
+        }
+        return onDbExecutor(() -> toPage(contactService.findContacts(ids), pageSize));
+    }
+
+    //Stream all contacts as NDJSON, one keyset page in memory at a time
+    @GetMapping(value = "/contacts", produces = APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllContacts()
+    {
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        StreamingResponseBody body = out -> {
+            JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+
+            long afterId = ContactCursor.START;
+            List<ContactDto> contacts;
+            do {
+                contacts = contactService.findContactsAfter(afterId, streamChunkSize);
+                for (ContactDto contact : contacts) {
+                    writer.writeValue(generator, contact);
+                    generator.writeRaw('\n');
+                    afterId = contact.getId();
+                }
+                generator.flush();
+            } while (contacts.size() == streamChunkSize);
+            generator.close();
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(APPLICATION_NDJSON_VALUE))
+                .body(body);
+    }
+
+    //Create a new contact. An exact duplicate of an existing contact is refused with 409, or with
+    //idempotent=true answered with the existing contact, so a retried create never adds a second copy
     @PostMapping("/contacts")
-    public void newContact(@RequestBody Contact newContact)
+    public CompletableFuture<ResponseEntity<ContactDto>> newContact(@RequestBody Contact newContact,
+                                                                 @RequestParam(defaultValue = "false") boolean idempotent)
+    {
+        //The saved contact, or the existing one for an idempotent repeat, is fully loaded already
+        return onDbExecutor(() -> ContactDto.of(contactService.createContact(newContact, idempotent)))
+                .thenApply(contact -> ResponseEntity.ok()
+                        .location(contactLocation(contact.getId()))
+                        .eTag(ContactETags.of(contact))
+                        .body(contact));
+    }
+
+    //Create many contacts, committed in chunks; duplicates are handled per item as on POST /contacts
+    @PostMapping("/contacts/batch")
+    public CompletableFuture<BatchResult> newContacts(@RequestBody List<JsonNode> newContacts,
+                                                      @RequestParam(defaultValue = "false") boolean idempotent)
     {
-        contactRepository.save(newContact);
-        contactRepository.flush();
+        checkBatchSize(newContacts);
+        return onDbExecutor(() -> contactService.createContacts(newContacts, idempotent));
     }
 
-    //Update an existing contact
+    //Update an existing contact, only if it still matches If-Match when that is sent
     @PutMapping("/contacts/{id}")
-    public void updateContact(@PathVariable long id, @RequestBody Contact newContact)
+    public CompletableFuture<ResponseEntity<Void>> updateContact(@PathVariable long id, @RequestBody Contact newContact,
+                                                                 @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch)
+    {
+        Long expectedVersion = ContactETags.expectedVersion(ifMatch);
+        return onDbExecutor(() -> contactService.updateContact(id, newContact, expectedVersion))
+                .thenApply(contact -> ResponseEntity.ok().eTag(ContactETags.of(contact)).build());
+    }
+
+    //Change only the fields present in a JSON Merge Patch, only if it still matches If-Match when that is sent
+    @PatchMapping(value = "/contacts/{id}", consumes = {APPLICATION_MERGE_PATCH_JSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public CompletableFuture<ResponseEntity<Void>> patchContact(@PathVariable long id, @RequestBody JsonNode patch,
+                                                                @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch)
     {
-        Contact contact = contactRepository.getOne(id);
-        BeanUtils.copyProperties(newContact, contact);
-        contactRepository.flush();
+        Long expectedVersion = ContactETags.expectedVersion(ifMatch);
+        return onDbExecutor(() -> contactService.patchContact(id, patch, expectedVersion))
+                .thenApply(contact -> ResponseEntity.ok().eTag(ContactETags.of(contact)).build());
     }
 
-    //Delete a contact
+    //Update many existing contacts, each item carrying its id
+    @PutMapping("/contacts/batch")
+    public CompletableFuture<BatchResult> updateContacts(@RequestBody List<JsonNode> newContacts)
+    {
+        checkBatchSize(newContacts);
+        return onDbExecutor(() -> contactService.updateContacts(newContacts));
+    }
+
+    //Delete a contact, only if it still matches If-Match when that is sent
     @DeleteMapping("/contacts/{id}")
-    public void deleteContact(@PathVariable long id) {
-        contactRepository.deleteById(id);
+    public CompletableFuture<Void> deleteContact(@PathVariable long id,
+                                                 @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Long expectedVersion = ContactETags.expectedVersion(ifMatch);
+        return onDbExecutor(() -> contactService.deleteContact(id, expectedVersion));
+    }
+
+    //Delete many contacts by id
+    @DeleteMapping("/contacts/batch")
+    public CompletableFuture<BatchResult> deleteContacts(@RequestBody List<Long> ids)
+    {
+        checkBatchSize(ids);
+        return onDbExecutor(() -> contactService.deleteContacts(ids));
+    }
+
+    //Another request committed a change to the same contact between our read and our write,
+    //or a concurrent write took the match key this one needed
+    @ExceptionHandler({ObjectOptimisticLockingFailureException.class, DataIntegrityViolationException.class})
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public void concurrentModification()
+    {
+    }
+
+    //The contact already exists; Location points at it
+    @ExceptionHandler(DuplicateContactException.class)
+    public ResponseEntity<Void> duplicateContact(DuplicateContactException e)
+    {
+        return ResponseEntity.status(HttpStatus.CONFLICT).location(contactLocation(e.getExistingId())).build();
+    }
+
+    //Run database work on the configured executor; see ExecutionConfig
+    private <T> CompletableFuture<T> onDbExecutor(Supplier<T> work)
+    {
+        try {
+            return CompletableFuture.supplyAsync(work, dbExecutor);
+        } catch (RejectedExecutionException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many requests waiting for the database", e);
+        }
+    }
+
+    private CompletableFuture<Void> onDbExecutor(Runnable work)
+    {
+        return onDbExecutor(() -> {
+            work.run();
+            return null;
+        });
+    }
+
+    private static URI contactLocation(long id)
+    {
+        return URI.create("/contacts/" + id);
+    }
+
+    private long decodeCursor(String cursor)
+    {
+        try {
+            return ContactCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor", e);
+        }
+    }
+
+    private int pageSize(Integer limit)
+    {
+        return limit == null ? defaultPageSize : Math.max(1, Math.min(limit, maxPageSize));
+    }
+
+    //Trim the look-ahead row and turn it into the next cursor
+    private ContactPage toPage(List<ContactDto> contacts, int pageSize)
+    {
+        String nextCursor = null;
+        if (contacts.size() > pageSize) {
+            contacts = contacts.subList(0, pageSize);
+            nextCursor = ContactCursor.encode(contacts.get(pageSize - 1).getId());
+        }
+        return new ContactPage(contacts, nextCursor);
+    }
+
+    private void checkBatchSize(List<?> items)
+    {
+        if (items.size() > maxBatchSize) {
+            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE, "Batches are limited to " + maxBatchSize + " items");
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,40 @@
+package com.interview.service;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor used to page through contacts in id order.
+ * Clients should treat the token as a black box and hand it back unchanged.
+ *
+ * @author Mike Buschmeier
+ * @creation 17 October 2026
+ */
+public final class ContactCursor
+{
+
+    //Keyset position before the first contact
+    public static final long START = 0L;
+
+    private ContactCursor()
+    {
+    }
+
+    public static String encode(long lastId)
+    {
+        byte[] bytes = ByteBuffer.allocate(Long.BYTES).putLong(lastId).array();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    public static long decode(String cursor)
+    {
+        if (cursor == null || cursor.isEmpty()) {
+            return START;
+        }
+        byte[] bytes = Base64.getUrlDecoder().decode(cursor);
+        if (bytes.length != Long.BYTES) {
+            throw new IllegalArgumentException(cursor + " is not a valid cursor");
+        }
+        return ByteBuffer.wrap(bytes).getLong();
+    }
+}
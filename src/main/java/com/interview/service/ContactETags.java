@@ -0,0 +1,94 @@
+package com.interview.service;
+
+import com.interview.dto.ContactDto;
+import com.interview.persistance.entities.Contact;
+import com.interview.repositories.ContactListVersion;
+
+/**
+ * Weak entity tags for contacts and the contact list, and the If-Match / If-None-Match
+ * comparisons against them.
+ *
+ * The tags are weak because the same contact is sent as JSON, Smile or CBOR, compressed or
+ * not, all under one tag; a strong tag promises the same bytes. If-Match still compares the
+ * contact's version, which is all the tag stands for, so a tag from a GET can guard a write.
+ *
+ * @author Mike Buschmeier
+ * @creation 17 October 2026
+ */
+final class ContactETags
+{
+
+    private static final String ANY = "*";
+
+    private ContactETags()
+    {
+    }
+
+    //A contact's version changes on every committed write to it, phones included
+    static String of(Contact contact)
+    {
+        return weak(Long.toString(contact.getVersion()));
+    }
+
+    static String of(ContactDto contact)
+    {
+        return weak(Long.toString(contact.getVersion()));
+    }
+
+    //Tomcat also leaves responses with a strong tag uncompressed, which matters most for the list
+    static String of(ContactListVersion version)
+    {
+        return weak(Long.toHexString(version.getLastSeq()) + "-" + Long.toHexString(version.getUnnumbered()));
+    }
+
+    //If-None-Match uses weak comparison: W/"1" matches "1"
+    static boolean noneMatchFails(String ifNoneMatch, String etag)
+    {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        etag = opaque(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            candidate = opaque(candidate.trim());
+            if (candidate.equals(ANY) || candidate.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The contact version an If-Match header requires, null when any version will do,
+     * or -1 when it can never match (a malformed tag).
+     */
+    static Long expectedVersion(String ifMatch)
+    {
+        if (ifMatch == null || ifMatch.trim().equals(ANY)) {
+            return null;
+        }
+        String tag = opaque(ifMatch.trim());
+        if (tag.length() < 2 || tag.charAt(0) != '"' || tag.charAt(tag.length() - 1) != '"') {
+            return -1L;
+        }
+        try {
+            return Long.parseLong(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException e) {
+            return -1L;
+        }
+    }
+
+    private static String opaque(String tag)
+    {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+
+    private static String weak(String value)
+    {
+        return "W/" + quote(value);
+    }
+
+    private static String quote(String value)
+    {
+        return "\"" + value + "\"";
+    }
+}
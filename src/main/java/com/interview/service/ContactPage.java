@@ -0,0 +1,35 @@
+package com.interview.service;
+
+import com.interview.dto.ContactDto;
+
+import java.util.List;
+
+/**
+ * A single page of contacts plus the cursor to request the next one.
+ * nextCursor is null once the last page has been reached.
+ *
+ * @author Mike Buschmeier
+ * @creation 17 October 2026
+ */
+public class ContactPage
+{
+
+    private final List<ContactDto> contacts;
+    private final String nextCursor;
+
+    public ContactPage(List<ContactDto> contacts, String nextCursor)
+    {
+        this.contacts = contacts;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<ContactDto> getContacts()
+    {
+        return contacts;
+    }
+
+    public String getNextCursor()
+    {
+        return nextCursor;
+    }
+}
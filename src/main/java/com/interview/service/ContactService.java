@@ -0,0 +1,374 @@
+package com.interview.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.interview.changes.ContactChangeSequencer;
+import com.interview.config.CacheConfig;
+import com.interview.dedup.MatchKeys;
+import com.interview.dto.ContactDto;
+import com.interview.exceptions.ContactNotFoundException;
+import com.interview.exceptions.DuplicateContactException;
+import com.interview.exceptions.PreconditionFailedException;
+import com.interview.persistance.entities.Contact;
+import com.interview.repositories.ContactChangeRepository;
+import com.interview.repositories.ContactListVersion;
+import com.interview.repositories.ContactRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Transactional write path for contacts, single and batched, and the reads that hand contacts
+ * out as ContactDto copies, made while the entities are still attached.
+ * Batches are committed in chunks so one bad chunk does not roll back the whole request
+ * and each chunk is written with JDBC batch statements. The unique match key keeps exact
+ * duplicates out, see MatchKeys.
+ *
+ * @author Mike Buschmeier
+ * @creation 17 October 2026
+ */
+@Service
+public class ContactService
+{
+
+    @Autowired
+    private ContactRepository contactRepository;
+
+    @Autowired
+    private ContactChangeRepository changeRepository;
+
+    @Autowired
+    private ContactChangeSequencer sequencer;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${contacts.batch.chunk-size:500}")
+    private int chunkSize;
+
+    //Read-through: writes put their copy after commit, so only the first lookup of an id reaches the database.
+    //The cache holds the immutable copy, so it is safe to share between requests, keyed per tenant.
+    //A contact deleted since it was cached is cached as null, so null means not found
+    @Cacheable(cacheNames = CacheConfig.CONTACT_CACHE, keyGenerator = CacheConfig.TENANT_KEY_GENERATOR)
+    @Transactional(readOnly = true)
+    public ContactDto findContact(long id)
+    {
+        return ContactDto.of(contactRepository.findWithDetailsById(id).orElseThrow(() -> new ContactNotFoundException(id)));
+    }
+
+    @Transactional(readOnly = true)
+    public List<ContactDto> findAllContacts()
+    {
+        return ContactDto.of(contactRepository.findAllWithDetails());
+    }
+
+    //Up to limit contacts with ids after afterId, in id order
+    @Transactional(readOnly = true)
+    public List<ContactDto> findContactsAfter(long afterId, int limit)
+    {
+        return ContactDto.of(contactRepository.findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.of(0, limit)));
+    }
+
+    @Transactional(readOnly = true)
+    public List<ContactDto> findContacts(Collection<Long> ids)
+    {
+        return ContactDto.of(contactRepository.findAllWithDetailsByIdIn(ids));
+    }
+
+    /**
+     * Create a contact, unless it has the same match key as an existing one. Then the existing
+     * contact is returned when idempotent, so a retried create does not add a second copy, and
+     * DuplicateContactException is thrown otherwise. The unique index on the key decides, so a
+     * create that is not a duplicate costs no extra select.
+     */
+    public Contact createContact(Contact newContact, boolean idempotent)
+    {
+        try {
+            return transactionTemplate.execute(status -> contactRepository.saveAndFlush(newContact));
+        } catch (DataIntegrityViolationException e) {
+            Long existingId = contactRepository.findIdsByMatchKey(Collections.singleton(newContact.getMatchKey()))
+                    .get(newContact.getMatchKey());
+            if (existingId == null) {
+                throw e;
+            }
+            if (!idempotent) {
+                throw new DuplicateContactException(existingId);
+            }
+            return contactRepository.findWithDetailsById(existingId).orElseThrow(() -> new ContactNotFoundException(existingId));
+        }
+    }
+
+    /**
+     * Replace a contact. When expectedVersion is given the update only applies if nobody
+     * else has changed the contact since the client read that version; a concurrent commit
+     * between our read and write is caught by the @Version check instead.
+     */
+    @Transactional
+    public Contact updateContact(long id, Contact newContact, Long expectedVersion)
+    {
+        Contact contact = findForWrite(id, expectedVersion);
+        checkNotDuplicate(contact, ContactChanges.replacedMatchKey(contact, newContact));
+        applyUpdate(newContact, contact);
+        contactRepository.flush();
+        return contact;
+    }
+
+    //Apply a JSON Merge Patch; only the columns it actually changes are written
+    @Transactional
+    public Contact patchContact(long id, JsonNode patch, Long expectedVersion)
+    {
+        Contact contact = findForWrite(id, expectedVersion);
+        ContactChanges.mergePatch(contact, patch, objectMapper);
+        checkNotDuplicate(contact, MatchKeys.matchKey(contact));
+        contactRepository.flush();
+        return contact;
+    }
+
+    @Transactional
+    public void deleteContact(long id, Long expectedVersion)
+    {
+        contactRepository.delete(findForWrite(id, expectedVersion));
+    }
+
+    /**
+     * Current list version, for validating the cached copy a client already holds. Changes
+     * written here are numbered first, so after a write the tag moves once rather than twice.
+     * Not transactional: numbering runs in transactions of its own.
+     */
+    public ContactListVersion findListVersion()
+    {
+        sequencer.sequencePending();
+        return changeRepository.findListVersion();
+    }
+
+    /**
+     * Create many contacts. Items that duplicate a stored contact or an earlier item are not
+     * created; as with createContact they are reported against the existing contact when
+     * idempotent and rejected otherwise.
+     */
+    public BatchResult createContacts(List<JsonNode> newContacts, boolean idempotent)
+    {
+        BatchResult result = new BatchResult();
+        for (int start = 0; start < newContacts.size(); start += chunkSize) {
+            List<BatchResult.Item> items = new ArrayList<>();
+            Map<String, BatchResult.Item> firsts = new LinkedHashMap<>();
+            Map<BatchResult.Item, BatchResult.Item> repeats = new LinkedHashMap<>();
+            Map<BatchResult.Item, Contact> contacts = new LinkedHashMap<>();
+            for (int i = start; i < Math.min(start + chunkSize, newContacts.size()); i++) {
+                BatchResult.Item item = result.add(i);
+                Contact contact = readContact(newContacts.get(i), item);
+                if (contact == null) {
+                    continue;
+                }
+                BatchResult.Item first = firsts.putIfAbsent(MatchKeys.matchKey(contact), item);
+                if (first != null) {
+                    repeats.put(item, first);
+                } else {
+                    items.add(item);
+                    contacts.put(item, contact);
+                }
+            }
+
+            //One select for the chunk tells which items are already stored
+            commitChunk(items, () -> {
+                Map<String, Long> existing = contactRepository.findIdsByMatchKey(firsts.keySet());
+                List<BatchResult.Item> creating = new ArrayList<>();
+                List<Contact> creatingContacts = new ArrayList<>();
+                for (Map.Entry<String, BatchResult.Item> first : firsts.entrySet()) {
+                    Long existingId = existing.get(first.getKey());
+                    if (existingId != null) {
+                        duplicate(first.getValue(), existingId, idempotent);
+                    } else {
+                        creating.add(first.getValue());
+                        creatingContacts.add(contacts.get(first.getValue()));
+                    }
+                }
+                List<Contact> saved = contactRepository.saveAll(creatingContacts);
+                contactRepository.flush();
+                for (int i = 0; i < saved.size(); i++) {
+                    creating.get(i).succeed(saved.get(i).getId(), BatchResult.Status.created);
+                }
+            });
+
+            //Repeats within the batch follow the outcome of their first occurrence
+            for (Map.Entry<BatchResult.Item, BatchResult.Item> repeat : repeats.entrySet()) {
+                BatchResult.Item first = repeat.getValue();
+                if (first.getId() != null && first.getStatus() != BatchResult.Status.failed) {
+                    duplicate(repeat.getKey(), first.getId(), idempotent);
+                } else {
+                    repeat.getKey().fail(null, first.getStatus(), first.getError());
+                }
+            }
+        }
+        return result;
+    }
+
+    public BatchResult updateContacts(List<JsonNode> newContacts)
+    {
+        BatchResult result = new BatchResult();
+        for (int start = 0; start < newContacts.size(); start += chunkSize) {
+            Map<Long, BatchResult.Item> items = new HashMap<>();
+            Map<Long, Contact> contacts = new HashMap<>();
+            for (int i = start; i < Math.min(start + chunkSize, newContacts.size()); i++) {
+                BatchResult.Item item = result.add(i);
+                Contact contact = readContact(newContacts.get(i), item);
+                if (contact == null) {
+                    continue;
+                }
+                if (contact.getId() == null) {
+                    item.fail(null, BatchResult.Status.invalid, "id is required");
+                } else if (items.containsKey(contact.getId())) {
+                    item.fail(contact.getId(), BatchResult.Status.invalid, "id appears more than once in this batch");
+                } else {
+                    item.identify(contact.getId());
+                    items.put(contact.getId(), item);
+                    contacts.put(contact.getId(), contact);
+                }
+            }
+
+            commitChunk(new ArrayList<>(items.values()), () -> {
+                List<Contact> found = contactRepository.findAllById(contacts.keySet());
+
+                //Keys the updates change to, checked against the stored contacts with one select
+                Map<Long, String> changedKeys = new HashMap<>();
+                for (Contact existing : found) {
+                    String key = ContactChanges.replacedMatchKey(existing, contacts.get(existing.getId()));
+                    if (!key.equals(existing.getMatchKey())) {
+                        changedKeys.put(existing.getId(), key);
+                    }
+                }
+                Map<String, Long> taken = contactRepository.findIdsByMatchKey(changedKeys.values());
+
+                for (Contact existing : found) {
+                    Long duplicateOf = taken.get(changedKeys.get(existing.getId()));
+                    if (duplicateOf != null && !duplicateOf.equals(existing.getId())) {
+                        items.get(existing.getId()).fail(existing.getId(), BatchResult.Status.duplicate, "Duplicate of contact " + duplicateOf);
+                        continue;
+                    }
+                    applyUpdate(contacts.get(existing.getId()), existing);
+                    items.get(existing.getId()).succeed(existing.getId(), BatchResult.Status.updated);
+                }
+                contactRepository.flush();
+            });
+            markMissing(items);
+        }
+        return result;
+    }
+
+    public BatchResult deleteContacts(List<Long> ids)
+    {
+        BatchResult result = new BatchResult();
+        for (int start = 0; start < ids.size(); start += chunkSize) {
+            Map<Long, BatchResult.Item> items = new HashMap<>();
+            for (int i = start; i < Math.min(start + chunkSize, ids.size()); i++) {
+                BatchResult.Item item = result.add(i);
+                Long id = ids.get(i);
+                if (id == null || items.containsKey(id)) {
+                    item.fail(id, BatchResult.Status.invalid, id == null ? "id is required" : "id appears more than once in this batch");
+                } else {
+                    item.identify(id);
+                    items.put(id, item);
+                }
+            }
+
+            commitChunk(new ArrayList<>(items.values()), () -> {
+                List<Contact> existing = contactRepository.findAllById(items.keySet());
+                contactRepository.deleteAll(existing);
+                contactRepository.flush();
+                for (Contact contact : existing) {
+                    items.get(contact.getId()).succeed(contact.getId(), BatchResult.Status.deleted);
+                }
+            });
+            markMissing(items);
+        }
+        return result;
+    }
+
+    private Contact findForWrite(long id, Long expectedVersion)
+    {
+        Contact contact = contactRepository.findById(id).orElseThrow(() -> new ContactNotFoundException(id));
+        if (expectedVersion != null && !expectedVersion.equals(contact.getVersion())) {
+            throw new PreconditionFailedException(id);
+        }
+        return contact;
+    }
+
+    //Refuse a change that would give the contact another contact's match key; only looks when the key changes
+    private void checkNotDuplicate(Contact contact, String matchKey)
+    {
+        if (!matchKey.equals(contact.getMatchKey())) {
+            Long existingId = contactRepository.findIdsByMatchKey(Collections.singleton(matchKey)).get(matchKey);
+            if (existingId != null && !existingId.equals(contact.getId())) {
+                throw new DuplicateContactException(existingId);
+            }
+        }
+    }
+
+    //Idempotent creates report the contact that already exists as their result, others reject the item
+    private static void duplicate(BatchResult.Item item, long existingId, boolean idempotent)
+    {
+        if (idempotent) {
+            item.succeed(existingId, BatchResult.Status.existing);
+        } else {
+            item.fail(existingId, BatchResult.Status.duplicate, "Duplicate of contact " + existingId);
+        }
+    }
+
+    //Bring the managed contact in line with the incoming one, keeping its existing child rows
+    private void applyUpdate(Contact source, Contact target)
+    {
+        ContactChanges.replace(target, source);
+    }
+
+    //Deserialize one batch item, recording a validation failure against the item instead of failing the batch
+    private Contact readContact(JsonNode node, BatchResult.Item item)
+    {
+        try {
+            return objectMapper.treeToValue(node, Contact.class);
+        } catch (JsonProcessingException e) {
+            item.fail(null, BatchResult.Status.invalid, e.getOriginalMessage());
+            return null;
+        }
+    }
+
+    //Run one chunk in its own transaction; if it rolls back every item in it is reported as failed
+    private void commitChunk(List<BatchResult.Item> items, Runnable work)
+    {
+        if (items.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> work.run());
+        } catch (RuntimeException e) {
+            for (BatchResult.Item item : items) {
+                item.fail(item.getId(), BatchResult.Status.failed, e.getMessage());
+            }
+        }
+    }
+
+    private void markMissing(Map<Long, BatchResult.Item> items)
+    {
+        for (Map.Entry<Long, BatchResult.Item> entry : items.entrySet()) {
+            if (entry.getValue().isPending()) {
+                entry.getValue().fail(entry.getKey(), BatchResult.Status.not_found, "Contact " + entry.getKey() + " not found");
+            }
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.interview.tenancy;
+
+import org.hibernate.context.spi.CurrentTenantIdentifierResolver;
+
+/**
+ * The tenant Hibernate opens each session for with contacts.tenancy.mode=schema: the current
+ * one, or the default tenant for work done outside of any.
+ *
+ * @author Mike Buschmeier
+ * @creation 18 October 2026
+ */
+public class CurrentTenantResolver implements CurrentTenantIdentifierResolver
+{
+
+    @Override
+    public String resolveCurrentTenantIdentifier()
+    {
+        return TenantContext.currentOrDefault();
+    }
+
+    @Override
+    public boolean validateExistingCurrentSessions()
+    {
+        return false;
+    }
+}
@@ -0,0 +1,109 @@
+package com.interview.tenancy;
+
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * The tenant the current thread works for.
+ *
+ * TenantRequestFilter sets it for each /contacts request, the task decorators in
+ * ExecutionConfig carry it over to the threads doing the request's work, and background
+ * jobs set it for each tenant they work through. TenantTransactionManager turns it into the
+ * tenant filter of every transaction's session. Threads without one, background jobs between
+ * tenants, see the rows of every tenant.
+ *
+ * @author Mike Buschmeier
+ * @creation 18 October 2026
+ */
+public final class TenantContext
+{
+
+    //Requests without a tenant header, and contacts written outside of any tenant's work
+    public static final String DEFAULT_TENANT = "default";
+
+    //Hibernate filter restricting contacts, their changes and import jobs to one tenant's rows
+    public static final String FILTER = "tenant";
+    public static final String FILTER_PARAMETER = "tenantId";
+
+    //Fits the tenant_id columns, and is safe to use in a schema name
+    private static final Pattern TENANT_ID = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private TenantContext()
+    {
+    }
+
+    //The tenant the current thread works for, or null
+    public static String current()
+    {
+        return CURRENT.get();
+    }
+
+    public static String currentOrDefault()
+    {
+        String tenant = CURRENT.get();
+        return tenant == null ? DEFAULT_TENANT : tenant;
+    }
+
+    public static boolean isValid(String tenant)
+    {
+        return tenant != null && TENANT_ID.matcher(tenant).matches();
+    }
+
+    public static void attach(String tenant)
+    {
+        if (tenant == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(tenant);
+        }
+    }
+
+    public static void detach()
+    {
+        CURRENT.remove();
+    }
+
+    //Do work for the given tenant, or for no tenant in particular when null
+    public static <T> T callAs(String tenant, Supplier<T> work)
+    {
+        String previous = current();
+        attach(tenant);
+        try {
+            return work.get();
+        } finally {
+            attach(previous);
+        }
+    }
+
+    public static void runAs(String tenant, Runnable work)
+    {
+        callAs(tenant, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    //Cache key of a contact of the current tenant. Another tenant asking for the same id never
+    //gets it from the cache, and with a schema per tenant the same id is a different contact per tenant
+    public static String cacheKey(Object id)
+    {
+        return cacheKey(currentOrDefault(), id);
+    }
+
+    public static String cacheKey(String tenant, Object id)
+    {
+        return tenant + ":" + id;
+    }
+
+    //Wrap a task so it works for the tenant of the thread submitting it
+    public static Runnable propagate(Runnable task)
+    {
+        String tenant = current();
+        if (tenant == null) {
+            return task;
+        }
+        return () -> runAs(tenant, task);
+    }
+}
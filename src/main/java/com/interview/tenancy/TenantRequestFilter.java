@@ -0,0 +1,86 @@
+package com.interview.tenancy;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Resolves the tenant of each /contacts request from the contacts.tenancy.header header
+ * (X-Tenant-Id) and sets it as the TenantContext for the request, async dispatches included.
+ *
+ * Requests without the header belong to the default tenant, unless contacts.tenancy.required
+ * is set, when they get 400. The header is trusted as sent, so in front of clients that must not
+ * choose their tenant it is to be set by a gateway that has authenticated them. With a schema
+ * per tenant, a tenant that has no schema and may not have one created gets 404.
+ *
+ * Runs before RateLimitFilter, which limits each tenant's clients separately when the header
+ * is trusted (contacts.tenancy.trusted).
+ *
+ * @author Mike Buschmeier
+ * @creation 18 October 2026
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 5)
+public class TenantRequestFilter extends OncePerRequestFilter
+{
+
+    @Value("${contacts.tenancy.header:X-Tenant-Id}")
+    private String header;
+
+    @Value("${contacts.tenancy.required:false}")
+    private boolean required;
+
+    @Autowired(required = false)
+    private TenantSchemas schemas;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request)
+    {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !path.equals("/contacts") && !path.startsWith("/contacts/");
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch()
+    {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException
+    {
+        String tenant = request.getHeader(header);
+        if (tenant == null || tenant.isEmpty()) {
+            if (required) {
+                response.sendError(HttpStatus.BAD_REQUEST.value(), "The " + header + " header is required");
+                return;
+            }
+            tenant = TenantContext.DEFAULT_TENANT;
+        } else if (!TenantContext.isValid(tenant)) {
+            response.sendError(HttpStatus.BAD_REQUEST.value(), "Invalid " + header + " header");
+            return;
+        }
+        if (schemas != null && !schemas.isKnown(tenant)) {
+            response.sendError(HttpStatus.NOT_FOUND.value(), "Unknown tenant");
+            return;
+        }
+
+        TenantContext.attach(tenant);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            TenantContext.detach();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.interview.tenancy;
+
+import org.hibernate.engine.jdbc.connections.spi.MultiTenantConnectionProvider;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Hands Hibernate pooled connections switched to the schema of the session's tenant.
+ * Hikari puts the pool's schema back when a connection is returned.
+ *
+ * @author Mike Buschmeier
+ * @creation 18 October 2026
+ */
+public class TenantSchemaConnectionProvider implements MultiTenantConnectionProvider
+{
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient DataSource dataSource;
+    private final transient TenantSchemas schemas;
+
+    public TenantSchemaConnectionProvider(DataSource dataSource, TenantSchemas schemas)
+    {
+        this.dataSource = dataSource;
+        this.schemas = schemas;
+    }
+
+    //Schema metadata and validation, which use the default schema
+    @Override
+    public Connection getAnyConnection() throws SQLException
+    {
+        return dataSource.getConnection();
+    }
+
+    @Override
+    public void releaseAnyConnection(Connection connection) throws SQLException
+    {
+        connection.close();
+    }
+
+    //Provisioned before a connection is taken: creating the schema takes one of its own
+    @Override
+    public Connection getConnection(String tenant) throws SQLException
+    {
+        String schema = schemas.provision(tenant);
+        Connection connection = dataSource.getConnection();
+        try {
+            connection.setSchema(schema);
+        } catch (SQLException e) {
+            connection.close();
+            throw e;
+        }
+        return connection;
+    }
+
+    @Override
+    public void releaseConnection(String tenant, Connection connection) throws SQLException
+    {
+        connection.close();
+    }
+
+    @Override
+    public boolean supportsAggressiveRelease()
+    {
+        return false;
+    }
+
+    //Hibernate's Wrapped declares the parameter as a raw Class, which a Class<?> cannot override;
+    //checked through a Class<?> so calling its generic methods is not unchecked
+    @Override
+    @SuppressWarnings("rawtypes")
+    public boolean isUnwrappableAs(Class unwrapType)
+    {
+        Class<?> type = unwrapType;
+        return type.isInstance(this) || type.isAssignableFrom(DataSource.class);
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> unwrapType)
+    {
+        if (unwrapType.isInstance(this)) {
+            return unwrapType.cast(this);
+        }
+        if (unwrapType.isAssignableFrom(DataSource.class)) {
+            return unwrapType.cast(dataSource);
+        }
+        throw new IllegalArgumentException("Cannot unwrap to " + unwrapType.getName());
+    }
+}
@@ -0,0 +1,107 @@
+package com.interview.tenancy;
+
+import org.flywaydb.core.Flyway;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The schemas of contacts.tenancy.mode=schema: one per tenant, named schema-prefix followed by
+ * the tenant id, each with its own copy of the tables and migrated by Flyway like the default one.
+ *
+ * On startup the schemas already in the database are migrated, so new versions reach every
+ * tenant. Only tenants on contacts.tenancy.tenants get a schema created, on their first request;
+ * a request for any other tenant without a schema is answered 404 by TenantRequestFilter, so
+ * made up tenant ids cannot fill the database with schemas. Each tenant is provisioned under a
+ * lock of its own, so one tenant's migration does not hold up requests of the others.
+ *
+ * @author Mike Buschmeier
+ * @creation 18 October 2026
+ */
+public class TenantSchemas
+{
+
+    private static final Logger log = LoggerFactory.getLogger(TenantSchemas.class);
+
+    private final DataSource dataSource;
+    private final String prefix;
+    private final String[] locations;
+    private final Set<String> allowed;
+
+    //Tenants whose schema is migrated to the current version
+    private final Set<String> migrated = ConcurrentHashMap.newKeySet();
+
+    //A lock per tenant, only ever for tenants with a schema or on the allow-list
+    private final ConcurrentMap<String, Object> locks = new ConcurrentHashMap<>();
+
+    public TenantSchemas(DataSource dataSource, String prefix, String[] locations, String[] allowed)
+    {
+        this.dataSource = dataSource;
+        this.prefix = prefix;
+        this.locations = locations;
+        this.allowed = new HashSet<>(Arrays.asList(allowed));
+    }
+
+    //Migrate the schema of every tenant found in the database
+    public void migrateExisting() throws SQLException
+    {
+        List<String> tenants = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection();
+             ResultSet schemas = connection.getMetaData().getSchemas()) {
+            while (schemas.next()) {
+                String schema = schemas.getString("TABLE_SCHEM");
+                if (schema.startsWith(prefix) && TenantContext.isValid(schema.substring(prefix.length()))) {
+                    tenants.add(schema.substring(prefix.length()));
+                }
+            }
+        }
+        for (String tenant : tenants) {
+            migrate(tenant);
+        }
+        log.info("Migrated the schemas of {} tenants", tenants.size());
+    }
+
+    //Whether the tenant has a schema, or may have one created
+    public boolean isKnown(String tenant)
+    {
+        return migrated.contains(tenant) || allowed.contains(tenant);
+    }
+
+    //The tenant's schema, created and migrated first if this instance has not done so yet
+    public String provision(String tenant)
+    {
+        if (!migrated.contains(tenant)) {
+            if (!allowed.contains(tenant)) {
+                throw new IllegalArgumentException("Unknown tenant " + tenant);
+            }
+            migrate(tenant);
+        }
+        return prefix + tenant;
+    }
+
+    private void migrate(String tenant)
+    {
+        synchronized (locks.computeIfAbsent(tenant, t -> new Object())) {
+            if (!migrated.contains(tenant)) {
+                Flyway.configure().dataSource(dataSource).schemas(prefix + tenant).locations(locations).load().migrate();
+                migrated.add(tenant);
+            }
+        }
+    }
+
+    public List<String> tenants()
+    {
+        return new ArrayList<>(migrated);
+    }
+}
@@ -0,0 +1,39 @@
+package com.interview.tenancy;
+
+import org.hibernate.Session;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * JPA transaction manager that restricts the session of every transaction to the rows of the
+ * current tenant, by enabling the tenant filter on it. Queries, the repositories' derived ones
+ * included, then only read that tenant's contacts, changes and import jobs, and with indexes
+ * leading on tenant_id only scan them.
+ *
+ * The filter is set when the transaction begins, on a new session or on one already open for
+ * the request. Filters do not apply to loading an entity by id, which is why the repositories
+ * look up ids with queries, and repository query methods run in a transaction of their own when
+ * called outside of one, so none of them reads with a session this manager has not seen.
+ *
+ * @author Mike Buschmeier
+ * @creation 18 October 2026
+ */
+public class TenantTransactionManager extends JpaTransactionManager
+{
+
+    @Override
+    protected void doBegin(Object transaction, TransactionDefinition definition)
+    {
+        super.doBegin(transaction, definition);
+        EntityManagerHolder holder = (EntityManagerHolder) TransactionSynchronizationManager.getResource(obtainEntityManagerFactory());
+        Session session = holder.getEntityManager().unwrap(Session.class);
+        String tenant = TenantContext.current();
+        if (tenant != null) {
+            session.enableFilter(TenantContext.FILTER).setParameter(TenantContext.FILTER_PARAMETER, tenant);
+        } else {
+            session.disableFilter(TenantContext.FILTER);
+        }
+    }
+}
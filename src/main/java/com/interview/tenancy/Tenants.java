@@ -0,0 +1,52 @@
+package com.interview.tenancy;
+
+import com.interview.repositories.ContactRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The tenants background jobs work through.
+ *
+ * With a tenant_id column on shared tables these are the tenants with contacts, and the tables
+ * form a single partition. With a schema per tenant every tenant is a partition of its own.
+ *
+ * @author Mike Buschmeier
+ * @creation 18 October 2026
+ */
+@Component
+public class Tenants
+{
+
+    @Autowired
+    private ContactRepository contactRepository;
+
+    @Autowired(required = false)
+    private TenantSchemas schemas;
+
+    //Every tenant with data, for work that has to be done for one tenant at a time
+    public List<String> all()
+    {
+        if (schemas != null) {
+            return schemas.tenants();
+        }
+        return TenantContext.callAs(null, contactRepository::findTenantIds);
+    }
+
+    /**
+     * Tenants owning a separate copy of the tables, for work that can cover all tenants at once.
+     * A single null, for no tenant in particular, when all tenants share the tables.
+     */
+    public List<String> partitions()
+    {
+        return schemas != null ? schemas.tenants() : Collections.singletonList(null);
+    }
+
+    //The partition holding a tenant's rows: the tenant itself, or null when all tenants share the tables
+    public String partitionOf(String tenant)
+    {
+        return schemas != null ? tenant : null;
+    }
+}
@@ -0,0 +1,63 @@
+package com.interview.validation;
+
+/**
+ * Validates e-mail addresses of the form local@label.domain without regular expressions.
+ *
+ * Accepts exactly what ^[a-zA-Z0-9_.+-]+@[a-zA-Z0-9-]+\.[a-zA-Z0-9-.]+$ accepts, in a single
+ * pass over the characters and without allocating, so it is cheap enough for bulk imports.
+ *
+ * @author Mike Buschmeier
+ * @creation 17 October 2026
+ */
+public final class EmailFormat
+{
+
+    private EmailFormat()
+    {
+    }
+
+    public static boolean isValid(CharSequence email)
+    {
+        if (email == null) {
+            return false;
+        }
+        int length = email.length();
+        int i = 0;
+
+        //Local part, up to the @
+        while (i < length && isLocalChar(email.charAt(i))) {
+            i++;
+        }
+        if (i == 0 || i == length || email.charAt(i) != '@') {
+            return false;
+        }
+        i++;
+
+        //First domain label, up to the first dot
+        int labelStart = i;
+        while (i < length && isLabelChar(email.charAt(i))) {
+            i++;
+        }
+        if (i == labelStart || i == length || email.charAt(i) != '.') {
+            return false;
+        }
+        i++;
+
+        //Remainder of the domain, dots allowed
+        int domainStart = i;
+        while (i < length && (isLabelChar(email.charAt(i)) || email.charAt(i) == '.')) {
+            i++;
+        }
+        return i > domainStart && i == length;
+    }
+
+    private static boolean isLocalChar(char c)
+    {
+        return isLabelChar(c) || c == '_' || c == '.' || c == '+';
+    }
+
+    private static boolean isLabelChar(char c)
+    {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '-';
+    }
+}
@@ -0,0 +1,39 @@
+package com.interview.validation;
+
+/**
+ * Validates 10 digit USA formatted (XXX-XXX-XXXX) phone numbers without regular expressions.
+ *
+ * Equivalent to \d{3}-\d{3}-\d{4}, checked character by character without allocating.
+ *
+ * @author Mike Buschmeier
+ * @creation 17 October 2026
+ */
+public final class PhoneNumberFormat
+{
+
+    private static final int LENGTH = 12;
+    private static final int FIRST_DASH = 3;
+    private static final int SECOND_DASH = 7;
+
+    private PhoneNumberFormat()
+    {
+    }
+
+    public static boolean isValid(CharSequence number)
+    {
+        if (number == null || number.length() != LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < LENGTH; i++) {
+            char c = number.charAt(i);
+            if (i == FIRST_DASH || i == SECOND_DASH) {
+                if (c != '-') {
+                    return false;
+                }
+            } else if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
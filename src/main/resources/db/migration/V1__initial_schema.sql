@@ -0,0 +1,75 @@
+-- Contacts with name, address and phones in tables of their own, as first released with the file database.
+
+CREATE SEQUENCE contact_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE name_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE address_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE phone_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE import_job_seq START WITH 1 INCREMENT BY 1;
+
+CREATE TABLE name (
+    id BIGINT NOT NULL,
+    first VARCHAR(255),
+    middle VARCHAR(255),
+    last VARCHAR(255),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE address (
+    id BIGINT NOT NULL,
+    street VARCHAR(255),
+    city VARCHAR(255),
+    state VARCHAR(255),
+    zip VARCHAR(255),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE contacts (
+    id BIGINT NOT NULL,
+    name_id BIGINT,
+    address_id BIGINT,
+    email VARCHAR(255),
+    version BIGINT,
+    updated_at TIMESTAMP,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_contacts_name FOREIGN KEY (name_id) REFERENCES name (id),
+    CONSTRAINT fk_contacts_address FOREIGN KEY (address_id) REFERENCES address (id)
+);
+
+CREATE TABLE phone (
+    id BIGINT NOT NULL,
+    contact_id BIGINT NOT NULL,
+    number VARCHAR(255),
+    type INTEGER,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_phone_contact FOREIGN KEY (contact_id) REFERENCES contacts (id)
+);
+
+-- The contact graph loads join from contacts to name and address and from phone to contacts
+CREATE INDEX idx_contacts_name_id ON contacts (name_id);
+CREATE INDEX idx_contacts_address_id ON contacts (address_id);
+CREATE INDEX idx_phone_contact_id ON phone (contact_id);
+
+CREATE TABLE import_jobs (
+    id BIGINT NOT NULL,
+    format VARCHAR(255),
+    source VARCHAR(255),
+    status VARCHAR(255),
+    processed BIGINT NOT NULL,
+    imported BIGINT NOT NULL,
+    rejected BIGINT NOT NULL,
+    resumed_from BIGINT NOT NULL,
+    error VARCHAR(255),
+    created_at TIMESTAMP,
+    started_at TIMESTAMP,
+    updated_at TIMESTAMP,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE import_job_rejections (
+    job_id BIGINT NOT NULL,
+    position INTEGER NOT NULL,
+    record BIGINT NOT NULL,
+    error VARCHAR(255),
+    PRIMARY KEY (job_id, position),
+    CONSTRAINT fk_import_job_rejections_job FOREIGN KEY (job_id) REFERENCES import_jobs (id)
+);
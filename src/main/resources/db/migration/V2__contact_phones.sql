@@ -0,0 +1,18 @@
+-- Moves phones from the phone table (own id, contact_id foreign key) into contact_phones,
+-- where they are values of their contact ordered by position. Existing phone order is kept.
+
+CREATE TABLE contact_phones (
+    contact_id BIGINT NOT NULL,
+    position INTEGER NOT NULL,
+    number VARCHAR(255),
+    type INTEGER,
+    PRIMARY KEY (contact_id, position),
+    CONSTRAINT fk_contact_phones_contact FOREIGN KEY (contact_id) REFERENCES contacts (id)
+);
+
+INSERT INTO contact_phones (contact_id, position, number, type)
+SELECT contact_id, ROW_NUMBER() OVER (PARTITION BY contact_id ORDER BY id) - 1, number, type
+FROM phone;
+
+DROP TABLE phone;
+DROP SEQUENCE phone_seq;
@@ -0,0 +1,27 @@
+-- Moves names and addresses from their own tables into columns of the contacts row.
+
+ALTER TABLE contacts ADD COLUMN first_name VARCHAR(255);
+ALTER TABLE contacts ADD COLUMN middle_name VARCHAR(255);
+ALTER TABLE contacts ADD COLUMN last_name VARCHAR(255);
+ALTER TABLE contacts ADD COLUMN street VARCHAR(255);
+ALTER TABLE contacts ADD COLUMN city VARCHAR(255);
+ALTER TABLE contacts ADD COLUMN state VARCHAR(255);
+ALTER TABLE contacts ADD COLUMN zip VARCHAR(255);
+
+UPDATE contacts c SET (first_name, middle_name, last_name) =
+    (SELECT n.first, n.middle, n.last FROM name n WHERE n.id = c.name_id)
+WHERE c.name_id IS NOT NULL;
+
+UPDATE contacts c SET (street, city, state, zip) =
+    (SELECT a.street, a.city, a.state, a.zip FROM address a WHERE a.id = c.address_id)
+WHERE c.address_id IS NOT NULL;
+
+-- CASCADE also drops the foreign keys from contacts to these tables
+DROP TABLE name CASCADE;
+DROP TABLE address CASCADE;
+DROP INDEX IF EXISTS idx_contacts_name_id;
+DROP INDEX IF EXISTS idx_contacts_address_id;
+ALTER TABLE contacts DROP COLUMN name_id;
+ALTER TABLE contacts DROP COLUMN address_id;
+DROP SEQUENCE name_seq;
+DROP SEQUENCE address_seq;
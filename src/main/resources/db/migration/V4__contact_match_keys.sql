@@ -0,0 +1,11 @@
+-- Normalized keys for finding duplicate contacts. Rows written before this version have null keys
+-- until the duplicate merge job fills them in; null keys never collide in the unique index.
+
+-- Hash of the normalized name, e-mail and phone digits: two contacts with the same key are exact duplicates
+ALTER TABLE contacts ADD COLUMN match_key VARCHAR(64);
+
+-- Normalized first and last name: near-duplicates are only looked for among contacts sharing one
+ALTER TABLE contacts ADD COLUMN name_key VARCHAR(255);
+
+CREATE UNIQUE INDEX ux_contacts_match_key ON contacts (match_key);
+CREATE INDEX idx_contacts_name_key ON contacts (name_key);
@@ -0,0 +1,25 @@
+-- Change feed: one row per committed contact write, numbered in commit order.
+-- Compaction keeps only the latest change of each contact, and deletions only for a while.
+
+CREATE TABLE contact_changes (
+    seq BIGINT NOT NULL,
+    contact_id BIGINT NOT NULL,
+    type VARCHAR(16) NOT NULL,
+    version BIGINT,
+    changed_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (seq)
+);
+
+-- Compaction looks for a later change of the same contact
+CREATE INDEX idx_contact_changes_contact_id ON contact_changes (contact_id, seq);
+
+-- A single row: the last sequence number handed out, locked by each writing transaction so numbers
+-- follow commit order, and the sequence number up to which deletions have been compacted away
+CREATE TABLE change_feed_state (
+    id INTEGER NOT NULL,
+    last_seq BIGINT NOT NULL,
+    purged_through BIGINT NOT NULL,
+    PRIMARY KEY (id)
+);
+
+INSERT INTO change_feed_state (id, last_seq, purged_through) VALUES (1, 0, 0);
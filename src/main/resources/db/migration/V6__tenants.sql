@@ -0,0 +1,21 @@
+-- Tenants: contacts, their changes and import jobs belong to the tenant that wrote them. Rows written
+-- before this version belong to the default tenant. Phones are only reached through their contact's id.
+
+ALTER TABLE contacts ADD COLUMN tenant_id VARCHAR(64) DEFAULT 'default' NOT NULL;
+ALTER TABLE contact_changes ADD COLUMN tenant_id VARCHAR(64) DEFAULT 'default' NOT NULL;
+ALTER TABLE import_jobs ADD COLUMN tenant_id VARCHAR(64) DEFAULT 'default' NOT NULL;
+
+-- Every query is restricted to one tenant, so the indexes lead on tenant_id and only cover that tenant's rows.
+-- Match keys are unique per tenant: two tenants may each hold the same person.
+DROP INDEX ux_contacts_match_key;
+DROP INDEX idx_contacts_name_key;
+CREATE UNIQUE INDEX ux_contacts_tenant_match_key ON contacts (tenant_id, match_key);
+CREATE INDEX idx_contacts_tenant_name_key ON contacts (tenant_id, name_key);
+
+-- Keyset pages, the list version and the export walk a tenant's contacts in id order
+CREATE INDEX idx_contacts_tenant_id ON contacts (tenant_id, id);
+
+-- A tenant's change feed in sequence order
+CREATE INDEX idx_contact_changes_tenant_seq ON contact_changes (tenant_id, seq);
+
+CREATE INDEX idx_import_jobs_tenant_id ON import_jobs (tenant_id, id);
@@ -0,0 +1,15 @@
+-- Changes are inserted without a sequence number and numbered by the sequencer once committed, so writing
+-- transactions no longer lock change_feed_state. Rows get an id of their own; seq is null until numbered.
+
+ALTER TABLE contact_changes ADD COLUMN id BIGINT;
+UPDATE contact_changes SET id = seq;
+ALTER TABLE contact_changes DROP PRIMARY KEY;
+ALTER TABLE contact_changes ALTER COLUMN id SET NOT NULL;
+ALTER TABLE contact_changes ADD PRIMARY KEY (id);
+ALTER TABLE contact_changes ALTER COLUMN seq SET NULL;
+
+-- Readers page by seq; the sequencer looks up the rows still without one (nulls do not collide)
+CREATE UNIQUE INDEX ux_contact_changes_seq ON contact_changes (seq);
+
+CREATE SEQUENCE contact_change_seq START WITH 1 INCREMENT BY 50;
+ALTER SEQUENCE contact_change_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 1 FROM contact_changes);
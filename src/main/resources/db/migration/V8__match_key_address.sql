@@ -0,0 +1,4 @@
+-- Match keys now include the normalized address. Keys computed without it are cleared, and the duplicate
+-- merge job computes them again, merging the contacts whose new keys collide; null keys never collide.
+
+UPDATE contacts SET match_key = NULL;
@@ -2,7 +2,15 @@ package com.interview;
 
 import com.fasterxml.jackson.core.JsonParseException;
 import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.interview.changes.ContactChangeCompactor;
+import com.interview.changes.ContactChangeSequencer;
+import com.interview.config.CacheConfig;
+import com.interview.dedup.DuplicateMergeJob;
+import com.interview.dto.ContactDto;
 import com.interview.exceptions.IncorrectEmailFormatException;
 import com.interview.exceptions.IncorrectPhoneNumberFormatException;
 import com.interview.persistance.entities.Address;
@@ -10,26 +18,59 @@ import com.interview.persistance.entities.Contact;
 import com.interview.persistance.entities.Name;
 import com.interview.persistance.entities.Phone;
 import com.interview.repositories.ContactRepository;
+import com.interview.search.ContactSearchIndex;
+import com.interview.search.ContactSearchIndexLoader;
+import com.interview.search.TenantSearchIndexes;
 import com.interview.service.ContactController;
+import com.interview.service.ContactCursor;
+import com.interview.tenancy.TenantContext;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.context.web.WebAppConfiguration;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.ResultHandler;
+import org.springframework.test.web.servlet.ResultMatcher;
+import org.springframework.util.StreamUtils;
 import org.springframework.web.context.WebApplicationContext;
 
+import javax.persistence.EntityManagerFactory;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 /**
@@ -37,12 +78,17 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  */
 
 @ExtendWith(SpringExtension.class)
-@SpringBootTest(properties = {"spring.config.name=application-test-h2","application.trx.datasource.url=jdbc:h2:mem:trxServiceStatus"})
+@SpringBootTest(properties = {"spring.config.name=application-test-h2","application.trx.datasource.url=jdbc:h2:mem:trxServiceStatus",
+        "spring.jpa.hibernate.ddl-auto=validate","contacts.execution-mode=async","management.endpoints.web.exposure.include=prometheus",
+        "contacts.import.chunk-size=2","contacts.changes.deletion-retention=PT0S"})
 @AutoConfigureMockMvc
 @WebAppConfiguration
 public class ContactControllerTest
 {
 
+    private static final String SMILE_VALUE = "application/x-jackson-smile";
+    private static final MediaType SMILE = MediaType.parseMediaType(SMILE_VALUE);
+
     @Autowired
     private ContactController controller;
 
@@ -58,6 +104,33 @@ public class ContactControllerTest
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private DuplicateMergeJob duplicateMergeJob;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ContactChangeCompactor changeCompactor;
+
+    @Autowired
+    private ContactChangeSequencer sequencer;
+
+    @Autowired
+    private TenantSearchIndexes searchIndexes;
+
+    @Autowired
+    private ContactSearchIndexLoader searchIndexLoader;
+
     /**
         Test getting a single contact via HTTP GET /contacts/{1}
      */
@@ -75,7 +148,7 @@ public class ContactControllerTest
 
         //Test the REST end point with only the 2nd contact
         String uri = "/contacts/"+contact.getId();
-        MvcResult mvcResult = mockMvc.perform(get(uri)
+        MvcResult mvcResult = perform(get(uri)
                 .accept(MediaType.APPLICATION_JSON_VALUE)).andReturn();
 
         int status = mvcResult.getResponse().getStatus();
@@ -111,7 +184,7 @@ public class ContactControllerTest
 
         //Test the REST end point
         String uri = "/contacts";
-        MvcResult mvcResult = mockMvc.perform(get(uri)
+        MvcResult mvcResult = perform(get(uri)
                 .accept(MediaType.APPLICATION_JSON_VALUE)).andReturn();
 
         int status = mvcResult.getResponse().getStatus();
@@ -134,6 +207,52 @@ public class ContactControllerTest
         assertEquals(contactList[1].getName().getLast(), name2.getLast());
     }
 
+    /**
+        Test the full list and single contacts can be read and written as Smile and CBOR, and are smaller than JSON
+    */
+    @Test
+    @DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+    void binaryWireFormatsTest() throws Exception {
+
+        for (int i = 0; i < 20; i++) {
+            contactRepository.saveAndFlush(createContact(new Name("First " + i, "Middle", "Last " + i)));
+        }
+        int jsonSize = perform(get("/contacts").accept(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse().getContentAsByteArray().length;
+
+        ObjectMapper smileMapper = new ObjectMapper(new SmileFactory());
+        MvcResult mvcResult = perform(get("/contacts").accept(SMILE)).andReturn();
+        assertEquals(200, mvcResult.getResponse().getStatus());
+        assertEquals(SMILE_VALUE, mvcResult.getResponse().getContentType());
+        byte[] smile = mvcResult.getResponse().getContentAsByteArray();
+        assertEquals(20, smileMapper.readTree(smile).size());
+        assertThat(smile.length).isLessThan(jsonSize / 2);
+
+        //A contact posted as CBOR comes back the same as CBOR
+        ObjectMapper cborMapper = new ObjectMapper(new CBORFactory());
+        Contact contact = createContact(new Name("Harold", "Francis", "Gilkey"));
+        contact.setEmail("harold@gilkey.com");
+        mvcResult = perform(post("/contacts")
+                .contentType(MediaType.APPLICATION_CBOR)
+                .accept(MediaType.APPLICATION_CBOR)
+                .content(cborMapper.writeValueAsBytes(contact)))
+                .andExpect(status().isOk()).andReturn();
+        JsonNode created = cborMapper.readTree(mvcResult.getResponse().getContentAsByteArray());
+        assertEquals("Harold", created.get("name").get("first").asText());
+        assertEquals(2, created.get("phone").size());
+
+        mvcResult = perform(get("/contacts/" + created.get("id").asLong()).accept(SMILE)).andReturn();
+        assertEquals("harold@gilkey.com", smileMapper.readTree(mvcResult.getResponse().getContentAsByteArray()).get("email").asText());
+
+        //Every encoding has the same weak tag, and caches are told the body depends on Accept, 304s included
+        String etag = mvcResult.getResponse().getHeader("ETag");
+        assertTrue(etag.startsWith("W/\""));
+        assertTrue(mvcResult.getResponse().getHeaders("Vary").contains("Accept"));
+        mvcResult = perform(get("/contacts/" + created.get("id").asLong()).accept(MediaType.APPLICATION_CBOR)
+                .header("If-None-Match", etag)).andExpect(status().isNotModified()).andReturn();
+        assertTrue(mvcResult.getResponse().getHeaders("Vary").contains("Accept"));
+    }
+
     /**
         Test updating a single contact via HTTP PUT /contacts/{1}
     */
@@ -157,7 +276,7 @@ public class ContactControllerTest
         assertEquals(contact.getName().getMiddle(), contactEntities.get(0).getName().getMiddle());
         assertEquals(contact.getName().getLast(), contactEntities.get(0).getName().getLast());
 
-        mockMvc.perform(put("/contacts/"+contact.getId(), 42L)
+        perform(put("/contacts/"+contact.getId(), 42L)
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(contactJson))
                 .andExpect(status().isOk());
@@ -187,7 +306,7 @@ public class ContactControllerTest
         List<Contact> contactEntities = contactRepository.findAll();
         assertEquals(0, contactEntities.size());
 
-        mockMvc.perform(post("/contacts", 42L)
+        perform(post("/contacts", 42L)
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(contactJson))
                 .andExpect(status().isOk());
@@ -199,6 +318,17 @@ public class ContactControllerTest
 
         //Assert the e-mail value is the same.
         assertThat(contactEntities.get(0).getEmail()).isEqualTo("harold.gilkey@yahoo.com");
+
+        //A contact without phones has an empty phone list, in the POST response as when read back
+        JsonNode created = objectMapper.readTree(perform(post("/contacts")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":{\"first\":\"Hank\",\"last\":\"Gilkey\"},\"email\":\"hank.gilkey@yahoo.com\"}"))
+                .andReturn().getResponse().getContentAsString());
+        assertTrue(created.get("phone").isArray());
+        assertEquals(0, created.get("phone").size());
+        JsonNode read = objectMapper.readTree(perform(get("/contacts/" + created.get("id").asLong()))
+                .andReturn().getResponse().getContentAsString());
+        assertEquals(created.get("phone"), read.get("phone"));
     }
 
     /**
@@ -221,7 +351,7 @@ public class ContactControllerTest
         assertEquals(2, contactRepository.findAll().size());
 
         //Test the REST end point with only the 2nd contact
-        MvcResult mvcResult = mockMvc.perform(delete("/contacts/"+contactToDelete.getId())).andReturn();
+        MvcResult mvcResult = perform(delete("/contacts/"+contactToDelete.getId())).andReturn();
 
         int status = mvcResult.getResponse().getStatus();
         assertEquals(200, status);
@@ -250,7 +380,7 @@ public class ContactControllerTest
         List<Contact> contactEntities = contactRepository.findAll();
         assertEquals(0, contactEntities.size());
 
-        mockMvc.perform(post("/contacts", 42L)
+        perform(post("/contacts", 42L)
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(contactJson))
                 .andExpect(status().isBadRequest());
@@ -274,7 +404,7 @@ public class ContactControllerTest
         List<Contact> contactEntities = contactRepository.findAll();
         assertEquals(0, contactEntities.size());
 
-        mockMvc.perform(post("/contacts", 42L)
+        perform(post("/contacts", 42L)
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(contactJson))
                 .andExpect(status().isBadRequest());
@@ -284,6 +414,866 @@ public class ContactControllerTest
         assertEquals(0, contactEntities.size());
     }
 
+    /**
+        Test walking all contacts page by page via HTTP GET /contacts/page
+    */
+    @Test
+    @DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+    void getContactPagesTest() throws Exception {
+
+        //Create and insert 3 contacts into the DB
+        for (int i = 1; i <= 3; i++) {
+            contactRepository.saveAndFlush(createContact(new Name("First testName " + i, "PAGE", "Last testName " + i)));
+        }
+
+        //First page holds 2 contacts and a cursor to the rest
+        MvcResult mvcResult = perform(get("/contacts/page?limit=2")
+                .accept(MediaType.APPLICATION_JSON_VALUE)).andReturn();
+        assertEquals(200, mvcResult.getResponse().getStatus());
+        JsonNode page = objectMapper.readTree(mvcResult.getResponse().getContentAsString());
+        assertEquals(2, page.get("contacts").size());
+        assertEquals("First testName 1", page.get("contacts").get(0).get("name").get("first").asText());
+        String cursor = page.get("nextCursor").asText();
+
+        //Second page holds the last contact and no further cursor
+        mvcResult = perform(get("/contacts/page?limit=2&cursor=" + cursor)
+                .accept(MediaType.APPLICATION_JSON_VALUE)).andReturn();
+        page = objectMapper.readTree(mvcResult.getResponse().getContentAsString());
+        assertEquals(1, page.get("contacts").size());
+        assertEquals("First testName 3", page.get("contacts").get(0).get("name").get("first").asText());
+        assertTrue(page.get("nextCursor").isNull());
+
+        //A tampered cursor is rejected
+        perform(get("/contacts/page?cursor=notACursor"))
+                .andExpect(status().isBadRequest());
+    }
+
+    /**
+        Test streaming all contacts as NDJSON via HTTP GET /contacts
+    */
+    @Test
+    @DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+    void streamAllContactsTest() throws Exception {
+
+        //Create and insert 2 contacts into the DB
+        Name name = new Name("First testName 1", "NDJSON", "Last testName 1");
+        contactRepository.saveAndFlush(createContact(name));
+        Name name2 = new Name("First testName 2", "NDJSON", "Last testName 2");
+        contactRepository.saveAndFlush(createContact(name2));
+
+        MvcResult mvcResult = mockMvc.perform(get("/contacts")
+                .accept(ContactController.APPLICATION_NDJSON_VALUE))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String content = mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        //One contact per line, in id order
+        String[] lines = content.split("\n");
+        assertEquals(2, lines.length);
+        assertEquals(name.getFirst(), mapFromJson(lines[0], Contact.class).getName().getFirst());
+        assertEquals(name2.getFirst(), mapFromJson(lines[1], Contact.class).getName().getFirst());
+    }
+
+    /**
+        Test creating, updating and deleting contacts in bulk via HTTP POST/PUT/DELETE /contacts/batch
+    */
+    @Test
+    @DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+    void batchCreateUpdateDeleteTest() throws Exception {
+
+        //Second item has a badly formed e-mail and must be rejected on its own
+        String contactsJson = "[{\"name\":{\"first\":\"Harold\",\"middle\":\"Francis\",\"last\":\"Gilkey\"},\"email\":\"harold.gilkey@yahoo.com\"},"
+                + "{\"name\":{\"first\":\"Bad\",\"last\":\"Email\"},\"email\":\"NotAProperEmailFormat\"},"
+                + "{\"name\":{\"first\":\"Bob\",\"last\":\"Barker\"},\"phone\":[{\"number\":\"302-611-9148\",\"type\":\"home\"}],\"email\":\"bob.barker@yahoo.com\"}]";
+
+        MvcResult mvcResult = perform(post("/contacts/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(contactsJson))
+                .andExpect(status().isOk())
+                .andReturn();
+        JsonNode result = objectMapper.readTree(mvcResult.getResponse().getContentAsString());
+        assertEquals(2, result.get("succeeded").asInt());
+        assertEquals("created", result.get("items").get(0).get("status").asText());
+        assertEquals("invalid", result.get("items").get(1).get("status").asText());
+        assertEquals("created", result.get("items").get(2).get("status").asText());
+        assertEquals(2, contactRepository.count());
+
+        long haroldId = result.get("items").get(0).get("id").asLong();
+        long bobId = result.get("items").get(2).get("id").asLong();
+
+        //Rename Harold and point the second update at a contact that does not exist
+        String updatesJson = "[{\"id\":" + haroldId + ",\"name\":{\"first\":\"Harry\",\"last\":\"Gilkey\"},\"email\":\"harry.gilkey@yahoo.com\"},"
+                + "{\"id\":" + (bobId + 1000) + ",\"name\":{\"first\":\"Nobody\",\"last\":\"Home\"},\"email\":\"nobody@yahoo.com\"}]";
+
+        mvcResult = perform(put("/contacts/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(updatesJson))
+                .andExpect(status().isOk())
+                .andReturn();
+        result = objectMapper.readTree(mvcResult.getResponse().getContentAsString());
+        assertEquals("updated", result.get("items").get(0).get("status").asText());
+        assertEquals("not_found", result.get("items").get(1).get("status").asText());
+        assertEquals("Harry", contactRepository.findWithDetailsById(haroldId).get().getName().getFirst());
+
+        //Delete both contacts
+        mvcResult = perform(delete("/contacts/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[" + haroldId + "," + bobId + "]"))
+                .andExpect(status().isOk())
+                .andReturn();
+        result = objectMapper.readTree(mvcResult.getResponse().getContentAsString());
+        assertEquals(2, result.get("succeeded").asInt());
+        assertEquals(0, contactRepository.count());
+    }
+
+    /**
+        Test that exact duplicates are refused via HTTP POST/PUT /contacts, or answered with the existing contact when idempotent
+    */
+    @Test
+    @DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+    void duplicateContactTest() throws Exception {
+
+        String haroldJson = "{\"name\":{\"first\":\"Harold\",\"middle\":\"Francis\",\"last\":\"Gilkey\"},\"address\":{\"city\":\"Cannon\"},\"phone\":[{\"number\":\"302-611-9148\",\"type\":\"home\"},{\"number\":\"302-535-9427\",\"type\":\"mobile\"}],\"email\":\"harold.gilkey@yahoo.com\"}";
+        MvcResult mvcResult = perform(post("/contacts").contentType(MediaType.APPLICATION_JSON).content(haroldJson))
+                .andExpect(status().isOk()).andReturn();
+        long haroldId = objectMapper.readTree(mvcResult.getResponse().getContentAsString()).get("id").asLong();
+        assertEquals("/contacts/" + haroldId, mvcResult.getResponse().getHeader("Location"));
+
+        //Same person typed differently: case, spacing, punctuation and phone order do not matter
+        String retypedJson = "{\"name\":{\"first\":\" harold\",\"middle\":\"FRANCIS.\",\"last\":\"Gilkey\"},\"address\":{\"city\":\"CANNON \"},\"phone\":[{\"number\":\"302-535-9427\",\"type\":\"mobile\"},{\"number\":\"302-611-9148\",\"type\":\"work\"}],\"email\":\"Harold.Gilkey@Yahoo.com\"}";
+        mvcResult = perform(post("/contacts").contentType(MediaType.APPLICATION_JSON).content(retypedJson))
+                .andExpect(status().isConflict()).andReturn();
+        assertEquals("/contacts/" + haroldId, mvcResult.getResponse().getHeader("Location"));
+
+        //A retried create returns the contact it created the first time
+        mvcResult = perform(post("/contacts?idempotent=true").contentType(MediaType.APPLICATION_JSON).content(haroldJson))
+                .andExpect(status().isOk()).andReturn();
+        assertEquals(haroldId, objectMapper.readTree(mvcResult.getResponse().getContentAsString()).get("id").asLong());
+        assertEquals(1, contactRepository.count());
+
+        //Batches report duplicates of stored contacts and of earlier items per item
+        String maryJson = "{\"name\":{\"first\":\"Mary\",\"last\":\"Jones\"},\"email\":\"mary.jones@yahoo.com\"}";
+        mvcResult = perform(post("/contacts/batch").contentType(MediaType.APPLICATION_JSON)
+                .content("[" + haroldJson + "," + maryJson + "," + maryJson + "]"))
+                .andExpect(status().isOk()).andReturn();
+        JsonNode result = objectMapper.readTree(mvcResult.getResponse().getContentAsString());
+        assertEquals("duplicate", result.get("items").get(0).get("status").asText());
+        assertEquals(haroldId, result.get("items").get(0).get("id").asLong());
+        assertEquals("created", result.get("items").get(1).get("status").asText());
+        long maryId = result.get("items").get(1).get("id").asLong();
+        assertEquals("duplicate", result.get("items").get(2).get("status").asText());
+        assertEquals("Duplicate of contact " + maryId, result.get("items").get(2).get("error").asText());
+
+        mvcResult = perform(post("/contacts/batch?idempotent=true").contentType(MediaType.APPLICATION_JSON)
+                .content("[" + haroldJson + "," + maryJson + "]"))
+                .andExpect(status().isOk()).andReturn();
+        result = objectMapper.readTree(mvcResult.getResponse().getContentAsString());
+        assertEquals(2, result.get("succeeded").asInt());
+        assertEquals("existing", result.get("items").get(1).get("status").asText());
+        assertEquals(maryId, result.get("items").get(1).get("id").asLong());
+        assertEquals(2, contactRepository.count());
+
+        //Turning Mary into a copy of Harold is refused too
+        perform(put("/contacts/" + maryId).contentType(MediaType.APPLICATION_JSON).content(haroldJson))
+                .andExpect(status().isConflict());
+        assertEquals("Mary", contactRepository.findWithDetailsById(maryId).get().getName().getFirst());
+
+        //Namesakes with neither e-mail nor phone are told apart by their addresses
+        String johnJson = "{\"name\":{\"first\":\"John\",\"last\":\"Smith\"},\"address\":{\"street\":\"1 Main St\",\"city\":\"Dover\"}}";
+        perform(post("/contacts").contentType(MediaType.APPLICATION_JSON).content(johnJson)).andExpect(status().isOk());
+        perform(post("/contacts").contentType(MediaType.APPLICATION_JSON).content(johnJson.replace("1 Main", "7 Elm")))
+                .andExpect(status().isOk());
+        perform(post("/contacts").contentType(MediaType.APPLICATION_JSON).content(johnJson.replace("1 Main St", "1 main st.")))
+                .andExpect(status().isConflict());
+        assertEquals(4, contactRepository.count());
+    }
+
+    /**
+        Test the duplicate merge job: backfilling keys of older rows and merging near-duplicates into the oldest contact
+    */
+    @Test
+    @DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+    void mergeDuplicatesTest() throws Exception {
+
+        //Harold twice: once with an e-mail, once with an address and another phone, sharing the home phone
+        Contact harold = createContact(new Name("Harold", "F", "Gilkey"));
+        harold.setAddress(null);
+        harold.getPhone().remove(1);
+        contactRepository.saveAndFlush(harold);
+        Contact haroldAgain = new Contact(new Name("harold", "Francis", "GILKEY"),
+                new Address("8360 High Autumn Row", "Cannon", "Delaware", "19797"),
+                new ArrayList<>(Arrays.asList(new Phone("302-611-9148", Phone.Type.home), new Phone("302-535-9427", Phone.Type.mobile))), null);
+        contactRepository.saveAndFlush(haroldAgain);
+
+        //Another Harold Gilkey: a different e-mail and no shared phone
+        Contact otherHarold = new Contact(new Name("Harold", "Gilkey"), null,
+                new ArrayList<>(Arrays.asList(new Phone("302-555-0100", Phone.Type.work))), null);
+        otherHarold.setEmail("harold@gilkey.com");
+        contactRepository.saveAndFlush(otherHarold);
+
+        //An exact duplicate of a contact stored before match keys existed
+        Contact mary = createContact(new Name("Mary", null, "Jones"));
+        contactRepository.saveAndFlush(mary);
+        jdbcTemplate.update("update contacts set match_key = null, name_key = null where id = ?", mary.getId());
+        Contact maryAgain = createContact(new Name("Mary", null, "Jones"));
+        contactRepository.saveAndFlush(maryAgain);
+        assertEquals(5, contactRepository.count());
+
+        assertEquals(2, duplicateMergeJob.mergeDuplicates());
+
+        //The oldest contact survives with what only the duplicate had
+        assertEquals(3, contactRepository.count());
+        Contact merged = contactRepository.findWithDetailsById(harold.getId()).get();
+        assertEquals("Francis", merged.getName().getMiddle());
+        assertEquals("harold.gilkey@yahoo.com", merged.getEmail());
+        assertEquals("Cannon", merged.getAddress().getCity());
+        assertEquals(2, merged.getPhone().size());
+        assertFalse(contactRepository.existsById(haroldAgain.getId()));
+        assertTrue(contactRepository.existsById(otherHarold.getId()));
+        assertNotNull(contactRepository.findWithDetailsById(mary.getId()).get().getMatchKey());
+        assertFalse(contactRepository.existsById(maryAgain.getId()));
+
+        //Nothing is left to merge
+        assertEquals(0, duplicateMergeJob.mergeDuplicates());
+    }
+
+    /**
+        Test a merge that would give the survivor a third contact's match key waits for that contact, instead of failing the batch
+    */
+    @Test
+    @DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+    void mergeDuplicatesKeyConflictTest() throws Exception {
+
+        //Hank with his home phone, with his mobile, and with both: merging the first two would make the third
+        Phone home = new Phone("302-611-9148", Phone.Type.home);
+        Phone mobile = new Phone("302-535-9427", Phone.Type.mobile);
+        List<Contact> hanks = new ArrayList<>();
+        for (List<Phone> phones : Arrays.asList(Arrays.asList(home), Arrays.asList(mobile), Arrays.asList(home, mobile))) {
+            Contact hank = new Contact(new Name("Hank", "Gilkey"), null, new ArrayList<>(), null);
+            for (Phone phone : phones) {
+                hank.addPhone(new Phone(phone.getNumber(), phone.getType()));
+            }
+            hank.setEmail("hank@gilkey.com");
+            hanks.add(contactRepository.saveAndFlush(hank));
+        }
+
+        //The third is merged into the first, which then holds the key the second pair needed
+        assertEquals(1, duplicateMergeJob.mergeDuplicates());
+        assertFalse(contactRepository.existsById(hanks.get(2).getId()));
+        assertTrue(contactRepository.existsById(hanks.get(1).getId()));
+
+        assertEquals(1, duplicateMergeJob.mergeDuplicates());
+        assertEquals(1, contactRepository.count());
+        assertEquals(2, contactRepository.findWithDetailsById(hanks.get(0).getId()).get().getPhone().size());
+        assertEquals(0, duplicateMergeJob.mergeDuplicates());
+    }
+
+    /**
+        Test the change feed via HTTP GET /contacts/changes: pages, long-poll, event stream and compaction
+    */
+    @Test
+    @DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+    void changeFeedTest() throws Exception {
+
+        //Without since there are no changes, only the position to follow from
+        JsonNode page = changes("");
+        assertEquals(0, page.get("changes").size());
+        long start = page.get("next").asLong();
+
+        Contact harold = createContact(new Name("Harold", "Francis", "Gilkey"));
+        contactRepository.saveAndFlush(harold);
+        perform(patch("/contacts/" + harold.getId())
+                .contentType(ContactController.APPLICATION_MERGE_PATCH_JSON_VALUE)
+                .content("{\"email\":\"bob.barker@yahoo.com\"}"))
+                .andExpect(status().isOk());
+        Contact mary = createContact(new Name("Mary", null, "Jones"));
+        contactRepository.saveAndFlush(mary);
+        perform(delete("/contacts/" + harold.getId())).andExpect(status().isOk());
+
+        //Every committed write in commit order, with the version it left the contact at
+        page = changes("since=" + start);
+        JsonNode changes = page.get("changes");
+        assertEquals(4, changes.size());
+        assertEquals("created", changes.get(0).get("type").asText());
+        assertEquals(harold.getId().longValue(), changes.get(0).get("contactId").asLong());
+        assertEquals("updated", changes.get(1).get("type").asText());
+        assertEquals(changes.get(0).get("version").asLong() + 1, changes.get(1).get("version").asLong());
+        assertEquals("created", changes.get(2).get("type").asText());
+        assertEquals(mary.getId().longValue(), changes.get(2).get("contactId").asLong());
+        assertEquals("deleted", changes.get(3).get("type").asText());
+        assertEquals(start + 4, page.get("next").asLong());
+
+        page = changes("since=" + (start + 2) + "&limit=1");
+        assertEquals(1, page.get("changes").size());
+        assertEquals(start + 3, page.get("next").asLong());
+
+        //An event stream resumes after the Last-Event-ID it is given
+        MvcResult stream = mockMvc.perform(get("/contacts/changes")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .header("Last-Event-ID", start + 2)).andReturn();
+        assertTrue(stream.getRequest().isAsyncStarted());
+        String events = awaitContent(stream, "id:" + (start + 4));
+        assertFalse(events.contains("id:" + (start + 2) + "\n"));
+        assertTrue(events.contains("id:" + (start + 3) + "\nevent:created\n"));
+        assertTrue(events.contains("id:" + (start + 4) + "\nevent:deleted\n"));
+        stream.getRequest().getAsyncContext().complete();
+
+        //A long-poll is answered once the next change commits
+        MvcResult pending = mockMvc.perform(get("/contacts/changes?wait=10&since=" + (start + 4))).andReturn();
+        assertTrue(pending.getRequest().isAsyncStarted());
+        Contact tom = createContact(new Name("Tom", null, "Jones"));
+        contactRepository.saveAndFlush(tom);
+        page = objectMapper.readTree(mockMvc.perform(asyncDispatch(pending)).andReturn().getResponse().getContentAsString());
+        assertEquals(1, page.get("changes").size());
+        assertEquals(tom.getId().longValue(), page.get("changes").get(0).get("contactId").asLong());
+
+        //Compaction keeps the latest change of each contact, and deletions only for the retention (none here)
+        assertEquals(3, changeCompactor.compact());
+        perform(get("/contacts/changes?since=" + start)).andExpect(status().isGone());
+        page = changes("since=" + (start + 4));
+        assertEquals(1, page.get("changes").size());
+        assertEquals(start + 5, page.get("next").asLong());
+    }
+
+    /**
+        Test contacts written concurrently, without waiting on each other, are each numbered once and without gaps
+    */
+    @Test
+    @DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+    void changeFeedConcurrentWritesTest() throws Exception {
+
+        long start = changes("").get("next").asLong();
+        int writers = 8;
+        int perWriter = 10;
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int w = 0; w < writers; w++) {
+            int writer = w;
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < perWriter; i++) {
+                    contactRepository.saveAndFlush(createContact(new Name("Writer" + writer, null, "Contact" + i)));
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        JsonNode changes = changes("since=" + start + "&limit=1000").get("changes");
+        assertEquals(writers * perWriter, changes.size());
+        Set<Long> contactIds = new HashSet<>();
+        for (int i = 0; i < changes.size(); i++) {
+            assertEquals(start + i + 1, changes.get(i).get("seq").asLong());
+            contactIds.add(changes.get(i).get("contactId").asLong());
+        }
+        assertEquals(writers * perWriter, contactIds.size());
+    }
+
+    /**
+        Test prefix, fuzzy and field restricted search via HTTP GET /contacts/search
+    */
+    @Test
+    @DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+    void searchContactsTest() throws Exception {
+
+        //Create and insert 3 contacts into the DB
+        Contact harold = createContact(new Name("Harold", "SEARCH", "Gilkey"));
+        contactRepository.saveAndFlush(harold);
+        Contact harriet = createContact(new Name("Harriet", "SEARCH", "Barker"));
+        harriet.setEmail("harriet.barker@yahoo.com");
+        contactRepository.saveAndFlush(harriet);
+        Contact bob = createContact(new Name("Bob", "SEARCH", "Barker"));
+        bob.setEmail("bob.barker@yahoo.com");
+        contactRepository.saveAndFlush(bob);
+
+        //Prefix matches on names, in id order, paged with a cursor
+        JsonNode page = search("q=har&limit=1");
+        assertEquals(1, page.get("contacts").size());
+        assertEquals("Harold", page.get("contacts").get(0).get("name").get("first").asText());
+        page = search("q=har&limit=1&cursor=" + page.get("nextCursor").asText());
+        assertEquals("Harriet", page.get("contacts").get(0).get("name").get("first").asText());
+        assertTrue(page.get("nextCursor").isNull());
+
+        //Every word must match
+        page = search("q=barker bo");
+        assertEquals(1, page.get("contacts").size());
+        assertEquals("Bob", page.get("contacts").get(0).get("name").get("first").asText());
+
+        //Misspellings only match when fuzzy
+        assertEquals(0, search("q=gilkee").get("contacts").size());
+        assertEquals(1, search("q=gilkee&fuzzy=true").get("contacts").size());
+
+        //Phone numbers match however they are punctuated, and fields can be restricted
+        assertEquals(3, search("q=(302) 611").get("contacts").size());
+        assertEquals(3, search("q=(302) 611&field=phone").get("contacts").size());
+        assertEquals(3, search("q=19797 delaware&field=address").get("contacts").size());
+        assertEquals(3, search("q=cannon&field=address").get("contacts").size());
+        assertEquals(0, search("q=cannon&field=name").get("contacts").size());
+
+        //Deleted contacts drop out of the index
+        perform(delete("/contacts/" + harold.getId())).andExpect(status().isOk());
+        assertEquals(0, search("q=gilkey").get("contacts").size());
+
+        //Queries are split into words the same way as the names indexed
+        Contact maryJane = createContact(new Name("Mary-Jane", "SEARCH", "O'Brien"));
+        maryJane.setEmail("mary.obrien@yahoo.com");
+        contactRepository.saveAndFlush(maryJane);
+        assertEquals(1, search("q=mary-jane").get("contacts").size());
+        assertEquals(1, search("q=o'brien&field=name").get("contacts").size());
+        assertEquals(1, search("q=jane o'bri").get("contacts").size());
+
+        perform(get("/contacts/search?q= ")).andExpect(status().isBadRequest());
+    }
+
+    /**
+        Test the search index ignores stale copies of a contact and picks up writes other instances made
+    */
+    @Test
+    @DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+    void searchIndexRefreshTest() throws Exception {
+
+        Contact harold = createContact(new Name("Harold", "SEARCH", "Gilkey"));
+        contactRepository.saveAndFlush(harold);
+        Contact bob = createContact(new Name("Bob", "SEARCH", "Barker"));
+        bob.setEmail("bob.barker@yahoo.com");
+        contactRepository.saveAndFlush(bob);
+        Contact stale = contactRepository.findById(harold.getId()).get();
+
+        //A copy read before an update commits is older than the one indexed by the update, so it is ignored
+        perform(patch("/contacts/" + harold.getId())
+                .contentType(ContactController.APPLICATION_MERGE_PATCH_JSON_VALUE)
+                .content("{\"name\":{\"first\":\"Harry\"}}")).andExpect(status().isOk());
+        searchIndexes.index(TenantContext.DEFAULT_TENANT, harold.getId(), ContactSearchIndex.documentOf(stale));
+        assertEquals(1, search("q=harry").get("contacts").size());
+        assertEquals(0, search("q=harold&field=name").get("contacts").size());
+
+        //So is a copy of a contact that arrives after its deletion
+        Contact bert = createContact(new Name("Bert", "SEARCH", "Brinkley"));
+        contactRepository.saveAndFlush(bert);
+        perform(delete("/contacts/" + bert.getId())).andExpect(status().isOk());
+        searchIndexes.index(TenantContext.DEFAULT_TENANT, bert.getId(), ContactSearchIndex.documentOf(bert));
+        assertEquals(0, indexed("brinkley").size());
+
+        //Another instance renames Harry and deletes Bob; only the change feed tells this one
+        jdbcTemplate.update("update contacts set first_name = 'Hank', version = version + 1 where id = ?", harold.getId());
+        Long version = jdbcTemplate.queryForObject("select version from contacts where id = ?", Long.class, harold.getId());
+        jdbcTemplate.update("insert into contact_changes (id, seq, contact_id, tenant_id, type, version, changed_at) "
+                + "values (nextval('contact_change_seq'), null, ?, 'default', 'updated', ?, current_timestamp)", harold.getId(), version);
+        deleteRow(bob.getId());
+        jdbcTemplate.update("insert into contact_changes (id, seq, contact_id, tenant_id, type, version, changed_at) "
+                + "values (nextval('contact_change_seq'), null, ?, 'default', 'deleted', null, current_timestamp)", bob.getId());
+        sequencer.sequenceAll();
+        assertEquals(1, indexed("barker").size());
+
+        searchIndexLoader.refresh();
+        assertEquals(0, search("q=harry").get("contacts").size());
+        assertEquals(1, search("q=hank").get("contacts").size());
+        assertEquals(0, indexed("barker").size());
+
+        //When the feed has compacted away deletions the index has not read, the index is loaded again from scratch
+        Contact harriet = createContact(new Name("Harriet", "SEARCH", "Barker"));
+        harriet.setEmail("harriet.barker@yahoo.com");
+        contactRepository.saveAndFlush(harriet);
+        deleteRow(harold.getId());
+        jdbcTemplate.update("update change_feed_state set last_seq = last_seq + 1, purged_through = last_seq + 1");
+        searchIndexLoader.refresh();
+        assertEquals(0, indexed("hank").size());
+        assertEquals(1, indexed("harriet").size());
+    }
+
+    //Ids the default tenant's search index holds for a query; searches over HTTP also drop ids no longer stored
+    private List<Long> indexed(String query)
+    {
+        return searchIndexes.search(TenantContext.DEFAULT_TENANT, query, null, false, ContactCursor.START, 10);
+    }
+
+    //Delete a contact the way another instance would, unseen by this one
+    private void deleteRow(long id)
+    {
+        jdbcTemplate.update("delete from contact_phones where contact_id = ?", id);
+        jdbcTemplate.update("delete from contacts where id = ?", id);
+    }
+
+    /**
+        Test conditional GET with If-None-Match and lost update protection with If-Match on PUT/DELETE /contacts/{1}
+    */
+    @Test
+    @DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+    void conditionalRequestsTest() throws Exception {
+
+        //Same contact as before with only the mobile number changed
+        String contactJson = "{\"name\":{\"first\":\"Bob\",\"middle\":\"ETAG\",\"last\":\"Barker\"},\"address\":{\"street\":\"8360 High Autumn Row\",\"city\":\"Cannon\",\"state\":\"Delaware\",\"zip\":\"19797\"},\"phone\":[{\"number\":\"302-611-9148\",\"type\":\"home\"},{\"number\":\"302-535-0000\",\"type\":\"mobile\"}],\"email\":\"harold.gilkey@yahoo.com\"}";
+
+        Contact contact = createContact(new Name("Bob", "ETAG", "Barker"));
+        contactRepository.saveAndFlush(contact);
+        String uri = "/contacts/" + contact.getId();
+
+        //A client holding the current version gets a 304 with no body
+        MvcResult mvcResult = perform(get(uri)).andExpect(status().isOk()).andReturn();
+        String etag = mvcResult.getResponse().getHeader("ETag");
+        assertNotNull(etag);
+        assertNotNull(mvcResult.getResponse().getHeader("Last-Modified"));
+        mvcResult = perform(get(uri).header("If-None-Match", etag)).andExpect(status().isNotModified()).andReturn();
+        assertEquals("", mvcResult.getResponse().getContentAsString());
+
+        //Same for the list
+        String listEtag = perform(get("/contacts")).andExpect(status().isOk()).andReturn().getResponse().getHeader("ETag");
+        assertTrue(listEtag.startsWith("W/\""));
+        perform(get("/contacts").header("If-None-Match", listEtag)).andExpect(status().isNotModified());
+
+        //An update against the current version succeeds and hands back the new version, even if only a phone changed
+        String newEtag = perform(put(uri)
+                .header("If-Match", etag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(contactJson))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        assertNotEquals(etag, newEtag);
+        perform(get(uri).header("If-None-Match", etag)).andExpect(status().isOk());
+        perform(get("/contacts").header("If-None-Match", listEtag)).andExpect(status().isOk());
+
+        //Writes against the old version are rejected and change nothing
+        perform(put(uri)
+                .header("If-Match", etag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(contactJson))
+                .andExpect(status().isPreconditionFailed());
+        perform(delete(uri).header("If-Match", etag)).andExpect(status().isPreconditionFailed());
+        assertEquals(1, contactRepository.count());
+
+        perform(delete(uri).header("If-Match", newEtag)).andExpect(status().isOk());
+        assertEquals(0, contactRepository.count());
+
+        //The list tag follows the change feed, so it never comes back to an earlier value
+        String emptyEtag = perform(get("/contacts")).andExpect(status().isOk()).andReturn().getResponse().getHeader("ETag");
+        assertNotEquals(listEtag, emptyEtag);
+        perform(get("/contacts").header("If-None-Match", emptyEtag)).andExpect(status().isNotModified());
+        contactRepository.saveAndFlush(createContact(new Name("Bob", "ETAG", "Barker")));
+        perform(get("/contacts").header("If-None-Match", emptyEtag)).andExpect(status().isOk());
+    }
+
+    /**
+        Test partial updates via HTTP PATCH /contacts/{1} write only what changed
+    */
+    @Test
+    @DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+    void patchContactTest() throws Exception {
+
+        Contact contact = createContact(new Name("Bob", "PATCH", "Barker"));
+        contactRepository.saveAndFlush(contact);
+        String uri = "/contacts/" + contact.getId();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+
+        //A single field edit is the contact select plus one UPDATE, and the change feed's insert.
+        //The change is numbered after the commit, by the feed rather than the request
+        statistics.clear();
+        String etag = perform(patch(uri)
+                .contentType(ContactController.APPLICATION_MERGE_PATCH_JSON_VALUE)
+                .content("{\"email\":\"bob.barker@yahoo.com\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        assertEquals(1, statistics.getEntityStatistics(Contact.class.getName()).getUpdateCount());
+        assertEquals(3.0, meterRegistry.get("contacts.request.sql").tag("method", "PATCH").summary().totalAmount());
+
+        //Dropping one phone deletes that phone's row only; the phone list is updated, not recreated
+        statistics.clear();
+        perform(patch(uri)
+                .header("If-Match", etag)
+                .contentType(ContactController.APPLICATION_MERGE_PATCH_JSON_VALUE)
+                .content("{\"name\":{\"middle\":null},\"phone\":[{\"number\":\"302-611-9148\",\"type\":\"home\"}]}"))
+                .andExpect(status().isOk());
+        assertEquals(1, statistics.getCollectionUpdateCount());
+        assertEquals(0, statistics.getCollectionRecreateCount());
+        assertEquals(0, statistics.getEntityStatistics(Contact.class.getName()).getInsertCount());
+
+        Contact patched = contactRepository.findWithDetailsById(contact.getId()).get();
+        assertEquals("bob.barker@yahoo.com", patched.getEmail());
+        assertEquals("Bob", patched.getName().getFirst());
+        assertNull(patched.getName().getMiddle());
+        assertEquals(1, patched.getPhone().size());
+        assertEquals("Cannon", patched.getAddress().getCity());
+
+        //Stale versions and invalid values are rejected
+        perform(patch(uri)
+                .header("If-Match", etag)
+                .contentType(ContactController.APPLICATION_MERGE_PATCH_JSON_VALUE)
+                .content("{\"email\":\"bob@yahoo.com\"}"))
+                .andExpect(status().isPreconditionFailed());
+        perform(patch(uri)
+                .contentType(ContactController.APPLICATION_MERGE_PATCH_JSON_VALUE)
+                .content("{\"email\":\"NotAProperEmailFormat\"}"))
+                .andExpect(status().isBadRequest());
+
+        //A null member removes the e-mail, as it does any other member
+        perform(patch(uri)
+                .contentType(ContactController.APPLICATION_MERGE_PATCH_JSON_VALUE)
+                .content("{\"email\":null}"))
+                .andExpect(status().isOk());
+        assertNull(contactRepository.findWithDetailsById(contact.getId()).get().getEmail());
+    }
+
+    /**
+        Test cached single contact reads are never stale after HTTP PUT or DELETE /contacts/{1}, even when a read caches an older copy late
+    */
+    @Test
+    @DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+    void cachedContactNotStaleAfterWriteTest() throws Exception {
+
+        //Hardcoded JSON string which would be expected from the client
+        String contactJson = "{\"name\":{\"first\":\"Harold\",\"middle\":\"Francis\",\"last\":\"Gilkey\"},\"address\":{\"street\":\"8360 High Autumn Row\",\"city\":\"Cannon\",\"state\":\"Delaware\",\"zip\":\"19797\"},\"phone\":[{\"number\":\"302-611-9148\",\"type\":\"home\"},{\"number\":\"302-535-9427\",\"type\":\"mobile\"}],\"email\":\"harold.gilkey@yahoo.com\"}";
+
+        Contact contact = createContact(new Name("Bob", "CACHE", "Barker"));
+        contactRepository.saveAndFlush(contact);
+        String uri = "/contacts/" + contact.getId();
+
+        //Read twice, the second read is served from the cache
+        Cache cache = cacheManager.getCache(CacheConfig.CONTACT_CACHE);
+        perform(get(uri)).andExpect(status().isOk());
+        Contact contactFromREST = mapFromJson(perform(get(uri)).andReturn().getResponse().getContentAsString(), Contact.class);
+        assertEquals("Bob", contactFromREST.getName().getFirst());
+        assertEquals(1, ((CaffeineCache) cache).getNativeCache().stats().hitCount());
+
+        //A PUT puts its copy in the cache after commit
+        ContactDto stale = ContactDto.of(contactRepository.findWithDetailsById(contact.getId()).get());
+        perform(put(uri)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(contactJson))
+                .andExpect(status().isOk());
+        contactFromREST = mapFromJson(perform(get(uri)).andReturn().getResponse().getContentAsString(), Contact.class);
+        assertEquals("Harold", contactFromREST.getName().getFirst());
+        assertEquals(2, ((CaffeineCache) cache).getNativeCache().stats().hitCount());
+
+        //A read that loaded the old row before the PUT committed, and caches it only now, does not replace the new copy
+        cache.put(TenantContext.cacheKey(contact.getId()), stale);
+        contactFromREST = mapFromJson(perform(get(uri)).andReturn().getResponse().getContentAsString(), Contact.class);
+        assertEquals("Harold", contactFromREST.getName().getFirst());
+
+        //Nor does it bring the contact back after a DELETE
+        perform(delete(uri)).andExpect(status().isOk());
+        cache.put(TenantContext.cacheKey(contact.getId()), stale);
+        perform(get(uri)).andExpect(status().isNotFound());
+    }
+
+    /**
+        Test contacts are sent in the same JSON shape the entity had, nulls included, and cached as immutable copies
+    */
+    @Test
+    @DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+    void contactResponseShapeTest() throws Exception {
+
+        Contact contact = createContact(new Name("Bob", null, "Barker"));
+        contact.setAddress(null);
+        contactRepository.saveAndFlush(contact);
+
+        String expected = "{\"id\":" + contact.getId() + ",\"name\":{\"first\":\"Bob\",\"middle\":null,\"last\":\"Barker\"},"
+                + "\"address\":null,\"phone\":[{\"number\":\"302-611-9148\",\"type\":\"home\"},{\"number\":\"302-535-9427\",\"type\":\"mobile\"}],"
+                + "\"email\":\"harold.gilkey@yahoo.com\"}";
+        assertEquals(expected, objectMapper.writeValueAsString(contact));
+        assertEquals(expected, perform(get("/contacts/" + contact.getId())).andReturn().getResponse().getContentAsString());
+        assertEquals("[" + expected + "]", perform(get("/contacts")).andReturn().getResponse().getContentAsString());
+        assertEquals(expected + "\n", perform(get("/contacts").accept(ContactController.APPLICATION_NDJSON_VALUE))
+                .andReturn().getResponse().getContentAsString());
+
+        Cache cache = cacheManager.getCache(CacheConfig.CONTACT_CACHE);
+        assertThat(cache.get(TenantContext.cacheKey(contact.getId())).get()).isInstanceOf(ContactDto.class);
+    }
+
+    /**
+        Test tenants named by X-Tenant-Id only see, change, find and follow their own contacts
+    */
+    @Test
+    @DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+    void tenantIsolationTest() throws Exception {
+
+        String contactJson = "{\"name\":{\"first\":\"Harold\",\"middle\":\"Francis\",\"last\":\"Gilkey\"},\"email\":\"harold.gilkey@yahoo.com\"}";
+        String acmeUri = perform(post("/contacts").header("X-Tenant-Id", "acme")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(contactJson))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("Location");
+        long acmeId = Long.parseLong(acmeUri.substring(acmeUri.lastIndexOf('/') + 1));
+
+        //The same person is not a duplicate in another tenant
+        perform(post("/contacts").header("X-Tenant-Id", "globex")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(contactJson))
+                .andExpect(status().isOk());
+
+        //Read twice so acme's copy is cached; neither the cache nor the database hands it to anyone else
+        perform(get("/contacts/" + acmeId).header("X-Tenant-Id", "acme")).andExpect(status().isOk());
+        perform(get("/contacts/" + acmeId).header("X-Tenant-Id", "acme")).andExpect(status().isOk());
+        perform(get("/contacts/" + acmeId).header("X-Tenant-Id", "globex")).andExpect(status().isNotFound());
+        perform(get("/contacts/" + acmeId)).andExpect(status().isNotFound());
+        perform(put("/contacts/" + acmeId).header("X-Tenant-Id", "globex")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(contactJson))
+                .andExpect(status().isNotFound());
+        perform(delete("/contacts/" + acmeId).header("X-Tenant-Id", "globex")).andExpect(status().isNotFound());
+
+        Contact[] acmeContacts = mapFromJson(perform(get("/contacts").header("X-Tenant-Id", "acme"))
+                .andReturn().getResponse().getContentAsString(), Contact[].class);
+        assertEquals(1, acmeContacts.length);
+        assertEquals(acmeId, acmeContacts[0].getId());
+        assertEquals("[]", perform(get("/contacts")).andReturn().getResponse().getContentAsString());
+
+        JsonNode found = objectMapper.readTree(perform(get("/contacts/search?q=gilkey").header("X-Tenant-Id", "globex"))
+                .andReturn().getResponse().getContentAsString());
+        assertEquals(1, found.get("contacts").size());
+        assertNotEquals(acmeId, found.get("contacts").get(0).get("id").asLong());
+
+        MvcResult changes = perform(get("/contacts/changes?since=0").header("X-Tenant-Id", "acme")
+                .accept(MediaType.APPLICATION_JSON_VALUE)).andReturn();
+        JsonNode acmeChanges = objectMapper.readTree(changes.getResponse().getContentAsString()).get("changes");
+        assertEquals(1, acmeChanges.size());
+        assertEquals(acmeId, acmeChanges.get(0).get("contactId").asLong());
+
+        assertEquals("acme", contactRepository.findWithDetailsById(acmeId).get().getTenantId());
+        perform(get("/contacts").header("X-Tenant-Id", "no tenant")).andExpect(status().isBadRequest());
+    }
+
+    /**
+        Test request, repository, validation and SQL count metrics are published via GET /actuator/prometheus
+    */
+    @Test
+    @DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+    void metricsTest() throws Exception {
+
+        Contact contact = createContact(new Name("Bob", "METRICS", "Barker"));
+        contactRepository.saveAndFlush(contact);
+        perform(get("/contacts/" + contact.getId())).andExpect(status().isOk());
+        perform(post("/contacts")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":{\"first\":\"Bad\",\"last\":\"Email\"},\"email\":\"NotAProperEmailFormat\"}"))
+                .andExpect(status().isBadRequest());
+
+        //The single contact read is one repository call and one SQL statement
+        Timer findTimer = meterRegistry.get("contacts.repository").tag("method", "findWithDetailsById").timer();
+        assertEquals(1, findTimer.count());
+        DistributionSummary sql = meterRegistry.get("contacts.request.sql").tag("uri", "/contacts/{id}").summary();
+        assertEquals(1, sql.count());
+        assertEquals(1.0, sql.totalAmount());
+        assertTrue(meterRegistry.get("contacts.validation.failures").tag("field", "email").counter().count() >= 1);
+
+        String scrape = perform(get("/actuator/prometheus")).andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertThat(scrape).contains("http_server_requests_seconds", "contacts_repository_seconds",
+                "contacts_request_sql_statements", "hibernate_statements_total", "hikaricp_connections_active");
+    }
+
+    /**
+        Test bulk import via HTTP POST /contacts/import, with rejected rows and resuming a failed import
+    */
+    @Test
+    @DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+    void importContactsTest() throws Exception {
+
+        String header = "first,middle,last,street,city,state,zip,email,phones\n";
+        String csv = header
+                + "Harold,Francis,Gilkey,\"8360 High Autumn Row, Apt 2\",Cannon,Delaware,19797,harold.gilkey@yahoo.com,home:302-611-9148;mobile:302-535-9427\n"
+                + "Bad,,Email,,,,,NotAProperEmailFormat,\n"
+                + "Mary,,Jones,,,,,mary.jones@yahoo.com,\n"
+                + "Bad,,Phone,,,,,bad.phone@yahoo.com,home:302-611\n"
+                + "Joe,,Smith,,,,,joe.smith@yahoo.com,work:302-555-0100\n";
+
+        //Valid rows are imported, invalid ones reported by record number
+        JsonNode job = importBody("text/csv", csv, "", 200);
+        assertEquals("completed", job.get("status").asText());
+        assertEquals(5, job.get("processed").asLong());
+        assertEquals(3, job.get("imported").asLong());
+        assertEquals(2, job.get("rejected").asLong());
+        assertEquals(2, job.get("rejections").get(0).get("record").asLong());
+        assertEquals("Incorrect e-mail format", job.get("rejections").get(0).get("error").asText());
+        assertEquals(4, job.get("rejections").get(1).get("record").asLong());
+        assertEquals(3, contactRepository.count());
+        Contact harold = contactRepository.findAll().stream()
+                .filter(contact -> contact.getName().getFirst().equals("Harold")).findFirst().get();
+        assertEquals("8360 High Autumn Row, Apt 2", harold.getAddress().getStreet());
+        assertEquals(2, harold.getPhone().size());
+
+        //Progress is readable afterwards
+        perform(get("/contacts/import/" + job.get("id").asLong())).andExpect(status().isOk());
+        perform(get("/contacts/import/999999")).andExpect(status().isNotFound());
+
+        //NDJSON takes the POST /contacts shape; a malformed line rejects only that line
+        String ndjson = "{\"id\":1,\"name\":{\"first\":\"Nina\",\"last\":\"Lane\"},\"email\":\"nina.lane@yahoo.com\"}\n"
+                + "{\"name\":\n"
+                + "{\"name\":{\"first\":\"Owen\",\"last\":\"Park\"},\"phone\":[{\"number\":\"302-611-9148\",\"type\":\"home\"}]}\n";
+        job = importBody(ContactController.APPLICATION_NDJSON_VALUE, ndjson, "", 200);
+        assertEquals(2, job.get("imported").asLong());
+        assertEquals(1, job.get("rejected").asLong());
+        assertEquals(5, contactRepository.count());
+
+        //Input that breaks off fails the job after the last whole chunk; resuming skips what was committed
+        String rows = "Amy,,Ames,,,,,amy.ames@yahoo.com,\n"
+                + "Ben,,Bell,,,,,ben.bell@yahoo.com,\n"
+                + "Cal,,Cole,,,,,cal.cole@yahoo.com,\n";
+        job = importBody("text/csv", header + rows + "\"Dee,,Dunn", "", 500);
+        assertEquals("failed", job.get("status").asText());
+        assertEquals(2, job.get("processed").asLong());
+        assertEquals(7, contactRepository.count());
+
+        job = importBody("text/csv", header + rows + "Dee,,Dunn,,,,,dee.dunn@yahoo.com,\n", "?resume=" + job.get("id").asLong(), 200);
+        assertEquals("completed", job.get("status").asText());
+        assertEquals(4, job.get("processed").asLong());
+        assertEquals(4, job.get("imported").asLong());
+        assertEquals(9, contactRepository.count());
+    }
+
+    /**
+        Test bulk export via HTTP GET /contacts/export as CSV, NDJSON and gzip, and importing the export again
+    */
+    @Test
+    @DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+    void exportContactsTest() throws Exception {
+
+        Contact contact = createContact(new Name("Bob", "EXPORT", "Barker"));
+        contact.getAddress().setStreet("8360 High Autumn Row, Apt \"B\"");
+        contactRepository.saveAndFlush(contact);
+        Contact noPhones = new Contact(new Name("Ann", "Lee"), null, null, null);
+        contactRepository.saveAndFlush(noPhones);
+
+        //One row per contact, phones folded into one column
+        MvcResult mvcResult = perform(get("/contacts/export")).andExpect(status().isOk()).andReturn();
+        assertEquals("attachment; filename=\"contacts.csv\"", mvcResult.getResponse().getHeader("Content-Disposition"));
+        String csv = mvcResult.getResponse().getContentAsString();
+        String[] lines = csv.split("\n");
+        assertEquals(3, lines.length);
+        assertEquals("first,middle,last,street,city,state,zip,email,phones", lines[0]);
+        assertEquals("Bob,EXPORT,Barker,\"8360 High Autumn Row, Apt \"\"B\"\"\",Cannon,Delaware,19797,harold.gilkey@yahoo.com,home:302-611-9148;mobile:302-535-9427", lines[1]);
+        assertEquals("Ann,,Lee,,,,,,", lines[2]);
+
+        //NDJSON lines have the same shape as a single contact
+        String ndjson = perform(get("/contacts/export?format=ndjson")).andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        lines = ndjson.split("\n");
+        assertEquals(2, lines.length);
+        Contact contactFromExport = mapFromJson(lines[0], Contact.class);
+        assertEquals(contact.getId(), contactFromExport.getId());
+        assertEquals("Barker", contactFromExport.getName().getLast());
+        assertEquals(2, contactFromExport.getPhone().size());
+        assertNull(mapFromJson(lines[1], Contact.class).getAddress());
+
+        //Gzip when the client accepts it
+        mvcResult = perform(get("/contacts/export").header("Accept-Encoding", "gzip")).andExpect(status().isOk()).andReturn();
+        assertEquals("gzip", mvcResult.getResponse().getHeader("Content-Encoding"));
+        try (InputStream gzip = new GZIPInputStream(new ByteArrayInputStream(mvcResult.getResponse().getContentAsByteArray()))) {
+            assertEquals(csv, new String(StreamUtils.copyToByteArray(gzip), StandardCharsets.UTF_8));
+        }
+
+        //Both formats read back as the same contacts, so importing them again adds no duplicates
+        JsonNode job = importBody("text/csv", csv, "", 200);
+        assertEquals(0, job.get("imported").asLong());
+        assertEquals(2, job.get("rejected").asLong());
+        assertEquals("Duplicate of contact " + contact.getId(), job.get("rejections").get(0).get("error").asText());
+        assertEquals(2, importBody(ContactController.APPLICATION_NDJSON_VALUE, ndjson, "", 200).get("rejected").asLong());
+        assertEquals(2, contactRepository.count());
+    }
+
     /**
         Test the ContactController exists
     */
@@ -324,6 +1314,84 @@ public class ContactControllerTest
         return testContact;
     }
 
+    /**
+        Run a search and return the page of results
+    */
+    private JsonNode search(String query) throws Exception
+    {
+        MvcResult mvcResult = perform(get("/contacts/search?" + query)
+                .accept(MediaType.APPLICATION_JSON_VALUE)).andReturn();
+        assertEquals(200, mvcResult.getResponse().getStatus());
+        return objectMapper.readTree(mvcResult.getResponse().getContentAsString());
+    }
+
+    /**
+        Read a page of the change feed
+    */
+    private JsonNode changes(String query) throws Exception
+    {
+        MvcResult mvcResult = perform(get("/contacts/changes?" + query)
+                .accept(MediaType.APPLICATION_JSON_VALUE)).andReturn();
+        assertEquals(200, mvcResult.getResponse().getStatus());
+        return objectMapper.readTree(mvcResult.getResponse().getContentAsString());
+    }
+
+    /**
+        Wait for a streamed response to contain the given text
+    */
+    private String awaitContent(MvcResult mvcResult, String expected) throws Exception
+    {
+        long deadline = System.currentTimeMillis() + 10000;
+        String content = mvcResult.getResponse().getContentAsString();
+        while (!content.contains(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            content = mvcResult.getResponse().getContentAsString();
+        }
+        assertThat(content).contains(expected);
+        return content;
+    }
+
+    /**
+        Post an import body and return the import job
+    */
+    private JsonNode importBody(String contentType, String body, String query, int expectedStatus) throws Exception
+    {
+        MvcResult mvcResult = perform(post("/contacts/import" + query)
+                .contentType(contentType)
+                .content(body)).andReturn();
+        assertEquals(expectedStatus, mvcResult.getResponse().getStatus());
+        return objectMapper.readTree(mvcResult.getResponse().getContentAsString());
+    }
+
+    /**
+        Perform a request, following the async dispatch when the controller returned a future
+    */
+    private ResultActions perform(RequestBuilder request) throws Exception
+    {
+        MvcResult mvcResult = mockMvc.perform(request).andReturn();
+        if (mvcResult.getRequest().isAsyncStarted()) {
+            return mockMvc.perform(asyncDispatch(mvcResult));
+        }
+        return new ResultActions() {
+            @Override
+            public ResultActions andExpect(ResultMatcher matcher) throws Exception {
+                matcher.match(mvcResult);
+                return this;
+            }
+
+            @Override
+            public ResultActions andDo(ResultHandler handler) throws Exception {
+                handler.handle(mvcResult);
+                return this;
+            }
+
+            @Override
+            public MvcResult andReturn() {
+                return mvcResult;
+            }
+        };
+    }
+
     /**
         Map an object to JSON
      */
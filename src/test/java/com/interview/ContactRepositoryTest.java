@@ -0,0 +1,122 @@
+package com.interview;
+
+import com.interview.changes.ContactChangeSequencer;
+import com.interview.exceptions.IncorrectEmailFormatException;
+import com.interview.exceptions.IncorrectPhoneNumberFormatException;
+import com.interview.persistance.entities.Address;
+import com.interview.persistance.entities.Contact;
+import com.interview.persistance.entities.Name;
+import com.interview.persistance.entities.Phone;
+import com.interview.repositories.ContactRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Contact Repository test class. Guards the number of SQL statements each
+ * read path needs so N+1 loading regressions fail the build.
+ */
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(properties = {"spring.config.name=application-test-h2","spring.jpa.hibernate.ddl-auto=validate",
+        "contacts.changes.sequence-interval=PT1H"})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+public class ContactRepositoryTest
+{
+
+    private static final int CONTACT_COUNT = 25;
+
+    @Autowired
+    private ContactRepository contactRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ContactChangeSequencer sequencer;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        for (int i = 0; i < CONTACT_COUNT; i++) {
+            contactRepository.save(createContact(i));
+        }
+        contactRepository.flush();
+        //The change feed numbers the saves after they commit; done here so its statements are not counted
+        sequencer.sequencePending();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+    }
+
+    /**
+        Loading every contact with name, address and phones is a single statement
+    */
+    @Test
+    void findAllWithDetailsIsOneStatementTest() {
+
+        List<Contact> contacts = contactRepository.findAllWithDetails();
+
+        assertEquals(CONTACT_COUNT, contacts.size());
+        assertEquals(2, contacts.get(CONTACT_COUNT - 1).getPhone().size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    /**
+        Loading a single contact with name, address and phones is a single statement
+    */
+    @Test
+    void findWithDetailsByIdIsOneStatementTest() {
+
+        Long id = contactRepository.findAllWithDetails().get(0).getId();
+        statistics.clear();
+
+        Contact contact = contactRepository.findWithDetailsById(id).orElseThrow(IllegalStateException::new);
+
+        assertEquals("First 0", contact.getName().getFirst());
+        assertEquals("Cannon", contact.getAddress().getCity());
+        assertEquals(2, contact.getPhone().size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    /**
+        A keyset page costs one statement for the contacts and one for their phones
+    */
+    @Test
+    void keysetPageIsTwoStatementsTest() {
+
+        List<Contact> contacts = contactRepository.findByIdGreaterThanOrderByIdAsc(0L, PageRequest.of(0, 20));
+
+        assertEquals(20, contacts.size());
+        assertEquals(2, contacts.get(19).getPhone().size());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    /**
+        Convenience method to create a basic contact
+    */
+    private Contact createContact(int i) throws IncorrectPhoneNumberFormatException, IncorrectEmailFormatException
+    {
+        Contact contact = new Contact();
+        contact.setName(new Name("First " + i, "Middle", "Last " + i));
+        contact.setAddress(new Address("8360 High Autumn Row", "Cannon", "Delaware", "19797"));
+        contact.addPhone(new Phone("302-611-9148", Phone.Type.home));
+        contact.addPhone(new Phone("302-535-9427", Phone.Type.mobile));
+        contact.setEmail("contact" + i + "@yahoo.com");
+        return contact;
+    }
+}
@@ -0,0 +1,54 @@
+package com.interview;
+
+import com.interview.validation.EmailFormat;
+import com.interview.validation.PhoneNumberFormat;
+import org.junit.jupiter.api.Test;
+
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Format validation test class. The hand-written validators must accept
+ * exactly what the original regular expressions accepted.
+ */
+public class FormatValidationTest
+{
+
+    private static final Pattern EMAIL_PATTERN = Pattern.compile("^[a-zA-Z0-9_.+-]+@[a-zA-Z0-9-]+\\.[a-zA-Z0-9-.]+$");
+    private static final Pattern PHONE_PATTERN = Pattern.compile("\\d{3}-\\d{3}-\\d{4}");
+
+    private static final String[] EMAILS = {
+            "harold.gilkey@yahoo.com", "a@b.c", "first+tag@mail-server.co.uk", "a_b-c.d@e-f.g-h.", "x@y..",
+            "NotAProperEmailFormat", "", "@yahoo.com", "harold@", "harold@yahoo", "harold@.com", "harold@yahoo.",
+            "harold@@yahoo.com", "har old@yahoo.com", "harold@ya_hoo.com", "harold@yahoo.co_m", "harold@yahoo.com\n",
+            "hé@yahoo.com", "harold@yahoo.com "
+    };
+
+    private static final String[] PHONES = {
+            "302-611-9148", "000-000-0000", "30253523429427", "302-611-914", "302-611-91488", "302 611 9148",
+            "302-6119-148", "3o2-611-9148", "302-611-9148\n", "", "٣02-611-9148", "302--11-9148"
+    };
+
+    /**
+        Test e-mail validation agrees with the original regular expression
+    */
+    @Test
+    void emailFormatMatchesRegexTest() {
+        for (String email : EMAILS) {
+            assertEquals(EMAIL_PATTERN.matcher(email).matches(), EmailFormat.isValid(email), email);
+        }
+        assertFalse(EmailFormat.isValid(null));
+    }
+
+    /**
+        Test phone number validation agrees with the original regular expression
+    */
+    @Test
+    void phoneNumberFormatMatchesRegexTest() {
+        for (String phone : PHONES) {
+            assertEquals(PHONE_PATTERN.matcher(phone).matches(), PhoneNumberFormat.isValid(phone), phone);
+        }
+        assertFalse(PhoneNumberFormat.isValid(null));
+    }
+}
@@ -0,0 +1,146 @@
+package com.interview;
+
+import com.interview.ratelimit.RateLimitFilter;
+import com.interview.ratelimit.RequestBudget;
+import com.interview.tenancy.TenantContext;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Rate limiting test class: the token bucket per client, the concurrency limit,
+ * and the filter's 429/503 answers.
+ */
+public class RateLimitTest
+{
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    /**
+        Test a client gets its burst at once, then one request per interval
+    */
+    @Test
+    void tokenBucketTest() {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        RequestBudget budget = new RequestBudget("test", 2, 3, 10, 100, meterRegistry);
+        long now = 1000 * SECOND;
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, budget.tryAcquire("a", now));
+        }
+        long wait = budget.tryAcquire("a", now);
+        assertEquals(SECOND / 2, wait);
+
+        //Other clients have their own bucket
+        assertEquals(0, budget.tryAcquire("b", now));
+
+        //Half a second later one more request fits, and after two seconds the whole burst again
+        assertEquals(0, budget.tryAcquire("a", now + wait));
+        assertTrue(budget.tryAcquire("a", now + wait) > 0);
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, budget.tryAcquire("a", now + wait + 2 * SECOND));
+        }
+        assertEquals(2, meterRegistry.counter("contacts.rate-limit.requests", "budget", "test", "outcome", "throttled").count());
+    }
+
+    /**
+        Test requests over the concurrency limit are refused at once, and admitted again once one finishes
+    */
+    @Test
+    void concurrencyLimitTest() {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        RequestBudget budget = new RequestBudget("test", 100, 100, 2, 100, meterRegistry);
+
+        assertTrue(budget.tryEnter());
+        assertTrue(budget.tryEnter());
+        assertFalse(budget.tryEnter());
+        assertEquals(2, meterRegistry.get("contacts.rate-limit.in-flight").gauge().value());
+        budget.exit();
+        assertTrue(budget.tryEnter());
+        assertEquals(1, meterRegistry.counter("contacts.rate-limit.requests", "budget", "test", "outcome", "shed").count());
+    }
+
+    /**
+        Test the filter answers 429 and 503 with Retry-After, charges expensive end points to their own budget and leaves the rest alone
+    */
+    @Test
+    void rateLimitFilterTest() throws Exception {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        RequestBudget defaultBudget = new RequestBudget("default", 100, 100, 1, 100, meterRegistry);
+        RequestBudget expensiveBudget = new RequestBudget("expensive", 0.1, 1, 10, 100, meterRegistry);
+        RateLimitFilter filter = new RateLimitFilter();
+        ReflectionTestUtils.setField(filter, "defaultBudget", defaultBudget);
+        ReflectionTestUtils.setField(filter, "expensiveBudget", expensiveBudget);
+        ReflectionTestUtils.setField(filter, "feedBudget", defaultBudget);
+        ReflectionTestUtils.setField(filter, "clientHeader", "X-Api-Key");
+
+        //The full list: one request, then 429 until the next one is due
+        assertEquals(200, filter(filter, "GET", "/contacts", "key-1").getStatus());
+        MockHttpServletResponse response = filter(filter, "GET", "/contacts", "key-1");
+        assertEquals(429, response.getStatus());
+        assertEquals("10", response.getHeader("Retry-After"));
+
+        //Another client, and cheaper end points, are not affected
+        assertEquals(200, filter(filter, "GET", "/contacts", "key-2").getStatus());
+        assertEquals(200, filter(filter, "GET", "/contacts/1", "key-1").getStatus());
+
+        //With the only default slot taken further requests are shed
+        assertTrue(defaultBudget.tryEnter());
+        response = filter(filter, "GET", "/contacts/1", "key-1");
+        assertEquals(503, response.getStatus());
+        assertEquals("1", response.getHeader("Retry-After"));
+
+        //Other paths are not limited at all
+        assertEquals(200, filter(filter, "GET", "/actuator/health", "key-1").getStatus());
+    }
+
+    /**
+        Test a tenant id only gets clients a budget of their own when the tenant header is trusted
+    */
+    @Test
+    void rateLimitTenantTest() throws Exception {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        RequestBudget budget = new RequestBudget("expensive", 0.1, 1, 10, 100, meterRegistry);
+        RateLimitFilter filter = new RateLimitFilter();
+        ReflectionTestUtils.setField(filter, "defaultBudget", budget);
+        ReflectionTestUtils.setField(filter, "expensiveBudget", budget);
+        ReflectionTestUtils.setField(filter, "feedBudget", budget);
+        ReflectionTestUtils.setField(filter, "clientHeader", "X-Api-Key");
+
+        //Made up tenant ids do not buy a client more requests
+        assertEquals(200, TenantContext.callAs("acme", () -> filterQuietly(filter, "key-1")));
+        assertEquals(429, TenantContext.callAs("globex", () -> filterQuietly(filter, "key-1")));
+
+        //A trusted tenant header keeps tenants' clients apart
+        ReflectionTestUtils.setField(filter, "tenantTrusted", true);
+        assertEquals(200, TenantContext.callAs("acme", () -> filterQuietly(filter, "key-2")));
+        assertEquals(200, TenantContext.callAs("globex", () -> filterQuietly(filter, "key-2")));
+        assertEquals(429, TenantContext.callAs("globex", () -> filterQuietly(filter, "key-2")));
+    }
+
+    private int filterQuietly(RateLimitFilter filter, String apiKey)
+    {
+        try {
+            return filter(filter, "GET", "/contacts", apiKey).getStatus();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private MockHttpServletResponse filter(RateLimitFilter filter, String method, String uri, String apiKey) throws Exception
+    {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.addHeader("X-Api-Key", apiKey);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
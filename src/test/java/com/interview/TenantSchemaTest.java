@@ -0,0 +1,93 @@
+package com.interview;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.interview.tenancy.TenantSchemas;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+
+/**
+ * Schema per tenant test class: each tenant's contacts live in a schema of its own,
+ * created on the tenant's first request for the tenants allowed one.
+ */
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(properties = {"spring.config.name=application-test-h2","spring.datasource.url=jdbc:h2:mem:tenantSchemas",
+        "spring.jpa.hibernate.ddl-auto=validate","contacts.tenancy.mode=schema","contacts.tenancy.tenants=acme,globex,initech"})
+@AutoConfigureMockMvc
+public class TenantSchemaTest
+{
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TenantSchemas tenantSchemas;
+
+    /**
+        Test contacts created by two tenants are stored in, and only read from, their own schemas
+    */
+    @Test
+    void schemaPerTenantTest() throws Exception {
+
+        String contactJson = "{\"name\":{\"first\":\"Harold\",\"middle\":\"Francis\",\"last\":\"Gilkey\"},\"email\":\"harold.gilkey@yahoo.com\"}";
+        String[][] contacts = {{"acme", "acme"}, {"globex", "globex"}, {"globex", "Hank"}};
+        for (String[] contact : contacts) {
+            MvcResult created = perform(post("/contacts").header("X-Tenant-Id", contact[0])
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(contactJson.replace("Harold", contact[1])));
+            assertEquals(200, created.getResponse().getStatus());
+        }
+
+        assertEquals(1, jdbcTemplate.queryForObject("select count(*) from \"tenant_acme\".contacts", Integer.class));
+        assertEquals(2, jdbcTemplate.queryForObject("select count(*) from \"tenant_globex\".contacts", Integer.class));
+        assertTrue(tenantSchemas.tenants().contains("acme"));
+        assertTrue(tenantSchemas.tenants().contains("globex"));
+
+        JsonNode acme = objectMapper.readTree(perform(get("/contacts").header("X-Tenant-Id", "acme"))
+                .getResponse().getContentAsString());
+        assertEquals(1, acme.size());
+        assertEquals("acme", acme.get(0).get("name").get("first").asText());
+
+        //Each schema has its own sequence, so ids repeat across tenants and only the schema tells them apart
+        JsonNode globex = objectMapper.readTree(perform(get("/contacts/" + acme.get(0).get("id").asLong())
+                .header("X-Tenant-Id", "globex")).getResponse().getContentAsString());
+        assertEquals("globex", globex.get("name").get("first").asText());
+
+        assertEquals("[]", perform(get("/contacts").header("X-Tenant-Id", "initech")).getResponse().getContentAsString());
+
+        //Tenants not on the list get no schema
+        assertEquals(404, perform(get("/contacts").header("X-Tenant-Id", "umbrella")).getResponse().getStatus());
+        assertEquals(404, perform(post("/contacts").header("X-Tenant-Id", "umbrella")
+                .contentType(MediaType.APPLICATION_JSON).content(contactJson)).getResponse().getStatus());
+        assertFalse(tenantSchemas.tenants().contains("umbrella"));
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from information_schema.schemata where schema_name = 'tenant_umbrella'", Integer.class));
+    }
+
+    private MvcResult perform(RequestBuilder request) throws Exception
+    {
+        MvcResult mvcResult = mockMvc.perform(request).andReturn();
+        if (mvcResult.getRequest().isAsyncStarted()) {
+            return mockMvc.perform(asyncDispatch(mvcResult)).andReturn();
+        }
+        return mvcResult;
+    }
+}